@@ -95,4 +95,34 @@ ADD COLUMN password VARCHAR(255) NOT NULL;
 
 -- for faster title search and author names search, case-insensitive
 CREATE FULLTEXT INDEX idx_title_fulltext ON posts(title);
-CREATE FULLTEXT INDEX idx_author_fulltext ON users(name);
\ No newline at end of file
+CREATE FULLTEXT INDEX idx_author_fulltext ON users(name);
+
+-- change watermark for incremental cache refresh (CacheManager delta query)
+ALTER TABLE posts
+ADD COLUMN updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+CREATE INDEX `posts_index_updated_at` ON `posts` (`updated_at`);
+
+-- covering index for per-post rating aggregates (COUNT/SUM/histogram without touching rows)
+CREATE INDEX `reviews_index_post_rating` ON `reviews` (`post_id`, `rating`);
+
+-- denormalised comment counter maintained by JdbcCommentDAO create/delete (replaces per-row COUNT subquery)
+ALTER TABLE posts
+ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+UPDATE posts p
+SET p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id);
+
+-- keyset pagination of the home listing: WHERE status = 'PUBLISHED' AND (published_datetime, id) < (?, ?)
+CREATE INDEX `posts_index_status_published` ON `posts` (`status`, `published_datetime`, `id`);
+
+-- DB full-text search (JdbcPostDAO.search): MATCH(title, content) needs an index over exactly those columns
+CREATE FULLTEXT INDEX idx_title_content_fulltext ON posts(title, content);
+
+-- keyset pagination of comment threads: WHERE post_id = ? AND (datetime, id) < (?, ?)
+CREATE INDEX `comments_index_post_datetime` ON `comments` (`post_id`, `datetime`, `id`);
+
+-- keyset pagination of reviews: WHERE post_id = ? AND (created_at, id) < (?, ?)
+CREATE INDEX `reviews_index_post_created` ON `reviews` (`post_id`, `created_at`, `id`);
+
+-- ids are now assigned by the application (IdGenerator, time-ordered UUIDv7) in every INSERT and
+-- bound/read as raw BINARY(16) bytes (UuidCodec, same layout as UUID_TO_BIN without the swap flag);
+-- the UUID() column defaults above only cover rows inserted by hand
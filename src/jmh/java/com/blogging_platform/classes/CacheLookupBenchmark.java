@@ -0,0 +1,40 @@
+package com.blogging_platform.classes;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CacheManager#getPostById(String)}: the hash index lookup behind the single post view. Probe ids
+ * cycle through a fixed random sample so the JIT cannot fold the lookup. Sample times near the timer's
+ * resolution are dominated by it; read the throughput for this one.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class CacheLookupBenchmark {
+    private int next;
+
+    /** A cached post. */
+    @Benchmark
+    public PostSummary getPostByIdHit(CacheState state) {
+        return state.cache.getPostById(state.hitIds[next++ & (CacheState.PROBES - 1)]);
+    }
+
+    /** An id that is not cached (deleted, draft or never existed). */
+    @Benchmark
+    public PostSummary getPostByIdMiss(CacheState state) {
+        return state.cache.getPostById(state.missIds[next++ & (CacheState.PROBES - 1)]);
+    }
+}
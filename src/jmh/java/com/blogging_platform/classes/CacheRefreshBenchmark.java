@@ -0,0 +1,68 @@
+package com.blogging_platform.classes;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blogging_platform.exceptions.DatabaseException;
+
+/**
+ * Cost of keeping the cache current, without the database: the synthetic DAO returns its rows from
+ * memory, so these measure only what the cache does with them.
+ * <ul>
+ *   <li>{@link #fullReload}: {@link CacheManager#refreshCache()}, the startup and fallback path that
+ *       rebuilds every structure from the full post list.</li>
+ *   <li>{@link #invalidateAndRead}: one post edited through the application, which waits until the
+ *       refresh has patched that post into a copy-on-write copy of the snapshot, then the next home
+ *       page read.</li>
+ *   <li>{@link #rebuildSortEngine} and {@link #buildSearchIndex}: the two largest parts of a full
+ *       reload on their own.</li>
+ * </ul>
+ * Single runs at a million posts take seconds; the sample mode still reports the percentiles.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class CacheRefreshBenchmark {
+    private int next;
+
+    @Benchmark
+    public CacheManager fullReload(CacheState state) throws DatabaseException {
+        state.cache.refreshCache();
+        return state.cache;
+    }
+
+    @Benchmark
+    public Page<PostSummary> invalidateAndRead(CacheState state) {
+        state.cache.invalidatePost(state.hitIds[next++ & (CacheState.PROBES - 1)]);
+        state.cache.awaitPendingChanges();
+        return state.cache.getPublishedPostsPage(null, "date_desc", null, 20, PageDirection.FORWARD);
+    }
+
+    @Benchmark
+    public PostSortEngine rebuildSortEngine(CacheState state) {
+        PostSortEngine engine = new PostSortEngine();
+        engine.rebuild(state.corpus.posts);
+        return engine;
+    }
+
+    @Benchmark
+    public PostSearchIndex buildSearchIndex(CacheState state) {
+        PostSearchIndex index = new PostSearchIndex();
+        for (PostSummary post : state.corpus.posts) {
+            index.put(post.id(), post.title(), post.author(), state.corpus.tagNames.get(post.id()));
+        }
+        return index;
+    }
+}
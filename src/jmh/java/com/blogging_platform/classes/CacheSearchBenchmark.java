@@ -0,0 +1,45 @@
+package com.blogging_platform.classes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Search over the cached corpus. {@link #searchPosts} is the full, relevance-ordered result list;
+ * {@link #searchFirstPage} is what the home page actually asks for, the first page in date order,
+ * which walks the pre-sorted index over the match bitmap instead of sorting the hits.
+ * <p>
+ * Queries cover a common word that matches titles and tags, a two-letter prefix of five words, an AND
+ * of two words, an OR of two words and a rare author prefix.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class CacheSearchBenchmark {
+
+    @Param({"java", "re", "java cache", "java OR rust", "author42"})
+    public String query;
+
+    @Benchmark
+    public List<PostSummary> searchPosts(CacheState state) {
+        return state.cache.searchPosts(query);
+    }
+
+    @Benchmark
+    public Page<PostSummary> searchFirstPage(CacheState state) {
+        return state.cache.getPublishedPostsPage(query, "date_desc", null, 20, PageDirection.FORWARD);
+    }
+}
@@ -0,0 +1,48 @@
+package com.blogging_platform.classes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CacheManager#sortPosts(List, String)} over the whole corpus in random order, for every sort
+ * option. Each call sorts a fresh copy; {@code relevance} keeps the list's order, so its score is the
+ * cost of the copy alone and the baseline to subtract from the others.
+ * <p>
+ * {@link #firstPage} is the same listing as the home page serves it: one page read from the
+ * pre-sorted orderings, with nothing sorted per request.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class CacheSortBenchmark {
+
+    @Param({"relevance", "date_desc", "date_asc", "title_asc", "title_desc", "author_asc", "author_desc"})
+    public String sortBy;
+
+    @Benchmark
+    public List<PostSummary> sortPosts(CacheState state) {
+        List<PostSummary> list = new ArrayList<>(state.shuffled);
+        state.cache.sortPosts(list, sortBy);
+        return list;
+    }
+
+    @Benchmark
+    public Page<PostSummary> firstPage(CacheState state) {
+        return state.cache.getPublishedPostsPage(null, sortBy, null, 20, PageDirection.FORWARD);
+    }
+}
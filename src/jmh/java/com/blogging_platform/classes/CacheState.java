@@ -0,0 +1,60 @@
+package com.blogging_platform.classes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.blogging_platform.exceptions.DatabaseException;
+import com.blogging_platform.service.PostService;
+import com.blogging_platform.service.TagService;
+
+/**
+ * A loaded {@link CacheManager} over a {@link SyntheticCorpus} of {@link #size} posts, shared by all
+ * benchmark threads. The cache is built with no staleness limit and no size limit, so reads never wait
+ * for a watermark check and every corpus size is held in memory.
+ */
+@State(Scope.Benchmark)
+public class CacheState {
+    /** Number of probe ids; a power of two so the next probe is a mask, not a modulo. */
+    static final int PROBES = 1024;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    SyntheticCorpus corpus;
+    SyntheticPostDAO postDAO;
+    CacheManager cache;
+    /** Ids of cached posts in random order. */
+    String[] hitIds;
+    /** Well-formed ids that are not in the corpus. */
+    String[] missIds;
+    /** Every post, shuffled: input for the sort benchmarks. */
+    List<PostSummary> shuffled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DatabaseException {
+        corpus = SyntheticCorpus.generate(size);
+        postDAO = new SyntheticPostDAO(corpus);
+        cache = new CacheManager(new PostService(postDAO), Long.MAX_VALUE, Long.MAX_VALUE, 16L * 1024 * 1024);
+        cache.setTagService(new TagService(new SyntheticTagDAO(corpus)));
+        cache.refreshCache();
+
+        Random random = new Random(SyntheticCorpus.SEED + 1);
+        hitIds = new String[PROBES];
+        missIds = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            hitIds[i] = corpus.posts.get(random.nextInt(size)).id();
+            missIds[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        shuffled = new ArrayList<>(corpus.posts);
+        Collections.shuffle(shuffled, random);
+    }
+}
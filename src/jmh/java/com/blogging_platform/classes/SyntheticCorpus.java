@@ -0,0 +1,123 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic corpus of published posts for the benchmarks. The same size and seed always give the
+ * same posts, so runs are comparable across commits.
+ * <p>
+ * Titles are three words from a fixed vocabulary plus a serial number, authors come from a pool of
+ * {@link #AUTHORS} names and each post has zero to four of {@link #TAGS} tags. Publication dates spread
+ * over five years. Excerpts are shared strings: they are not indexed or sorted on, so only the
+ * reference matters.
+ */
+final class SyntheticCorpus {
+    static final long SEED = 42;
+    static final int AUTHORS = 1_000;
+    static final int TAGS = 200;
+
+    static final String[] WORDS = {
+        "java", "rust", "python", "kotlin", "scala", "golang", "haskell", "erlang",
+        "cache", "index", "latency", "throughput", "memory", "thread", "lock", "queue",
+        "database", "query", "schema", "migration", "replica", "shard", "backup", "restore",
+        "design", "pattern", "refactor", "testing", "review", "release", "deploy", "rollback",
+        "garden", "travel", "cooking", "coffee", "music", "film", "novel", "poetry",
+        "running", "cycling", "climbing", "sailing", "chess", "photography", "history", "science",
+        "notes", "guide", "tips", "journal", "story", "lessons", "mistakes", "ideas",
+        "spring", "summer", "autumn", "winter", "morning", "evening", "weekend", "holiday"
+    };
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final int SPAN_MINUTES = 5 * 365 * 24 * 60;
+
+    final List<PostSummary> posts;
+    final Map<String, PostSummary> postsById;
+    final Map<String, List<String>> tagNames;
+
+    private SyntheticCorpus(List<PostSummary> posts, Map<String, List<String>> tagNames) {
+        this.posts = Collections.unmodifiableList(posts);
+        this.tagNames = Collections.unmodifiableMap(tagNames);
+        Map<String, PostSummary> byId = new HashMap<>();
+        for (PostSummary post : posts) {
+            byId.put(post.id(), post);
+        }
+        this.postsById = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * Generates {@code size} published posts.
+     *
+     * @param size number of posts
+     * @return the corpus
+     */
+    static SyntheticCorpus generate(int size) {
+        Random random = new Random(SEED);
+        String[] authors = new String[AUTHORS];
+        for (int i = 0; i < AUTHORS; i++) {
+            authors[i] = capitalize(WORDS[i % WORDS.length]) + " Author" + i;
+        }
+        String[] tags = new String[TAGS];
+        for (int i = 0; i < TAGS; i++) {
+            tags[i] = WORDS[i % WORDS.length] + (i < WORDS.length ? "" : "-" + i / WORDS.length);
+        }
+        String[] excerpts = new String[16];
+        for (int i = 0; i < excerpts.length; i++) {
+            excerpts[i] = "Excerpt " + i + " " + String.join(" ", WORDS).substring(0, PostSummary.EXCERPT_LENGTH - 10) + "...";
+        }
+
+        List<PostSummary> posts = new ArrayList<>(size);
+        Map<String, List<String>> tagNames = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            String title = capitalize(word(random)) + " " + word(random) + " " + word(random) + " #" + i;
+            int author = random.nextInt(AUTHORS);
+            LocalDateTime published = START.plusMinutes(random.nextInt(SPAN_MINUTES));
+            posts.add(new PostSummary(
+                    id,
+                    title,
+                    excerpts[i & (excerpts.length - 1)],
+                    "PUBLISHED",
+                    authors[author],
+                    published.minusHours(random.nextInt(72)),
+                    published,
+                    random.nextInt(50),
+                    "user-" + author));
+
+            int tagCount = random.nextInt(5);
+            if (tagCount > 0) {
+                List<String> names = new ArrayList<>(tagCount);
+                for (int t = 0; t < tagCount; t++) {
+                    String tag = tags[random.nextInt(TAGS)];
+                    if (!names.contains(tag)) names.add(tag);
+                }
+                Collections.sort(names);
+                tagNames.put(id, List.copyOf(names));
+            }
+        }
+        return new SyntheticCorpus(posts, tagNames);
+    }
+
+    /** The latest publication date in the corpus, used as the posts watermark. */
+    LocalDateTime lastUpdatedAt() {
+        LocalDateTime latest = START;
+        for (PostSummary post : posts) {
+            if (post.publishedDate().isAfter(latest)) latest = post.publishedDate();
+        }
+        return latest;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
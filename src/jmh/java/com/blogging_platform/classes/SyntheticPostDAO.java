@@ -0,0 +1,106 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.blogging_platform.dao.interfaces.PostDAO;
+import com.blogging_platform.exceptions.PostNotFoundException;
+import com.blogging_platform.model.Post;
+
+/**
+ * In-memory {@link PostDAO} over a {@link SyntheticCorpus}, implementing only the reads the cache
+ * refresh uses. The watermark never moves, so refreshes apply invalidations and never a delta.
+ */
+final class SyntheticPostDAO implements PostDAO {
+    private final SyntheticCorpus corpus;
+    private final PostsWatermark watermark;
+
+    SyntheticPostDAO(SyntheticCorpus corpus) {
+        this.corpus = corpus;
+        this.watermark = new PostsWatermark(corpus.posts.size(), corpus.lastUpdatedAt());
+    }
+
+    @Override
+    public List<PostSummary> getAll() {
+        return corpus.posts;
+    }
+
+    @Override
+    public PostsWatermark getWatermark() {
+        return watermark;
+    }
+
+    @Override
+    public List<PostSummary> getChangedSince(LocalDateTime since) {
+        return List.of();
+    }
+
+    /** Returns a new object each time, with one more comment, as a re-read of an edited row would. */
+    @Override
+    public PostSummary getSummaryByID(String postId) throws PostNotFoundException {
+        PostSummary post = corpus.postsById.get(postId);
+        if (post == null) throw new PostNotFoundException(postId);
+        return new PostSummary(post.id(), post.title(), post.excerpt(), post.status(), post.author(),
+                post.createdAt(), post.publishedDate(), post.commentCount() + 1, post.userId());
+    }
+
+    @Override
+    public String create(Post post) {
+        throw unsupported();
+    }
+
+    @Override
+    public String createWithTags(Post post, Collection<String> tagNames) {
+        throw unsupported();
+    }
+
+    @Override
+    public PostRecord getByID(String postId, String userId) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<PostSummary> getPage(PageCursor cursor, int pageSize, PageDirection direction) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<PostSummary> search(String query, SearchMode mode, PageCursor cursor, int pageSize) {
+        throw unsupported();
+    }
+
+    @Override
+    public int reconcileCommentCounts() {
+        throw unsupported();
+    }
+
+    @Override
+    public List<PostSummary> getAll(String userId) {
+        throw unsupported();
+    }
+
+    @Override
+    public PostRecord getByID(String postId) {
+        throw unsupported();
+    }
+
+    @Override
+    public void edit(Post post) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean editWithTags(Post post, Collection<String> tagNames) {
+        throw unsupported();
+    }
+
+    @Override
+    public void delete(String postId, String userId) {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Not used by the cache benchmarks");
+    }
+}
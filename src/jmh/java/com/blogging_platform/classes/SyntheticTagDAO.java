@@ -0,0 +1,75 @@
+package com.blogging_platform.classes;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.blogging_platform.dao.interfaces.TagDAO;
+import com.blogging_platform.model.Tag;
+
+/**
+ * In-memory {@link TagDAO} over a {@link SyntheticCorpus}, implementing only the bulk tag-name reads
+ * the cache refresh uses.
+ */
+final class SyntheticTagDAO implements TagDAO {
+    private final SyntheticCorpus corpus;
+
+    SyntheticTagDAO(SyntheticCorpus corpus) {
+        this.corpus = corpus;
+    }
+
+    @Override
+    public Map<String, List<String>> getTagNamesForPublishedPosts() {
+        return corpus.tagNames;
+    }
+
+    @Override
+    public Map<String, List<String>> getTagNamesByPostIds(Collection<String> postIds) {
+        Map<String, List<String>> names = new HashMap<>();
+        for (String id : postIds) {
+            List<String> tags = corpus.tagNames.get(id);
+            if (tags != null) names.put(id, tags);
+        }
+        return names;
+    }
+
+    @Override
+    public String create(Tag tag) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<TagRecord> getAll() {
+        throw unsupported();
+    }
+
+    @Override
+    public TagRecord getById(String tagId) {
+        throw unsupported();
+    }
+
+    @Override
+    public TagRecord getByTagName(String tagName) {
+        throw unsupported();
+    }
+
+    @Override
+    public void linkTagToPost(String postId, String tagId) {
+        throw unsupported();
+    }
+
+    @Override
+    public void unlinkAllTagsFromPost(String postId) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<TagRecord> getTagsByPostId(String postId) {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Not used by the cache benchmarks");
+    }
+}
@@ -106,6 +106,12 @@ public class AddPostController extends BaseController implements Initializable {
     }
 
 
+    /** Names of the tags chosen in the form (the form offers a single tag). */
+    private List<String> selectedTagNames() {
+        String tag = postTag.getValue();
+        return tag != null && !tag.trim().isEmpty() ? List.of(tag.trim()) : List.of();
+    }
+
     @FXML
     void submitPost(ActionEvent event) {
         String status = postStatus.getValue().trim();
@@ -123,21 +129,9 @@ public class AddPostController extends BaseController implements Initializable {
         if (validateForm()){
             try {
                 Post post = new Post(SessionManager.getInstance().getUserId(), postTile.getText().trim(), postContent.getText().trim(), status.toUpperCase());
-                String postId = postService.createPost(post);
-                
-                // Link tag to post if selected
-                if (postTag.getValue() != null && !postTag.getValue().trim().isEmpty()) {
-                    try {
-                        TagRecord selectedTag = tagService.getTagByTagName(postTag.getValue().trim());
-                        if (selectedTag != null) {
-                            tagService.linkTagToPost(postId, selectedTag.id());
-                        }
-                    } catch (DatabaseQueryException e) {
-                        // Tag linking failed, but post was created, so just log and continue
-                        System.err.println("Failed to link tag to post: " + e.getMessage());
-                    }
-                }
-                
+                // Post and tag link are written in one transaction
+                postService.createPost(post, selectedTagNames());
+
                 showInfo("Post Created Successfully");
                 switchTo("PostList");
             } catch (DatabaseQueryException e) {
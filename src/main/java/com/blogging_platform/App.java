@@ -8,7 +8,11 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 
+import com.blogging_platform.classes.CacheManager;
+import com.blogging_platform.classes.CacheRefresher;
+import com.blogging_platform.classes.CommentCountReconciler;
 import com.blogging_platform.classes.ParameterReceiver;
+import com.blogging_platform.config.DBConnection;
 import com.blogging_platform.dao.interfaces.CommentDAO;
 import com.blogging_platform.dao.interfaces.PostDAO;
 import com.blogging_platform.dao.interfaces.ReviewDAO;
@@ -40,6 +44,8 @@ public class App extends Application {
     private CommentService commentService;
     private TagService tagService;
     private ReviewService reviewService;
+    private CommentCountReconciler commentCountReconciler;
+    private CacheRefresher cacheRefresher;
 
 
     /** Returns the shared user service. */
@@ -75,6 +81,14 @@ public class App extends Application {
         this.tagService = new TagService(tagDAO);
         this.reviewService = new ReviewService(reviewDAO);
 
+        this.commentCountReconciler = new CommentCountReconciler(postService);
+        this.commentCountReconciler.start();
+
+        // Warm the post cache (tags included) in the background while the user logs in
+        CacheManager.getInstance().setTagService(tagService);
+        this.cacheRefresher = new CacheRefresher(CacheManager.getInstance());
+        this.cacheRefresher.start();
+
         scene = new Scene(loadFXML("Login"));
         stage.setResizable(true);
         stage.setFullScreen(true);  
@@ -83,6 +97,17 @@ public class App extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        if (commentCountReconciler != null) {
+            commentCountReconciler.stop();
+        }
+        if (cacheRefresher != null) {
+            cacheRefresher.stop();
+        }
+        DBConnection.shutdown();
+    }
+
     /**
      * Replaces the scene root with the given FXML view and passes an optional parameter to the controller.
      *
@@ -2,7 +2,12 @@ package com.blogging_platform;
 
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import com.blogging_platform.service.CommentService;
 import com.blogging_platform.service.PostService;
@@ -10,19 +15,40 @@ import com.blogging_platform.service.ReviewService;
 import com.blogging_platform.service.TagService;
 import com.blogging_platform.service.UserService;
 
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Alert.AlertType;
+import javafx.scene.layout.HBox;
 
 /**
  * Base controller that all FXML controllers extend.
  * Holds references to the main {@link App} and injected services (user, post, comment, tag, review),
  * and provides helpers for scene switching and dialogs (error, info, confirm).
+ * <p>
+ * Service calls that hit the database should go through {@link #runAsync}: the work runs on a virtual
+ * thread and the result is delivered back on the JavaFX Application Thread, so the UI never blocks on JDBC.
+ * Loads are keyed; starting a new load for a key cancels the previous one, and switching scenes cancels all.
  */
 public abstract class BaseController {
 
+    /** Background work that may fail with a checked (e.g. database) exception. */
+    @FunctionalInterface
+    protected interface Loader<T> {
+        T load() throws Exception;
+    }
+
+    /** One virtual thread per load: loads spend their time waiting on JDBC, not on CPU. */
+    private static final ExecutorService LOADER = Executors.newVirtualThreadPerTaskExecutor();
+
     private App app;
     private String currentId;
+    /** Loads in flight by key. Only touched on the JavaFX Application Thread. */
+    private final Map<String, Task<?>> activeLoads = new HashMap<>();
 
     protected UserService userService;
     protected PostService postService;
@@ -73,6 +99,7 @@ public abstract class BaseController {
             System.err.println("App reference is null! Cannot switch scene.");
             return;
         }
+        cancelLoads();
         try {
             App.setRoot(fxmlName, id);
         } catch (IOException e) {
@@ -90,6 +117,7 @@ public abstract class BaseController {
             System.err.println("App reference is null! Cannot switch scene.");
             return;
         }
+        cancelLoads();
         try {
             App.setRoot(fxmlName, null);
         } catch (IOException e) {
@@ -97,6 +125,75 @@ public abstract class BaseController {
         }
     }
 
+    /**
+     * Runs a load off the JavaFX Application Thread and hands its result back on it.
+     * A load already running under the same key is cancelled and its result discarded, so only the
+     * latest request for e.g. "comments" ever reaches the screen. Must be called on the FX thread.
+     *
+     * @param key       identifies what is being loaded (one load per key at a time)
+     * @param loader    the background work (service calls only; no UI access)
+     * @param onSuccess receives the result on the FX thread
+     * @param onFailure receives the exception on the FX thread
+     * @return the started task
+     */
+    protected <T> Task<T> runAsync(String key, Loader<T> loader, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<?> previous = activeLoads.remove(key);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return loader.load();
+            }
+        };
+        // Task fires these on the FX thread (via Platform.runLater); a cancelled task fires neither
+        task.setOnSucceeded(e -> {
+            if (activeLoads.remove(key, task)) onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            if (activeLoads.remove(key, task)) onFailure.accept(task.getException());
+        });
+        activeLoads.put(key, task);
+        LOADER.execute(task);
+        return task;
+    }
+
+    /**
+     * Returns true while a load for the given key is in flight.
+     *
+     * @param key the load key passed to {@link #runAsync}
+     * @return whether that load is still running
+     */
+    protected boolean isLoading(String key) {
+        return activeLoads.containsKey(key);
+    }
+
+    /** Cancels every load in flight; their results are dropped. Called when leaving the scene. */
+    protected void cancelLoads() {
+        for (Task<?> task : activeLoads.values()) {
+            task.cancel(true);
+        }
+        activeLoads.clear();
+    }
+
+    /**
+     * Builds a small spinner-plus-text node to show in a section while its data loads.
+     *
+     * @param message text beside the spinner (e.g. "Loading comments...")
+     * @return the placeholder node
+     */
+    protected Node loadingPlaceholder(String message) {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setPrefSize(24, 24);
+        Label label = new Label(message);
+        label.setStyle("-fx-font-size: 15px; -fx-text-fill: #7f8c8d;");
+        HBox box = new HBox(10, spinner, label);
+        box.setAlignment(Pos.CENTER);
+        box.setStyle("-fx-padding: 20;");
+        return box;
+    }
+
     /**
      * Shows an error alert with the given message.
      *
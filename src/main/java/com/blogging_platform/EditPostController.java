@@ -158,6 +158,12 @@ public class EditPostController extends BaseController implements ParameterRecei
         return valid;
     }
 
+    /** Names of the tags chosen in the form (the form offers a single tag). */
+    private List<String> selectedTagNames() {
+        String tag = postTag.getValue();
+        return tag != null && !tag.trim().isEmpty() ? List.of(tag.trim()) : List.of();
+    }
+
     @FXML
     void submitPost(ActionEvent event) {
         String status = postStatus.getValue().trim();
@@ -176,22 +182,8 @@ public class EditPostController extends BaseController implements ParameterRecei
         if (validateForm()){
             try {
                 Post post = new Post(currentPostId, SessionManager.getInstance().getUserId(), postTitle.getText().trim(), postContent.getText().trim(), status.toUpperCase());
-                postService.updatePost(post);
-
-                // Update tag: unlink all, then link selected (same behaviour as create when adding fresh)
-                if (tagService != null) {
-                    try {
-                        tagService.unlinkAllTagsFromPost(currentPostId);
-                        if (postTag.getValue() != null && !postTag.getValue().trim().isEmpty()) {
-                            TagRecord selectedTag = tagService.getTagByTagName(postTag.getValue().trim());
-                            if (selectedTag != null) {
-                                tagService.linkTagToPost(currentPostId, selectedTag.id());
-                            }
-                        }
-                    } catch (DatabaseQueryException e) {
-                        System.err.println("Failed to update tag for post: " + e.getMessage());
-                    }
-                }
+                // Post and tag set are written in one transaction; only a changed tag is rewritten
+                postService.updatePost(post, selectedTagNames());
 
                 showInfo("Post Updated Successfully");
                 switchTo("PostList");
@@ -1,5 +1,6 @@
 package com.blogging_platform;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -8,6 +9,7 @@ import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
@@ -17,24 +19,38 @@ import javafx.scene.text.Text;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.blogging_platform.classes.CacheManager;
-import com.blogging_platform.classes.PostRecord;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.PageDirection;
+import com.blogging_platform.classes.PostSummary;
+import com.blogging_platform.classes.RatingSummary;
 import com.blogging_platform.classes.SessionManager;
-import com.blogging_platform.classes.TagRecord;
+import com.blogging_platform.classes.TagFilter;
 import com.blogging_platform.exceptions.DatabaseQueryException;
 
 /**
  * FXML controller for the home page (PostHome.fxml). Displays published posts as cards with search
  * (title, author, tag) and sort (date, title, author) using {@link com.blogging_platform.classes.CacheManager};
  * shows tags, comment count, and average rating per post; Admin sees link to PostList.
+ * Cards are rendered a page at a time; the next page is fetched in the background when the user scrolls near the bottom.
+ * Tag chips above the grid show how many matching posts carry each tag; clicking one narrows the listing to it.
  */
 public class PostHomeController extends BaseController {
 
+    @FXML private ScrollPane scrollPane;
+
     @FXML private FlowPane postsFlowPane;
 
+    @FXML private FlowPane tagFacetPane;
+
     @FXML
     private Hyperlink blogLink;
 
@@ -44,6 +60,7 @@ public class PostHomeController extends BaseController {
     @FXML
     private ComboBox<String> sortComboBox;
 
+    private static final String SORT_RELEVANCE = "Best match";
     private static final String SORT_DATE_DESC = "Newest first";
     private static final String SORT_DATE_ASC = "Oldest first";
     private static final String SORT_TITLE_ASC = "Title A–Z";
@@ -51,8 +68,28 @@ public class PostHomeController extends BaseController {
     private static final String SORT_AUTHOR_ASC = "Author A–Z";
     private static final String SORT_AUTHOR_DESC = "Author Z–A";
 
+    private static final int PAGE_SIZE = 24;
+    /** Unselected tag chips shown at most (selected ones are always shown). */
+    private static final int MAX_FACETS = 15;
+    /** Fraction of the scroll range past which the next page is fetched. */
+    private static final double LOAD_MORE_THRESHOLD = 0.9;
+
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMMM d, yyyy");
 
+    // Listing being paged: fixed when a search/sort starts so scrolling ignores unsubmitted edits
+    private String currentQuery = "";
+    private String currentSortBy = "date_desc";
+    private TagFilter currentTagFilter = TagFilter.NONE;
+    /** Tags the user has clicked; the listing shows only posts carrying all of them. */
+    private final Set<String> selectedTags = new LinkedHashSet<>();
+    private PageCursor nextCursor;
+    private boolean hasMorePages;
+    private int listingGeneration;
+
+    private static final String POSTS_LOAD = "posts";
+    private static final String FACETS_LOAD = "facets";
+    private final Node loadingCard = loadingPlaceholder("Loading posts...");
+
     @FXML
     private void initialize() {
         String userRole = SessionManager.getInstance().getUserRole();
@@ -61,12 +98,17 @@ public class PostHomeController extends BaseController {
             blogLink.setVisible(true);
         }
         if (sortComboBox != null) {
-            sortComboBox.getItems().setAll(SORT_DATE_DESC, SORT_DATE_ASC, SORT_TITLE_ASC, SORT_TITLE_DESC, SORT_AUTHOR_ASC, SORT_AUTHOR_DESC);
+            sortComboBox.getItems().setAll(SORT_RELEVANCE, SORT_DATE_DESC, SORT_DATE_ASC, SORT_TITLE_ASC, SORT_TITLE_DESC, SORT_AUTHOR_ASC, SORT_AUTHOR_DESC);
             sortComboBox.setValue(SORT_DATE_DESC);
             sortComboBox.valueProperty().addListener((o, oldVal, newVal) -> {
                 if (reviewService != null && tagService != null) loadAllPosts();
             });
         }
+        if (scrollPane != null) {
+            scrollPane.vvalueProperty().addListener((o, oldVal, newVal) -> {
+                if (scrollableHeight() > 0 && newVal.doubleValue() >= LOAD_MORE_THRESHOLD * scrollPane.getVmax()) loadNextPage();
+            });
+        }
     }
 
     @Override
@@ -92,6 +134,7 @@ public class PostHomeController extends BaseController {
     /** Map UI sort label to CacheManager sortBy key. */
     private String getSortByKey() {
         String v = sortComboBox != null ? sortComboBox.getValue() : null;
+        if (SORT_RELEVANCE.equals(v)) return "relevance";
         if (SORT_DATE_ASC.equals(v)) return "date_asc";
         if (SORT_TITLE_ASC.equals(v)) return "title_asc";
         if (SORT_TITLE_DESC.equals(v)) return "title_desc";
@@ -100,45 +143,159 @@ public class PostHomeController extends BaseController {
         return "date_desc";
     }
 
+    /** Starts a new listing for the current search and sort, rendering its first page. */
     private void loadAllPosts() {
-        CacheManager cache = CacheManager.getInstance();
-        String query = searchField != null ? searchField.getText().trim() : "";
-        String sortBy = getSortByKey();
-        List<PostRecord> posts = cache.getPublishedPostsSearchAndSort(query, sortBy);
+        currentQuery = searchField != null ? searchField.getText().trim() : "";
+        currentSortBy = getSortByKey();
+        currentTagFilter = selectedTags.isEmpty() ? TagFilter.NONE : TagFilter.allOf(selectedTags);
+        nextCursor = null;
+        hasMorePages = true;
+        listingGeneration++;
         postsFlowPane.getChildren().clear();
+        if (scrollPane != null) scrollPane.setVvalue(0);
+        // Supersedes any page still loading for the previous search/sort
+        fetchPage();
+        fetchFacets();
+    }
 
-        for (PostRecord post : posts) {
-            List<TagRecord> tags = getTagsForPost(post.id());
-            double avgRating = getAverageRating(post.id());
-            Node card = createPostCard(post.title(), post.content(), post.status(), post.author(), post.publishedDate(), post.id(), post.commentCount() != null ? post.commentCount() : 0, tags, avgRating);
-            postsFlowPane.getChildren().add(card);
+    /** Appends the next page of cards, if any and if one is not already on its way. */
+    private void loadNextPage() {
+        if (!hasMorePages || isLoading(POSTS_LOAD)) return;
+        fetchPage();
+    }
+
+    /** One page plus what its cards need, gathered off the FX thread. */
+    private record PageData(Page<PostSummary> page, Map<String, RatingSummary> ratings, Map<String, List<String>> tags) {}
+
+    private void fetchPage() {
+        String query = currentQuery;
+        String sortBy = currentSortBy;
+        TagFilter tagFilter = currentTagFilter;
+        PageCursor cursor = nextCursor;
+        postsFlowPane.getChildren().remove(loadingCard);
+        postsFlowPane.getChildren().add(loadingCard);
+
+        runAsync(POSTS_LOAD, () -> {
+            CacheManager cache = CacheManager.getInstance();
+            Page<PostSummary> page = cache.getPublishedPostsPage(query, sortBy, tagFilter, cursor, PAGE_SIZE, PageDirection.FORWARD);
+            Map<String, List<String>> tags = new HashMap<>();
+            for (PostSummary post : page.items()) tags.put(post.id(), cache.getTagNames(post.id()));
+            return new PageData(page, getRatingSummaries(page.items()), tags);
+        }, this::renderPage, e -> {
+            postsFlowPane.getChildren().remove(loadingCard);
+            hasMorePages = false;
+            System.err.println("Failed to load posts: " + e.getMessage());
+            showError("Failed to load posts. Please try again.");
+        });
+    }
+
+    private void renderPage(PageData data) {
+        Page<PostSummary> page = data.page();
+        nextCursor = page.nextCursor();
+        hasMorePages = page.hasNext();
+
+        List<Node> cards = new ArrayList<>(page.items().size());
+        for (PostSummary post : page.items()) {
+            RatingSummary rating = data.ratings().get(post.id());
+            double avgRating = rating != null ? rating.average() : 0.0;
+            cards.add(createPostCard(post.title(), post.excerpt(), post.status(), post.author(), post.publishedDate(), post.id(), post.commentCount(), data.tags().get(post.id()), avgRating));
         }
+        double scrollOffset = scrollOffset();
+        postsFlowPane.getChildren().remove(loadingCard);
+        postsFlowPane.getChildren().addAll(cards);
+
+        if (scrollPane == null) return;
+        int generation = listingGeneration;
+        Platform.runLater(() -> {
+            if (generation != listingGeneration) return;
+            // Keep the cards the user is looking at in place; vvalue is relative to the (now taller) content
+            scrollPane.layout();
+            double scrollable = scrollableHeight();
+            if (scrollable > 0) {
+                scrollPane.setVvalue(Math.min(1, scrollOffset / scrollable) * scrollPane.getVmax());
+            } else if (hasMorePages) {
+                // A page that does not fill the viewport leaves nothing to scroll; keep loading until it does
+                loadNextPage();
+            }
+        });
     }
 
-    private List<TagRecord> getTagsForPost(String postId) {
-        if (tagService == null) {
-            return new ArrayList<>();
+    /** Loads tag counts for the current search and tag selection (separately, so cards are not held up). */
+    private void fetchFacets() {
+        if (tagFacetPane == null) return;
+        String query = currentQuery;
+        TagFilter tagFilter = currentTagFilter;
+        runAsync(FACETS_LOAD, () -> CacheManager.getInstance().getTagFacets(query, tagFilter),
+                this::renderFacets,
+                e -> System.err.println("Failed to load tag facets: " + e.getMessage()));
+    }
+
+    private void renderFacets(Map<String, Integer> counts) {
+        List<Node> chips = new ArrayList<>();
+        for (String tag : selectedTags) {
+            chips.add(createFacetChip(tag, counts.getOrDefault(tag, 0), true));
         }
-        try {
-            return tagService.getTagsByPostId(postId);
-        } catch (DatabaseQueryException e) {
-            return new ArrayList<>();
+        int shown = 0;
+        for (Map.Entry<String, Integer> e : counts.entrySet()) {
+            if (shown == MAX_FACETS) break;
+            if (selectedTags.contains(e.getKey())) continue;
+            chips.add(createFacetChip(e.getKey(), e.getValue(), false));
+            shown++;
         }
+        tagFacetPane.getChildren().setAll(chips);
+    }
+
+    private Node createFacetChip(String tag, int count, boolean selected) {
+        Label chip = new Label(tag + " (" + count + ")");
+        chip.setStyle(selected ? """
+            -fx-background-color: #2e7d32;
+            -fx-background-radius: 12;
+            -fx-padding: 4 10;
+            -fx-font-size: 12px;
+            -fx-text-fill: white;
+            -fx-font-weight: bold;
+            -fx-cursor: hand;
+            """ : """
+            -fx-background-color: #e8f5e9;
+            -fx-background-radius: 12;
+            -fx-padding: 4 10;
+            -fx-font-size: 12px;
+            -fx-text-fill: #2e7d32;
+            -fx-cursor: hand;
+            """);
+        chip.setOnMouseClicked(e -> {
+            if (!selectedTags.remove(tag)) selectedTags.add(tag);
+            loadAllPosts();
+        });
+        return chip;
+    }
+
+    /** Current scroll position in pixels from the top of the content. */
+    private double scrollOffset() {
+        return scrollPane != null ? scrollPane.getVvalue() / scrollPane.getVmax() * Math.max(0, scrollableHeight()) : 0;
+    }
+
+    private double scrollableHeight() {
+        if (scrollPane.getContent() == null) return 0;
+        return scrollPane.getContent().getBoundsInLocal().getHeight() - scrollPane.getViewportBounds().getHeight();
     }
 
-    private double getAverageRating(String postId) {
-        if (reviewService == null) {
-            return 0.0;
+    /** Loads rating summaries for all cards in one call (cached summaries cost no DB work). Runs off the FX thread. */
+    private Map<String, RatingSummary> getRatingSummaries(List<PostSummary> posts) {
+        if (reviewService == null || posts.isEmpty()) {
+            return Map.of();
         }
+        List<String> ids = new ArrayList<>(posts.size());
+        for (PostSummary post : posts) ids.add(post.id());
         try {
-            return reviewService.getAverageRating(postId);
+            return reviewService.getRatingSummaries(ids);
         } catch (DatabaseQueryException e) {
-            return 0.0;
+            return Map.of();
         }
     }
 
-    private Node createPostCard(String title, String content, String status,
-                                String author, LocalDateTime publishedDate, String id, int commentCount, List<TagRecord> tags, double avgRating) {
+    private Node createPostCard(String title, String excerpt, String status,
+                                String author, LocalDateTime publishedDate, String id, int commentCount, List<String> tags, double avgRating) {
 
         VBox card = new VBox(15);
         card.setPadding(new Insets(20));
@@ -169,8 +326,8 @@ public class PostHomeController extends BaseController {
         if (tags != null && !tags.isEmpty()) {
             HBox tagsBox = new HBox(5);
             tagsBox.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
-            for (TagRecord tag : tags) {
-                Label tagLabel = new Label(tag.tag());
+            for (String tag : tags) {
+                Label tagLabel = new Label(tag);
                 tagLabel.setStyle("""
                     -fx-background-color: #e8f5e9;
                     -fx-background-radius: 12;
@@ -213,10 +370,7 @@ public class PostHomeController extends BaseController {
             switchTo("ReviewPage", id);
         });
 
-        // Short excerpt
-        String excerpt = content.length() > 150
-                ? content.substring(0, 150) + "..."
-                : content;
+        // Short excerpt (precomputed by the summary query)
         Text preview = new Text(excerpt);
         preview.setStyle("-fx-font-size: 15px; -fx-text-fill: #555;");
         preview.setWrappingWidth(310);
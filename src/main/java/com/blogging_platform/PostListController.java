@@ -4,15 +4,15 @@ import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
-import java.util.concurrent.ConcurrentHashMap;
 
 import com.blogging_platform.classes.CacheManager;
-import com.blogging_platform.classes.PostRecord;
-import com.blogging_platform.classes.TagRecord;
+import com.blogging_platform.classes.PostSearchIndex;
+import com.blogging_platform.classes.PostSummary;
 import com.blogging_platform.classes.SessionManager;
 import com.blogging_platform.exceptions.DatabaseException;
 import com.blogging_platform.exceptions.DatabaseQueryException;
@@ -29,6 +29,7 @@ import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
@@ -46,25 +47,25 @@ import javafx.util.Callback;
 public class PostListController extends BaseController implements Initializable {
 
     @FXML
-    private TableColumn<PostRecord, String> idColumn;
+    private TableColumn<PostSummary, String> idColumn;
 
     @FXML
-    private TableColumn<PostRecord, String> titleColumn;
+    private TableColumn<PostSummary, String> titleColumn;
 
     @FXML
-    private TableColumn<PostRecord, String> statusColumn;
+    private TableColumn<PostSummary, String> statusColumn;
 
     @FXML
-    private TableColumn<PostRecord, String> authorColumn;
+    private TableColumn<PostSummary, String> authorColumn;
 
     @FXML
-    private TableColumn<PostRecord, LocalDateTime> createdAtColumn;
+    private TableColumn<PostSummary, LocalDateTime> createdAtColumn;
 
     @FXML
-    private TableColumn<PostRecord, LocalDateTime> dateColumn;
+    private TableColumn<PostSummary, LocalDateTime> dateColumn;
 
     @FXML
-    private TableView<PostRecord> postsTable;
+    private TableView<PostSummary> postsTable;
 
     @FXML
     private TextField searchField;
@@ -75,11 +76,13 @@ public class PostListController extends BaseController implements Initializable
     @FXML
     private Button createTagButton;
 
-    private ObservableList<PostRecord> postData = FXCollections.observableArrayList();
+    private ObservableList<PostSummary> postData = FXCollections.observableArrayList();
     /** Full list from DB for in-memory filter/sort (no DB on search). */
-    private List<PostRecord> fullPostList = new ArrayList<>();
-    /** Post id -> tag names for search by tag. */
-    private Map<String, List<String>> postIdToTagNames = new ConcurrentHashMap<>();
+    private List<PostSummary> fullPostList = new ArrayList<>();
+    /** Post id -> post, for turning search hits back into rows. */
+    private Map<String, PostSummary> postsById = new HashMap<>();
+    /** Inverted index over title, author and tags of the user's posts. */
+    private PostSearchIndex searchIndex = new PostSearchIndex();
 
     private static final String SORT_DATE_DESC = "Newest first";
     private static final String SORT_DATE_ASC = "Oldest first";
@@ -160,35 +163,53 @@ public class PostListController extends BaseController implements Initializable
         if (postService != null) loadPosts();
     }
 
+    /** The user's posts and their search index, built together off the FX thread. */
+    private record PostListData(List<PostSummary> posts, PostSearchIndex searchIndex) {}
+
     private void loadPosts() {
-        try {
-            fullPostList = postService.getUserPosts(SessionManager.getInstance().getUserId());
-            postIdToTagNames.clear();
-            if (tagService != null) {
-                for (PostRecord p : fullPostList) {
-                    try {
-                        List<TagRecord> tags = tagService.getTagsByPostId(p.id());
-                        List<String> names = new ArrayList<>();
-                        if (tags != null) for (TagRecord t : tags) names.add(t.tag());
-                        postIdToTagNames.put(p.id(), names);
-                    } catch (DatabaseQueryException e) {
-                        postIdToTagNames.put(p.id(), List.of());
-                    }
+        String userId = SessionManager.getInstance().getUserId();
+        Node emptyPlaceholder = postsTable.getPlaceholder();
+        postsTable.setPlaceholder(loadingPlaceholder("Loading posts..."));
+        runAsync("posts", () -> {
+            List<PostSummary> posts = postService.getUserPosts(userId);
+            Map<String, List<String>> tagNames = Map.of();
+            if (tagService != null && !posts.isEmpty()) {
+                List<String> ids = new ArrayList<>();
+                for (PostSummary p : posts) ids.add(p.id());
+                try {
+                    tagNames = tagService.getTagNamesByPostIds(ids);
+                } catch (DatabaseQueryException e) {
+                    // Tag search is optional; posts still list without it
                 }
             }
+            PostSearchIndex index = new PostSearchIndex();
+            for (PostSummary p : posts) index.put(p.id(), p.title(), p.author(), tagNames.get(p.id()));
+            return new PostListData(posts, index);
+        }, data -> {
+            postsTable.setPlaceholder(emptyPlaceholder);
+            fullPostList = data.posts();
+            postsById = new HashMap<>();
+            for (PostSummary p : fullPostList) postsById.put(p.id(), p);
+            searchIndex = data.searchIndex();
             applyFilterAndSort();
-        } catch (DatabaseException e) {
+        }, e -> {
+            postsTable.setPlaceholder(emptyPlaceholder);
             showError("Failed to load posts. Please try again.");
-        }
+        });
     }
 
-    /** In-memory filter by title/author/tag then QuickSort via CacheManager. */
+    /** In-memory filter by title/author/tag via the search index, then sort via CacheManager. */
     private void applyFilterAndSort() {
         String query = searchField != null ? searchField.getText().trim() : "";
-        String q = query.isEmpty() ? null : query.toLowerCase();
-        List<PostRecord> filtered = new ArrayList<>();
-        for (PostRecord p : fullPostList) {
-            if (q == null || matchesSearch(p, q)) filtered.add(p);
+        List<PostSummary> filtered;
+        if (PostSearchIndex.hasTerms(query)) {
+            filtered = new ArrayList<>();
+            for (PostSearchIndex.Hit hit : searchIndex.search(query)) {
+                PostSummary p = postsById.get(hit.postId());
+                if (p != null) filtered.add(p);
+            }
+        } else {
+            filtered = new ArrayList<>(fullPostList);
         }
         String sortBy = getSortByKey();
         CacheManager.getInstance().sortPosts(filtered, sortBy);
@@ -196,14 +217,6 @@ public class PostListController extends BaseController implements Initializable
         postData.addAll(filtered);
     }
 
-    private boolean matchesSearch(PostRecord p, String q) {
-        if (p.title() != null && p.title().toLowerCase().contains(q)) return true;
-        if (p.author() != null && p.author().toLowerCase().contains(q)) return true;
-        List<String> tags = postIdToTagNames.get(p.id());
-        if (tags != null) for (String t : tags) if (t != null && t.toLowerCase().contains(q)) return true;
-        return false;
-    }
-
     private String getSortByKey() {
         String v = sortComboBox != null ? sortComboBox.getValue() : null;
         if (SORT_DATE_ASC.equals(v)) return "date_asc";
@@ -221,7 +234,7 @@ public class PostListController extends BaseController implements Initializable
 
     @FXML
     void deletePost(ActionEvent event) {
-        PostRecord selected = postsTable.getSelectionModel().getSelectedItem();
+        PostSummary selected = postsTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             return;
         }
@@ -244,7 +257,7 @@ public class PostListController extends BaseController implements Initializable
 
     @FXML
     void editPost(ActionEvent event) {
-        PostRecord selected = postsTable.getSelectionModel().getSelectedItem();
+        PostSummary selected = postsTable.getSelectionModel().getSelectedItem();
         String postId = selected.id();
         switchTo("EditPost", postId);
         setCurrentId(postId);
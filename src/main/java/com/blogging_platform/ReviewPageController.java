@@ -1,28 +1,32 @@
 package com.blogging_platform;
 
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Optional;
 
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
 import com.blogging_platform.classes.ParameterReceiver;
-import com.blogging_platform.classes.PostRecord;
+import com.blogging_platform.classes.RatingSummary;
 import com.blogging_platform.classes.ReviewRecord;
 import com.blogging_platform.classes.SessionManager;
 import com.blogging_platform.exceptions.DatabaseException;
-import com.blogging_platform.exceptions.DatabaseQueryException;
 import com.blogging_platform.exceptions.DuplicateResourceException;
 import com.blogging_platform.exceptions.PostNotFoundException;
 import com.blogging_platform.model.Review;
@@ -30,6 +34,8 @@ import com.blogging_platform.model.Review;
 /**
  * FXML controller for the review page (ReviewPage.fxml). Receives post id via navigation parameter;
  * displays post, average rating, and list of reviews; allows adding/editing/deleting reviews (author or admin post-owner).
+ * Reviews are a virtualised {@link ListView} read a page at a time (keyset, newest first) as the reader scrolls;
+ * the average and star histogram come from the post's {@link RatingSummary}, never from the review rows.
  */
 public class ReviewPageController extends BaseController implements ParameterReceiver {
 
@@ -37,17 +43,37 @@ public class ReviewPageController extends BaseController implements ParameterRec
     @FXML private Label authorLabel;
     @FXML private Label dateLabel;
     @FXML private HBox averageRatingContainer;
-    @FXML private VBox reviewsContainer;
+    @FXML private VBox ratingHistogram;
+    @FXML private ListView<ReviewRecord> reviewsList;
     @FXML private VBox addReviewForm;
     @FXML private TextArea reviewMessageInput;
     @FXML private ComboBox<Integer> ratingCombo;
     @FXML private Label noReviewsLabel;
 
+    /** Reviews per page read from {@link com.blogging_platform.service.ReviewService#getReviewsPage}. */
+    private static final int REVIEW_PAGE_SIZE = 20;
+    /** Start reading the next page once a row this close to the end is shown. */
+    private static final int REVIEW_PREFETCH_ROWS = 5;
+    /** Width in pixels of a histogram bar for the most common rating. */
+    private static final double HISTOGRAM_BAR_WIDTH = 240;
+    private static final String REVIEWS_LOAD = "reviews";
+
     private String currentPostId;
     private String postUserId;
+    private final ObservableList<ReviewRecord> reviews = FXCollections.observableArrayList();
+    /** Cursor for the next page of reviews, or null when all are loaded. */
+    private PageCursor nextReviewsCursor;
+    /** Review whose row shows the edit form, if any. */
+    private String editingReviewId;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM d, yyyy");
 
+    @FXML
+    public void initialize() {
+        reviewsList.setItems(reviews);
+        reviewsList.setCellFactory(list -> new ReviewCell());
+    }
+
     @Override
     public void receiveParameter(Object parameter) {
         if (parameter instanceof String) {
@@ -57,22 +83,25 @@ public class ReviewPageController extends BaseController implements ParameterRec
     }
 
     public void displayPost(String id) {
-        try {
-            PostRecord post = postService.getPost(id);
+        postTitleLabel.setText("Loading...");
+        runAsync("post", () -> postService.getPostSummary(id), post -> {
             this.postUserId = post.userId();
             postTitleLabel.setText(post.title());
             authorLabel.setText("by " + post.author());
             dateLabel.setText(post.publishedDate() != null ? post.publishedDate().format(formatter) : "");
-
-            loadAverageRating(id);
-            loadReviews(id);
-            setupAddReviewForm();
-        } catch (PostNotFoundException e) {
-            showError(e.getUserMessage());
-            switchTo("PostHome");
-        } catch (DatabaseException e) {
-            showError("Failed to load post. Please try again.");
-        }
+            // Delete rights on reviews depend on the post owner; redraw rows if the reviews arrived first
+            reviewsList.refresh();
+        }, e -> {
+            if (e instanceof PostNotFoundException notFound) {
+                showError(notFound.getUserMessage());
+                switchTo("PostHome");
+            } else {
+                showError("Failed to load post. Please try again.");
+            }
+        });
+        loadRatingSummary(id);
+        loadReviews(id);
+        setupAddReviewForm();
     }
 
     private void setupAddReviewForm() {
@@ -81,184 +110,249 @@ public class ReviewPageController extends BaseController implements ParameterRec
         addReviewForm.setVisible(SessionManager.getInstance().isLoggedIn());
     }
 
-    private void loadAverageRating(String postId) {
-        averageRatingContainer.getChildren().clear();
+    /** Average and histogram from the rating aggregate (cached by ReviewService and kept current by review writes). */
+    private void loadRatingSummary(String postId) {
         if (reviewService == null) return;
-        try {
-            double avg = reviewService.getAverageRating(postId);
-            int fullStars = (int) Math.round(avg);
-            fullStars = Math.max(0, Math.min(5, fullStars));
-            StringBuilder stars = new StringBuilder();
-            for (int i = 0; i < fullStars; i++) stars.append("★");
-            for (int i = fullStars; i < 5; i++) stars.append("☆");
-            Label starsLabel = new Label(stars.toString());
-            starsLabel.setStyle("-fx-font-size: 24px; -fx-text-fill: #f1c40f;");
-            Label ratingLabel = new Label(avg > 0 ? String.format("%.1f", avg) + " average" : "No reviews yet");
-            ratingLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #7f8c8d;");
-            averageRatingContainer.getChildren().addAll(starsLabel, ratingLabel);
-        } catch (DatabaseQueryException e) {
+        runAsync("rating", () -> reviewService.getRatingSummary(postId), this::renderRatingSummary, e -> {
+            averageRatingContainer.getChildren().clear();
+            ratingHistogram.getChildren().clear();
             Label noRating = new Label("No reviews yet");
             noRating.setStyle("-fx-font-size: 16px; -fx-text-fill: #7f8c8d;");
             averageRatingContainer.getChildren().add(noRating);
+        });
+    }
+
+    private void renderRatingSummary(RatingSummary summary) {
+        double avg = summary.average();
+        averageRatingContainer.getChildren().clear();
+        Label starsLabel = new Label(stars((int) Math.round(avg)));
+        starsLabel.setStyle("-fx-font-size: 24px; -fx-text-fill: #f1c40f;");
+        Label ratingLabel = new Label(summary.count() > 0
+                ? String.format("%.1f average (%d %s)", avg, summary.count(), summary.count() == 1 ? "review" : "reviews")
+                : "No reviews yet");
+        ratingLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #7f8c8d;");
+        averageRatingContainer.getChildren().addAll(starsLabel, ratingLabel);
+
+        ratingHistogram.getChildren().clear();
+        if (summary.count() == 0) return;
+        long most = 1;
+        for (int rating = 1; rating <= 5; rating++) most = Math.max(most, summary.countFor(rating));
+        for (int rating = 5; rating >= 1; rating--) {
+            long count = summary.countFor(rating);
+            Label label = new Label(rating + " ★");
+            label.setStyle("-fx-font-size: 14px; -fx-text-fill: #7f8c8d;");
+            label.setMinWidth(40);
+            Region bar = new Region();
+            bar.setPrefWidth(HISTOGRAM_BAR_WIDTH * count / most);
+            bar.setMinHeight(10);
+            bar.setStyle("-fx-background-color: #f1c40f; -fx-background-radius: 4;");
+            Label countLabel = new Label(String.valueOf(count));
+            countLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #7f8c8d;");
+            HBox row = new HBox(8, label, bar, countLabel);
+            row.setAlignment(Pos.CENTER_LEFT);
+            ratingHistogram.getChildren().add(row);
         }
     }
 
+    private static String stars(int rating) {
+        int full = Math.max(0, Math.min(5, rating));
+        return "★".repeat(full) + "☆".repeat(5 - full);
+    }
+
+    /** Reads the first page of reviews, replacing whatever is shown. */
     private void loadReviews(String postId) {
-        reviewsContainer.getChildren().clear();
         if (reviewService == null) return;
-        try {
-            List<ReviewRecord> reviews = reviewService.getReviewsByPostId(postId);
-            if (reviews == null || reviews.isEmpty()) {
-                noReviewsLabel.setVisible(true);
-                addReviewForm.setVisible(SessionManager.getInstance().isLoggedIn());
-            } else {
-                noReviewsLabel.setVisible(false);
-                addReviewForm.setVisible(SessionManager.getInstance().isLoggedIn());
-                String currentUserId = SessionManager.getInstance().getUserId();
-                String userRole = SessionManager.getInstance().getUserRole();
-                boolean isPostOwner = currentUserId != null && currentUserId.equals(postUserId);
-
-                for (ReviewRecord review : reviews) {
-                    VBox reviewBox = new VBox(10);
-                    reviewBox.setStyle("-fx-background-color: #f8f9fa; -fx-padding: 20; -fx-background-radius: 12;");
-
-                    HBox headerBox = new HBox(10);
-                    headerBox.setAlignment(Pos.CENTER_LEFT);
-
-                    String authorName = review.authorName() != null ? review.authorName() : "Unknown";
-                    Label author = new Label(authorName);
-                    author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
-
-                    Hyperlink editButton = new Hyperlink();
-                    Hyperlink deleteButton = new Hyperlink();
-
-                    boolean isOwnReview = currentUserId != null && currentUserId.equals(review.userId());
-                    boolean canEdit = isOwnReview;
-                    boolean canDelete = isOwnReview || ("Admin".equals(userRole) && isPostOwner);
-
-                    if (canEdit) {
-                        editButton = new Hyperlink("Edit");
-                        editButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #3498db;");
-                        editButton.setOnAction(event -> handleEditReview(review.id()));
-                    }
-                    if (canDelete) {
-                        deleteButton = new Hyperlink("Delete");
-                        deleteButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #e74c3c;");
-                        deleteButton.setOnAction(event -> handleDeleteReview(review.id()));
-                    }
-
-                    javafx.scene.layout.Region spacer = new javafx.scene.layout.Region();
-                    javafx.scene.layout.HBox.setHgrow(spacer, javafx.scene.layout.Priority.ALWAYS);
-                    headerBox.getChildren().addAll(author, spacer, editButton, deleteButton);
-
-                    Label date = new Label(review.createdAt() != null
-                            ? review.createdAt().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm"))
-                            : "");
-                    date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
-
-                    int r = review.rating() != null ? review.rating() : 0;
-                    StringBuilder starStr = new StringBuilder();
-                    for (int i = 0; i < r; i++) starStr.append("★");
-                    for (int i = r; i < 5; i++) starStr.append("☆");
-                    Label starsLabel = new Label(starStr.toString());
-                    starsLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #f1c40f;");
-
-                    Text message = new Text(review.message() != null ? review.message() : "");
-                    message.setStyle("-fx-font-size: 16px; -fx-text-fill: #34495e;");
-                    message.setWrappingWidth(800);
-
-                    reviewBox.setUserData(review.id());
-                    reviewBox.getChildren().addAll(headerBox, date, starsLabel, message);
-                    reviewsContainer.getChildren().add(reviewBox);
-                }
+        editingReviewId = null;
+        if (reviews.isEmpty()) {
+            reviewsList.setPlaceholder(loadingPlaceholder("Loading reviews..."));
+        }
+        runAsync(REVIEWS_LOAD, () -> reviewService.getReviewsPage(postId, null, REVIEW_PAGE_SIZE), this::renderReviews,
+                e -> {
+                    reviewsList.setPlaceholder(null);
+                    showError("Failed to load reviews. Please try again.");
+                });
+    }
+
+    /** Appends the next page of reviews; called by cells as the list nears its end. */
+    private void loadMoreReviews() {
+        PageCursor cursor = nextReviewsCursor;
+        if (cursor == null || isLoading(REVIEWS_LOAD)) {
+            return;
+        }
+        String postId = currentPostId;
+        runAsync(REVIEWS_LOAD, () -> reviewService.getReviewsPage(postId, cursor, REVIEW_PAGE_SIZE), page -> {
+            reviews.addAll(page.items());
+            nextReviewsCursor = page.nextCursor();
+        }, e -> showError("Failed to load more reviews. Please try again."));
+    }
+
+    private void renderReviews(Page<ReviewRecord> page) {
+        reviews.setAll(page.items());
+        nextReviewsCursor = page.nextCursor();
+        reviewsList.setPlaceholder(null);
+        updateReviewsState();
+    }
+
+    private void updateReviewsState() {
+        noReviewsLabel.setVisible(reviews.isEmpty());
+        addReviewForm.setVisible(SessionManager.getInstance().isLoggedIn());
+    }
+
+    /**
+     * One row of the review list. Cells are reused as the list scrolls, so a row's nodes are rebuilt
+     * from its current item on every update; a row near the end also asks for the next page.
+     */
+    private class ReviewCell extends ListCell<ReviewRecord> {
+        @Override
+        protected void updateItem(ReviewRecord review, boolean empty) {
+            super.updateItem(review, empty);
+            setText(null);
+            if (empty || review == null) {
+                setGraphic(null);
+                return;
+            }
+            setGraphic(review.id().equals(editingReviewId) ? editForm(review) : reviewView(review));
+            if (getIndex() >= reviews.size() - REVIEW_PREFETCH_ROWS) {
+                loadMoreReviews();
             }
-        } catch (DatabaseException e) {
-            showError("Failed to load reviews. Please try again.");
         }
     }
 
+    private VBox reviewView(ReviewRecord review) {
+        String currentUserId = SessionManager.getInstance().getUserId();
+        String userRole = SessionManager.getInstance().getUserRole();
+        boolean isPostOwner = currentUserId != null && currentUserId.equals(postUserId);
+
+        VBox reviewBox = new VBox(10);
+        reviewBox.setStyle("-fx-background-color: #f8f9fa; -fx-padding: 20; -fx-background-radius: 12;");
+
+        HBox headerBox = new HBox(10);
+        headerBox.setAlignment(Pos.CENTER_LEFT);
+
+        String authorName = review.authorName() != null ? review.authorName() : "Unknown";
+        Label author = new Label(authorName);
+        author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
+
+        Hyperlink editButton = new Hyperlink();
+        Hyperlink deleteButton = new Hyperlink();
+
+        boolean isOwnReview = currentUserId != null && currentUserId.equals(review.userId());
+        boolean canEdit = isOwnReview;
+        boolean canDelete = isOwnReview || ("Admin".equals(userRole) && isPostOwner);
+
+        if (canEdit) {
+            editButton = new Hyperlink("Edit");
+            editButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #3498db;");
+            editButton.setOnAction(event -> handleEditReview(review.id()));
+        }
+        if (canDelete) {
+            deleteButton = new Hyperlink("Delete");
+            deleteButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #e74c3c;");
+            deleteButton.setOnAction(event -> handleDeleteReview(review.id()));
+        }
+
+        javafx.scene.layout.Region spacer = new javafx.scene.layout.Region();
+        javafx.scene.layout.HBox.setHgrow(spacer, javafx.scene.layout.Priority.ALWAYS);
+        headerBox.getChildren().addAll(author, spacer, editButton, deleteButton);
+
+        Label date = new Label(review.createdAt() != null
+                ? review.createdAt().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm"))
+                : "");
+        date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
+
+        Label starsLabel = new Label(stars(review.rating() != null ? review.rating() : 0));
+        starsLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #f1c40f;");
+
+        Text message = new Text(review.message() != null ? review.message() : "");
+        message.setStyle("-fx-font-size: 16px; -fx-text-fill: #34495e;");
+        message.setWrappingWidth(800);
+
+        reviewBox.getChildren().addAll(headerBox, date, starsLabel, message);
+        return reviewBox;
+    }
+
     private void handleDeleteReview(String reviewId) {
         Optional<ButtonType> result = confirmDialog("Do you want to delete this review?");
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
                 reviewService.deleteReview(reviewId);
-                com.blogging_platform.classes.CacheManager.getInstance().invalidateCache();
+                reviews.removeIf(review -> review.id().equals(reviewId));
+                updateReviewsState();
                 showInfo("Review deleted successfully");
-                loadReviews(currentPostId);
-                loadAverageRating(currentPostId);
+                loadRatingSummary(currentPostId);
             } catch (DatabaseException e) {
                 showError("Failed to delete review. Please try again.");
             }
         }
     }
 
+    /** Switches the review's row to the edit form. */
     private void handleEditReview(String reviewId) {
-        for (Node node : reviewsContainer.getChildren()) {
-            if (node instanceof VBox reviewBox && node.getUserData() != null && node.getUserData().equals(reviewId)) {
-                ReviewRecord review;
-                try {
-                    review = reviewService.getReviewById(reviewId);
-                } catch (DatabaseQueryException e) {
-                    showError("Failed to load review.");
-                    return;
-                }
-                if (review == null) return;
-
-                reviewBox.getChildren().clear();
-
-                Label author = new Label(review.authorName() != null ? review.authorName() : "Unknown");
-                author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
-                Label date = new Label(review.createdAt() != null
-                        ? review.createdAt().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm"))
-                        : "");
-                date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
-
-                ComboBox<Integer> ratingEdit = new ComboBox<>();
-                ratingEdit.getItems().addAll(1, 2, 3, 4, 5);
-                ratingEdit.setValue(review.rating() != null ? review.rating() : 5);
-                ratingEdit.setPrefWidth(80);
-                HBox ratingRow = new HBox(8);
-                ratingRow.getChildren().addAll(new Label("Rating:"), ratingEdit);
-
-                TextArea editArea = new TextArea(review.message() != null ? review.message() : "");
-                editArea.setWrapText(true);
-                editArea.setPrefRowCount(4);
-                editArea.setStyle("-fx-font-size: 16px; -fx-background-radius: 8;");
-
-                Button saveBtn = new Button("Save");
-                saveBtn.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
-                Button cancelBtn = new Button("Cancel");
-                cancelBtn.setStyle("-fx-background-color: #95a5a6; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
-                HBox buttonBox = new HBox(10, saveBtn, cancelBtn);
-                buttonBox.setAlignment(Pos.CENTER_RIGHT);
-
-                saveBtn.setOnAction(e -> {
-                    Integer newRating = ratingEdit.getValue();
-                    String newMessage = editArea.getText().trim();
-                    if (newMessage.isEmpty()) {
-                        showError("Review message cannot be empty.");
-                        return;
-                    }
-                    try {
-                        Review updated = new Review(reviewId, review.postId(), review.userId(), newRating != null ? newRating : 5, newMessage);
-                        reviewService.updateReview(updated);
-                        com.blogging_platform.classes.CacheManager.getInstance().invalidateCache();
-                        showInfo("Review updated!");
-                        loadReviews(currentPostId);
-                        loadAverageRating(currentPostId);
-                    } catch (DatabaseException ex) {
-                        showError("Failed to update review. Please try again.");
-                    }
-                });
-                cancelBtn.setOnAction(e -> {
-                    loadReviews(currentPostId);
-                });
+        editingReviewId = reviewId;
+        reviewsList.refresh();
+    }
 
-                reviewBox.getChildren().addAll(author, date, ratingRow, editArea, buttonBox);
-                reviewBox.setStyle("-fx-background-color: #f0f8ff; -fx-padding: 20; -fx-background-radius: 12; -fx-border-color: #3498db; -fx-border-width: 2; -fx-border-radius: 12;");
-                break;
+    private VBox editForm(ReviewRecord review) {
+        Label author = new Label(review.authorName() != null ? review.authorName() : "Unknown");
+        author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
+        Label date = new Label(review.createdAt() != null
+                ? review.createdAt().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm"))
+                : "");
+        date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
+
+        ComboBox<Integer> ratingEdit = new ComboBox<>();
+        ratingEdit.getItems().addAll(1, 2, 3, 4, 5);
+        ratingEdit.setValue(review.rating() != null ? review.rating() : 5);
+        ratingEdit.setPrefWidth(80);
+        HBox ratingRow = new HBox(8);
+        ratingRow.getChildren().addAll(new Label("Rating:"), ratingEdit);
+
+        TextArea editArea = new TextArea(review.message() != null ? review.message() : "");
+        editArea.setWrapText(true);
+        editArea.setPrefRowCount(4);
+        editArea.setStyle("-fx-font-size: 16px; -fx-background-radius: 8;");
+
+        Button saveBtn = new Button("Save");
+        saveBtn.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
+        Button cancelBtn = new Button("Cancel");
+        cancelBtn.setStyle("-fx-background-color: #95a5a6; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
+        HBox buttonBox = new HBox(10, saveBtn, cancelBtn);
+        buttonBox.setAlignment(Pos.CENTER_RIGHT);
+
+        saveBtn.setOnAction(e -> {
+            Integer newRating = ratingEdit.getValue();
+            String newMessage = editArea.getText().trim();
+            if (newMessage.isEmpty()) {
+                showError("Review message cannot be empty.");
+                return;
             }
-        }
+            int rating = newRating != null ? newRating : 5;
+            try {
+                reviewService.updateReview(new Review(review.id(), review.postId(), review.userId(), rating, newMessage));
+                editingReviewId = null;
+                // created_at is unchanged by an edit, so the review keeps its place in the list
+                int index = reviews.indexOf(review);
+                ReviewRecord updated = new ReviewRecord(review.id(), review.postId(), review.userId(),
+                        review.authorName(), rating, newMessage, review.createdAt());
+                if (index >= 0) {
+                    reviews.set(index, updated);
+                } else {
+                    reviewsList.refresh();
+                }
+                showInfo("Review updated!");
+                loadRatingSummary(currentPostId);
+            } catch (DatabaseException ex) {
+                showError("Failed to update review. Please try again.");
+            }
+        });
+        cancelBtn.setOnAction(e -> {
+            editingReviewId = null;
+            reviewsList.refresh();
+        });
+
+        VBox reviewBox = new VBox(10, author, date, ratingRow, editArea, buttonBox);
+        reviewBox.setStyle("-fx-background-color: #f0f8ff; -fx-padding: 20; -fx-background-radius: 12; -fx-border-color: #3498db; -fx-border-width: 2; -fx-border-radius: 12;");
+        return reviewBox;
     }
 
     @FXML
@@ -276,11 +370,11 @@ public class ReviewPageController extends BaseController implements ParameterRec
         try {
             Review review = new Review(currentPostId, SessionManager.getInstance().getUserId(), rating, message);
             reviewService.createReview(review);
-            com.blogging_platform.classes.CacheManager.getInstance().invalidateCache();
             reviewMessageInput.clear();
             ratingCombo.setValue(null);
+            // The new review's id and timestamp are assigned by the database: re-read the first page
             loadReviews(currentPostId);
-            loadAverageRating(currentPostId);
+            loadRatingSummary(currentPostId);
             showInfo("Review added!");
         } catch (DuplicateResourceException e) {
             showError("You have already reviewed this post.");
@@ -2,11 +2,14 @@ package com.blogging_platform;
 
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -15,9 +18,14 @@ import javafx.scene.text.Text;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import com.blogging_platform.classes.CacheManager;
 import com.blogging_platform.classes.CommentRecord;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
 import com.blogging_platform.classes.ParameterReceiver;
 import com.blogging_platform.classes.PostRecord;
 import com.blogging_platform.classes.SessionManager;
@@ -31,6 +39,8 @@ import com.blogging_platform.exceptions.CommentNotFoundException;
 /**
  * FXML controller for single post view (SinglePostView.fxml). Receives post id via navigation parameter;
  * displays post, tags, average rating, and comments; allows adding/editing/deleting comments (with auth).
+ * Comments are a virtualised {@link ListView}: only visible rows get nodes, and further pages are read
+ * (keyset, newest first) as the reader scrolls near the end of what is loaded.
  */
 public class SinglePostController extends BaseController implements ParameterReceiver {
 
@@ -44,7 +54,19 @@ public class SinglePostController extends BaseController implements ParameterRec
     @FXML private HBox tagsContainer;
     @FXML private HBox ratingStarsContainer;
 
-    @FXML private VBox commentsContainer;
+    @FXML private ListView<CommentRecord> commentsList;
+
+    /** Comments per page read from {@link com.blogging_platform.service.CommentService#getCommentsPage}. */
+    private static final int COMMENT_PAGE_SIZE = 20;
+    /** Start reading the next page once a row this close to the end is shown. */
+    private static final int COMMENT_PREFETCH_ROWS = 5;
+    private static final String COMMENTS_LOAD = "comments";
+
+    private final ObservableList<CommentRecord> comments = FXCollections.observableArrayList();
+    /** Cursor for the next page of comments, or null when all are loaded. */
+    private PageCursor nextCommentsCursor;
+    /** Comment whose row shows the edit form, if any. */
+    private String editingCommentId;
 
     private String currentPostId;
 
@@ -52,85 +74,152 @@ public class SinglePostController extends BaseController implements ParameterRec
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM d, yyyy");
 
+    /** Everything the page shows, loaded concurrently off the FX thread. Null rating/comments mean that part failed. */
+    private record PostView(PostRecord post, List<TagRecord> tags, Double averageRating, Page<CommentRecord> comments) {}
+
+    @FXML
+    public void initialize() {
+        commentsList.setItems(comments);
+        commentsList.setCellFactory(list -> new CommentCell());
+    }
+
     public void displayPost(String id) {
+        postTitleLabel.setText("Loading...");
+        comments.clear();
+        nextCommentsCursor = null;
+        editingCommentId = null;
+        commentsList.setPlaceholder(loadingPlaceholder("Loading post..."));
+        runAsync("post", () -> {
+            // The four reads are independent: issue them together so the page waits for the slowest, not the sum
+            try (ExecutorService reads = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<PostRecord> post = reads.submit(() -> postService.getPost(id));
+                Future<List<TagRecord>> tags = reads.submit(() -> fetchTags(id));
+                Future<Double> averageRating = reads.submit(() -> fetchAverageRating(id));
+                Future<Page<CommentRecord>> comments = reads.submit(() -> fetchComments(id));
+                try {
+                    return new PostView(join(post), join(tags), join(averageRating), join(comments));
+                } catch (Exception e) {
+                    // Post missing or load cancelled: the other reads are no longer wanted
+                    reads.shutdownNow();
+                    throw e;
+                }
+            }
+        }, this::renderPost, e -> {
+            if (e instanceof PostNotFoundException notFound) {
+                showError(notFound.getUserMessage());
+                switchTo("PostHome");
+            } else {
+                showError("Failed to load post. Please try again.");
+            }
+        });
+    }
+
+    private void renderPost(PostView view) {
+        PostRecord post = view.post();
+        this.postUserId = post.userId();
+        postTitleLabel.setText(post.title());
+        postContentText.setText(post.content());
+        authorLabel.setText("by " + post.author());
+        dateLabel.setText(post.publishedDate().format(formatter));
+
+        renderTags(view.tags());
+        renderRatingStars(view.averageRating());
+        if (view.comments() != null) {
+            renderComments(view.comments());
+        } else {
+            commentsList.setPlaceholder(null);
+            showError("Failed to load comments. Please try again.");
+        }
+    }
+
+    /** Waits for a read and rethrows its own exception (e.g. PostNotFoundException) rather than a wrapper. */
+    private static <T> T join(Future<T> read) throws Exception {
         try {
-            PostRecord post = postService.getPost(id);
-            this.postUserId = post.userId();
-            postTitleLabel.setText(post.title());
-            postContentText.setText(post.content());
-            authorLabel.setText("by " + post.author());
-            dateLabel.setText(post.publishedDate().format(formatter));
-
-            // Load and display tags
-            loadTags(id);
-
-            // Load and display rating stars
-            loadRatingStars(id);
-
-            loadComments(id);
-        } catch (PostNotFoundException e) {
-            showError(e.getUserMessage());
-            switchTo("PostHome");
-        } catch (DatabaseException e) {
-            showError("Failed to load post. Please try again.");
+            return read.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
         }
     }
 
-    private void loadTags(String postId) {
-        tagsContainer.getChildren().clear();
-        
+    /** Tags are optional: a failure is logged and the post renders without them. */
+    private List<TagRecord> fetchTags(String postId) {
         if (tagService == null) {
-            return;
+            return List.of();
         }
-        
         try {
-            List<TagRecord> tags = tagService.getTagsByPostId(postId);
-            if (tags != null && !tags.isEmpty()) {
-                for (TagRecord tag : tags) {
-                    Label tagLabel = new Label(tag.tag());
-                    tagLabel.setStyle("""
-                        -fx-background-color: #e8f5e9;
-                        -fx-background-radius: 12;
-                        -fx-padding: 4 10;
-                        -fx-font-size: 11px;
-                        -fx-text-fill: #2e7d32;
-                        -fx-font-weight: bold;
-                        """);
-                    tagsContainer.getChildren().add(tagLabel);
-                }
-            }
+            return tagService.getTagsByPostId(postId);
         } catch (DatabaseQueryException e) {
             // Silently fail - tags are optional
             System.err.println("Failed to load tags: " + e.getMessage());
+            return List.of();
         }
     }
 
-    private void loadRatingStars(String postId) {
-        ratingStarsContainer.getChildren().clear();
+    /** Ratings are optional: null means unavailable and renders as "No reviews". */
+    private Double fetchAverageRating(String postId) {
         if (reviewService == null) {
-            return;
+            return null;
         }
         try {
-            double avg = reviewService.getAverageRating(postId);
-            int fullStars = (int) Math.round(avg);
-            fullStars = Math.max(0, Math.min(5, fullStars));
-            StringBuilder stars = new StringBuilder();
-            for (int i = 0; i < fullStars; i++) {
-                stars.append("★");
-            }
-            for (int i = fullStars; i < 5; i++) {
-                stars.append("☆");
-            }
-            Label starsLabel = new Label(stars.toString());
-            starsLabel.setStyle("-fx-font-size: 22px; -fx-text-fill: #f1c40f;");
-            Label ratingLabel = new Label(avg > 0 ? String.format("%.1f", avg) : "No reviews");
-            ratingLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #7f8c8d;");
-            ratingStarsContainer.getChildren().addAll(starsLabel, ratingLabel);
+            return reviewService.getAverageRating(postId);
         } catch (DatabaseQueryException e) {
+            return null;
+        }
+    }
+
+    private Page<CommentRecord> fetchComments(String postId) {
+        try {
+            return commentService.getCommentsPage(postId, null, COMMENT_PAGE_SIZE);
+        } catch (DatabaseException e) {
+            return null;
+        }
+    }
+
+    private void renderTags(List<TagRecord> tags) {
+        tagsContainer.getChildren().clear();
+        if (tags != null && !tags.isEmpty()) {
+            for (TagRecord tag : tags) {
+                Label tagLabel = new Label(tag.tag());
+                tagLabel.setStyle("""
+                    -fx-background-color: #e8f5e9;
+                    -fx-background-radius: 12;
+                    -fx-padding: 4 10;
+                    -fx-font-size: 11px;
+                    -fx-text-fill: #2e7d32;
+                    -fx-font-weight: bold;
+                    """);
+                tagsContainer.getChildren().add(tagLabel);
+            }
+        }
+    }
+
+    private void renderRatingStars(Double averageRating) {
+        ratingStarsContainer.getChildren().clear();
+        if (reviewService == null) {
+            return;
+        }
+        if (averageRating == null) {
             Label noRating = new Label("No reviews");
             noRating.setStyle("-fx-font-size: 16px; -fx-text-fill: #7f8c8d;");
             ratingStarsContainer.getChildren().add(noRating);
+            return;
+        }
+        double avg = averageRating;
+        int fullStars = (int) Math.round(avg);
+        fullStars = Math.max(0, Math.min(5, fullStars));
+        StringBuilder stars = new StringBuilder();
+        for (int i = 0; i < fullStars; i++) {
+            stars.append("★");
+        }
+        for (int i = fullStars; i < 5; i++) {
+            stars.append("☆");
         }
+        Label starsLabel = new Label(stars.toString());
+        starsLabel.setStyle("-fx-font-size: 22px; -fx-text-fill: #f1c40f;");
+        Label ratingLabel = new Label(avg > 0 ? String.format("%.1f", avg) : "No reviews");
+        ratingLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #7f8c8d;");
+        ratingStarsContainer.getChildren().addAll(starsLabel, ratingLabel);
     }
 
     @FXML
@@ -147,81 +236,110 @@ public class SinglePostController extends BaseController implements ParameterRec
             displayPost(currentPostId);
         }
     }
+    /** Reloads the comments from the first page (after a comment turned out to be missing). */
     private void loadComments(String postId) {
-        commentsContainer.getChildren().clear();
+        editingCommentId = null;
+        runAsync(COMMENTS_LOAD, () -> commentService.getCommentsPage(postId, null, COMMENT_PAGE_SIZE), this::renderComments,
+                e -> showError("Failed to load comments. Please try again."));
+    }
 
-        try {
-            List<CommentRecord> comments = commentService.getComments(postId);
+    /** Appends the next page of comments; called by cells as the list nears its end. */
+    private void loadMoreComments() {
+        PageCursor cursor = nextCommentsCursor;
+        if (cursor == null || isLoading(COMMENTS_LOAD)) {
+            return;
+        }
+        String postId = currentPostId;
+        runAsync(COMMENTS_LOAD, () -> commentService.getCommentsPage(postId, cursor, COMMENT_PAGE_SIZE), page -> {
+            comments.addAll(page.items());
+            nextCommentsCursor = page.nextCursor();
+        }, e -> showError("Failed to load more comments. Please try again."));
+    }
 
-            if (comments.isEmpty()) {
-                noCommentsLabel.setVisible(true);
-                addCommentForm.setVisible(SessionManager.getInstance().isLoggedIn());
-            } else {
-                noCommentsLabel.setVisible(false);
-                addCommentForm.setVisible(SessionManager.getInstance().isLoggedIn());
-
-                for (CommentRecord comment : comments) {
-                    VBox commentBox = new VBox(10);
-                    commentBox.setStyle("-fx-background-color: #f8f9fa; -fx-padding: 20; -fx-background-radius: 12;");
-
-                    HBox headerBox = new HBox(10); // HBox with spacing of 10
-                    headerBox.setAlignment(Pos.CENTER_LEFT); // Align items vertically in the center
-
-                    Label author = new Label(comment.authorName());
-                    author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
-
-                    Hyperlink editButton = new Hyperlink();
-                    Hyperlink deleteButton = new Hyperlink();
-
-                    //if comment belongs to logged in user
-                    if (comment.userId().equals(SessionManager.getInstance().getUserId())){
-                        editButton = new Hyperlink("Edit");
-                        editButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #3498db;"); // Adjusted font size slightly
-                        editButton.setOnAction(event -> handleEdit(comment.id())); // Add your event handler method
-                    }
-                    //if comment belongs to the logged in user or logged in user is the owner of the post
-                    if (comment.userId().equals(SessionManager.getInstance().getUserId()) || SessionManager.getInstance().getUserId().equals(this.postUserId)){
-                        deleteButton = new Hyperlink("Delete");
-                        deleteButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #e74c3c;"); // Add a delete color
-                        deleteButton.setOnAction(event -> handleDelete(comment.id())); // Add your event handler method
-                    }
-
-                    // Use Region as a spacer that grows to push buttons to the right
-                    javafx.scene.layout.Region spacer = new javafx.scene.layout.Region();
-                    javafx.scene.layout.HBox.setHgrow(spacer, javafx.scene.layout.Priority.ALWAYS);
-
-                    // Add elements to the HBox: Author, then a growing spacer, then buttons
-                    headerBox.getChildren().addAll(author, spacer, editButton, deleteButton);
-                    // --- End of new HBox structure ---
-
-                    // The rest of your existing elements
-                    Label date = new Label(comment.date().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm")));
-                    date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
-
-                    Text content = new Text(comment.content());
-                    content.setStyle("-fx-font-size: 16px; -fx-text-fill: #34495e;");
-                    content.setWrappingWidth(800);
-
-                    commentBox.setUserData(comment.id());
-
-                    // Add the new headerBox to the main VBox instead of the 'author' label alone
-                    commentBox.getChildren().addAll(headerBox, date, content);
-                    commentsContainer.getChildren().add(commentBox);
-                }
+    private void renderComments(Page<CommentRecord> page) {
+        comments.setAll(page.items());
+        nextCommentsCursor = page.nextCursor();
+        commentsList.setPlaceholder(null);
+        updateCommentsState();
+    }
+
+    private void updateCommentsState() {
+        noCommentsLabel.setVisible(comments.isEmpty());
+        addCommentForm.setVisible(SessionManager.getInstance().isLoggedIn());
+    }
+
+    /**
+     * One row of the comment list. Cells are reused as the list scrolls, so a row's nodes are rebuilt
+     * from its current item on every update; a row near the end also asks for the next page.
+     */
+    private class CommentCell extends ListCell<CommentRecord> {
+        @Override
+        protected void updateItem(CommentRecord comment, boolean empty) {
+            super.updateItem(comment, empty);
+            setText(null);
+            if (empty || comment == null) {
+                setGraphic(null);
+                return;
+            }
+            setGraphic(comment.id().equals(editingCommentId) ? editForm(comment) : commentView(comment));
+            if (getIndex() >= comments.size() - COMMENT_PREFETCH_ROWS) {
+                loadMoreComments();
             }
-        } catch (DatabaseException e) {
-            showError("Failed to load comments. Please try again.");
         }
     }
 
+    private VBox commentView(CommentRecord comment) {
+        VBox commentBox = new VBox(10);
+        commentBox.setStyle("-fx-background-color: #f8f9fa; -fx-padding: 20; -fx-background-radius: 12;");
+
+        HBox headerBox = new HBox(10); // HBox with spacing of 10
+        headerBox.setAlignment(Pos.CENTER_LEFT); // Align items vertically in the center
+
+        Label author = new Label(comment.authorName());
+        author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
+
+        Hyperlink editButton = new Hyperlink();
+        Hyperlink deleteButton = new Hyperlink();
+
+        //if comment belongs to logged in user
+        if (comment.userId().equals(SessionManager.getInstance().getUserId())){
+            editButton = new Hyperlink("Edit");
+            editButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #3498db;");
+            editButton.setOnAction(event -> handleEdit(comment.id()));
+        }
+        //if comment belongs to the logged in user or logged in user is the owner of the post
+        if (comment.userId().equals(SessionManager.getInstance().getUserId()) || SessionManager.getInstance().getUserId().equals(this.postUserId)){
+            deleteButton = new Hyperlink("Delete");
+            deleteButton.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #e74c3c;");
+            deleteButton.setOnAction(event -> handleDelete(comment.id()));
+        }
+
+        // Use Region as a spacer that grows to push buttons to the right
+        javafx.scene.layout.Region spacer = new javafx.scene.layout.Region();
+        javafx.scene.layout.HBox.setHgrow(spacer, javafx.scene.layout.Priority.ALWAYS);
+
+        // Add elements to the HBox: Author, then a growing spacer, then buttons
+        headerBox.getChildren().addAll(author, spacer, editButton, deleteButton);
+
+        Label date = new Label(comment.date().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm")));
+        date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
+
+        Text content = new Text(comment.content());
+        content.setStyle("-fx-font-size: 16px; -fx-text-fill: #34495e;");
+        content.setWrappingWidth(800);
+
+        commentBox.getChildren().addAll(headerBox, date, content);
+        return commentBox;
+    }
+
     private void handleDelete(String commentId) {
         Optional<ButtonType> result = confirmDialog("Do you want to delete this comment?");
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
                 commentService.deleteComment(commentId, SessionManager.getInstance().getUserId());
-                CacheManager.getInstance().invalidateCache();
+                comments.removeIf(comment -> comment.id().equals(commentId));
+                updateCommentsState();
                 showInfo("Comment deleted successfully");
-                loadComments(currentPostId);
             } catch (CommentNotFoundException e) {
                 showError(e.getUserMessage());
                 loadComments(currentPostId);
@@ -231,82 +349,70 @@ public class SinglePostController extends BaseController implements ParameterRec
         }
     }
 
+    /** Switches the comment's row to the edit form. */
     private void handleEdit(String commentId) {
-    // Find the comment box that contains this commentId
-    for (Node node : commentsContainer.getChildren()) {
-        if (node instanceof VBox commentBox && node.getUserData() != null 
-            && node.getUserData().equals(commentId)) {
-
-            // Clear current content
-            commentBox.getChildren().clear();
-
-            CommentRecord comment;
-            try {
-                comment = commentService.getComment(commentId);
-            } catch (CommentNotFoundException e) {
-                showError(e.getUserMessage());
-                loadComments(currentPostId);
-                return;
-            } catch (DatabaseException e) {
-                showError("Failed to load comment. Please try again.");
-                return;
-            }
-
-            // Author + Date (unchanged)
-            Label author = new Label(comment.authorName());
-            author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
+        editingCommentId = commentId;
+        commentsList.refresh();
+    }
 
-            Label date = new Label(comment.date().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm")));
-            date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
+    private VBox editForm(CommentRecord comment) {
+        // Author + Date (unchanged)
+        Label author = new Label(comment.authorName());
+        author.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #2c3e50;");
 
-            // Editable TextArea
-            TextArea editArea = new TextArea(comment.content());
-            editArea.setWrapText(true);
-            editArea.setPrefRowCount(4);
-            editArea.setStyle("-fx-font-size: 16px; -fx-background-radius: 8;");
+        Label date = new Label(comment.date().format(DateTimeFormatter.ofPattern("MMM d, yyyy 'at' HH:mm")));
+        date.setStyle("-fx-text-fill: #95a5a6; -fx-font-size: 14px;");
 
-            // Save + Cancel buttons
-            Button saveBtn = new Button("Save");
-            saveBtn.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
+        // Editable TextArea
+        TextArea editArea = new TextArea(comment.content());
+        editArea.setWrapText(true);
+        editArea.setPrefRowCount(4);
+        editArea.setStyle("-fx-font-size: 16px; -fx-background-radius: 8;");
 
-            Button cancelBtn = new Button("Cancel");
-            cancelBtn.setStyle("-fx-background-color: #95a5a6; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
+        // Save + Cancel buttons
+        Button saveBtn = new Button("Save");
+        saveBtn.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
 
-            HBox buttonBox = new HBox(10, saveBtn, cancelBtn);
-            buttonBox.setAlignment(Pos.CENTER_RIGHT);
+        Button cancelBtn = new Button("Cancel");
+        cancelBtn.setStyle("-fx-background-color: #95a5a6; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16; -fx-background-radius: 6;");
 
-            // Save action
-            saveBtn.setOnAction(e -> {
-                String newContent = editArea.getText().trim();
-                if (newContent.isEmpty()) {
-                    showError("Comment cannot be empty");
-                    return;
-                }
+        HBox buttonBox = new HBox(10, saveBtn, cancelBtn);
+        buttonBox.setAlignment(Pos.CENTER_RIGHT);
 
-                try {
-                    commentService.editComment(Comment.forEdit(commentId, SessionManager.getInstance().getUserId(), newContent));
-                    CacheManager.getInstance().invalidateCache();
-                    showInfo("Comment updated!");
-                    loadComments(currentPostId); // refresh all comments
-                } catch (CommentNotFoundException ex) {
-                    showError(ex.getUserMessage());
-                    loadComments(currentPostId);
-                } catch (DatabaseException ex) {
-                    showError("Failed to update comment. Please try again.");
-                }
-            });
+        // Save action
+        saveBtn.setOnAction(e -> {
+            String newContent = editArea.getText().trim();
+            if (newContent.isEmpty()) {
+                showError("Comment cannot be empty");
+                return;
+            }
 
-            // Cancel action — reload comments to reset
-            cancelBtn.setOnAction(e -> loadComments(currentPostId));
+            try {
+                CommentRecord edited = commentService.editComment(Comment.forEdit(comment.id(), SessionManager.getInstance().getUserId(), newContent));
+                editingCommentId = null;
+                // The edit re-stamps the comment, so it is now the newest
+                comments.removeIf(c -> c.id().equals(edited.id()));
+                comments.add(0, edited);
+                commentsList.scrollTo(0);
+                showInfo("Comment updated!");
+            } catch (CommentNotFoundException ex) {
+                showError(ex.getUserMessage());
+                loadComments(currentPostId);
+            } catch (DatabaseException ex) {
+                showError("Failed to update comment. Please try again.");
+            }
+        });
 
-            // Rebuild the comment box in edit mode
-            commentBox.getChildren().addAll(author, date, editArea, buttonBox);
-            commentBox.setStyle("-fx-background-color: #f0f8ff; -fx-padding: 20; -fx-background-radius: 12; -fx-border-color: #3498db; -fx-border-width: 2; -fx-border-radius: 12;");
+        // Cancel action — back to the read-only row
+        cancelBtn.setOnAction(e -> {
+            editingCommentId = null;
+            commentsList.refresh();
+        });
 
-            break;
-        }
+        VBox commentBox = new VBox(10, author, date, editArea, buttonBox);
+        commentBox.setStyle("-fx-background-color: #f0f8ff; -fx-padding: 20; -fx-background-radius: 12; -fx-border-color: #3498db; -fx-border-width: 2; -fx-border-radius: 12;");
+        return commentBox;
     }
-}
 
     @FXML
     private void postComment() {
@@ -317,10 +423,12 @@ public class SinglePostController extends BaseController implements ParameterRec
         }
 
         try {
-            commentService.addComment(Comment.forCreate(content, SessionManager.getInstance().getUserId(), currentPostId));
-            CacheManager.getInstance().invalidateCache();
+            CommentRecord created = commentService.addComment(Comment.forCreate(content, SessionManager.getInstance().getUserId(), currentPostId),
+                    SessionManager.getInstance().getUserName());
             commentInput.clear();
-            loadComments(currentPostId);  // refresh
+            comments.add(0, created);
+            commentsList.scrollTo(0);
+            updateCommentsState();
             showInfo("Comment added!");
         } catch (DatabaseException e) {
             showError("Failed to add comment. Please try again.");
@@ -1,43 +1,196 @@
 package com.blogging_platform.classes;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
-import com.blogging_platform.dao.interfaces.PostDAO;
+import com.blogging_platform.config.Config;
 import com.blogging_platform.dao.interfaces.implementation.JdbcPostDAO;
+import com.blogging_platform.exceptions.ConfigurationException;
 import com.blogging_platform.exceptions.DatabaseException;
 import com.blogging_platform.exceptions.DatabaseQueryException;
+import com.blogging_platform.exceptions.PostNotFoundException;
 import com.blogging_platform.service.PostService;
 import com.blogging_platform.service.TagService;
 
 /**
- * In-memory cache for published posts. Uses:
- * - Hashing: postByIdCache (ConcurrentHashMap) for O(1) lookup by id – analogous to a DB hash index.
- * - Caching: publishedPostsCache holds the full list; search/sort run on this in memory instead of querying the DB.
- * - Sorting: QuickSort for ordering results (relates to in-memory ordering like indexed DB sort).
+ * In-memory cache of published post summaries (no full content, see {@link PostSummary}). Uses:
+ * - Hashing: a post id map for O(1) lookup by id – analogous to a DB hash index.
+ * - Caching: the full published list is held in memory; search/sort run on it instead of querying the DB.
+ * - Searching: {@link PostSearchIndex}, an inverted index (term -> post ordinals) like a DB full-text index.
+ * - Sorting: {@link PostSortEngine} keeps int[] secondary indexes of post ordinals for every sort option
+ *   (like one DB index per ORDER BY). A search page walks the chosen index, keeping hits from a bitset, and
+ *   stops at the page size; date ranges are binary searches on the date index.
+ * - Faceting: {@link TagFacetIndex} keeps one bitmap per tag over the same ordinals, for AND/OR/NOT tag
+ *   filters and per-tag counts under the current query ({@link #getTagFacets}).
+ * - Paging: {@link #getPublishedPostsPage} hands out keyset pages so the UI renders a page at a time.
+ * <p>
+ * All of this lives in an immutable {@link Snapshot} published through one volatile reference. Readers
+ * take the reference once and never lock or see a half-built index. Refreshes build the next snapshot off
+ * to the side – a full load, or a copy of the current structures patched with just the changed posts – and
+ * only one runs at a time: every caller that needs a refresh joins the one in flight. The copy is
+ * copy-on-write ({@link LayeredMap}, and the {@code copy()} of each index), so an incremental refresh costs
+ * what it changes rather than the size of the corpus.
+ * <p>
+ * The cache is read-through: only the first read waits, for the initial load. Posts invalidated by service
+ * writes ({@link PostService}, {@link TagService} and comments) are reloaded individually by a
+ * background refresh, and neither writers nor readers wait for it: the screens a write returns to show the
+ * row the service returned (or read their own list from the DB), and the snapshot catches up shortly after.
+ * Once the data is older than the staleness bound (CACHE_MAX_STALENESS_MS) a background refresh compares
+ * the posts watermark and applies only the rows changed since the last sync. With a {@link CacheRefresher}
+ * running, both happen ahead of time (refresh-ahead before the bound, and a debounce after each burst of
+ * writes); {@link #getStats()} reports refresh durations and staleness.
+ * <p>
+ * Full posts (content included) are not part of the snapshot: {@link #getPostBodies()} keeps the hot ones
+ * under a byte budget (POST_BODY_CACHE_MAX_BYTES) with segmented-LRU eviction, so memory stays flat as
+ * the corpus grows.
+ * <p>
+ * When more posts are published than CACHE_MAX_POSTS the cache stops holding them: pages are then read
+ * from the DB (keyset listing, newest first) and searches go to the MySQL FULLTEXT indexes via
+ * {@link PostService#searchPosts}. The watermark is still checked, so the cache reloads if the corpus shrinks.
  */
 public class CacheManager {
-    private PostDAO postDAO = new JdbcPostDAO();
-    private PostService postService = new PostService(postDAO);
+    private final PostService postService;
 
     private static final CacheManager instance = new CacheManager();
 
-    private List<PostRecord> publishedPostsCache = new ArrayList<>();
-    /** Hash index for O(1) lookup by post id – similar to a database primary-key index. */
-    private Map<String, PostRecord> postByIdCache = new ConcurrentHashMap<>();
-    /** Post id -> tag names for in-memory search by tag (populated at refresh if tagService set). */
-    private Map<String, List<String>> postIdToTagNames = new ConcurrentHashMap<>();
+    /**
+     * One consistent version of the cache. Nothing in it is modified after it is published.
+     *
+     * @param sortEngine   every cached post, pre-sorted for each sort option; newest first is the published list
+     * @param searchIndex  inverted index over title, author and tags
+     * @param tagFacets    tag bitmaps over the sort engine's ordinals
+     * @param postsById    hash index by post id
+     * @param tagNames     post id -> tag names
+     * @param watermark    posts watermark the snapshot is in sync with (null if unknown)
+     * @param syncedAt     when the watermark was last checked (epoch millis)
+     * @param databaseOnly true while the corpus is over CACHE_MAX_POSTS and nothing is cached
+     */
+    private record Snapshot(
+            PostSortEngine sortEngine,
+            PostSearchIndex searchIndex,
+            TagFacetIndex tagFacets,
+            LayeredMap<String, PostSummary> postsById,
+            LayeredMap<String, List<String>> tagNames,
+            PostsWatermark watermark,
+            long syncedAt,
+            boolean databaseOnly) {
+
+        Snapshot withSync(PostsWatermark mark, long at) {
+            return new Snapshot(sortEngine, searchIndex, tagFacets, postsById, tagNames, mark, at, databaseOnly);
+        }
+    }
+
+    private static final Snapshot EMPTY = new Draft(null).build(null, 0, false);
+
+    /** Published snapshot; null until the first load. Read it once per operation. */
+    private volatile Snapshot snapshot;
+    /** The refresh currently running; callers that need one join it instead of starting their own. */
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    /** Tag names for pages served straight from the DB (before the first load, or while DB-only). */
+    private final Map<String, List<String>> pageTagNames = new ConcurrentHashMap<>();
+
+    private volatile TagService tagService;
+
+    /** How long cached data is served before the watermark is checked again. */
+    private final long maxStalenessMs;
+    /** Largest published corpus held in memory; above it every read goes to the DB. */
+    private final long maxCachedPosts;
+    /** Full posts for the single post view, evicted by size; summaries stay pinned in the snapshot. */
+    private final PostBodyCache postBodies;
+    /** Posts written through {@link PostService} since the last refresh; reloaded one by one. */
+    private final Set<String> dirtyPostIds = ConcurrentHashMap.newKeySet();
+    /** Posts whose tag links changed through {@link TagService}; only their tags are reloaded. */
+    private final Set<String> dirtyTagPostIds = ConcurrentHashMap.newKeySet();
+    /** Deleted posts; dropped by the next refresh without a DB round trip. */
+    private final Set<String> evictedPostIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullReloadRequested;
+    /** Set by {@link #refreshAsync(boolean)}: check the watermark on the next refresh even if not stale yet. */
+    private volatile boolean watermarkCheckRequested;
+    /** Told about every invalidation, e.g. by {@link CacheRefresher} to refresh before the next read. */
+    private volatile Runnable changeListener;
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failedRefreshes = new AtomicLong();
+    private final AtomicLong fullLoads = new AtomicLong();
+    private final AtomicLong totalRefreshNanos = new AtomicLong();
+    private final AtomicLong maxRefreshNanos = new AtomicLong();
+    private final AtomicLong lastRefreshNanos = new AtomicLong();
+
+    private CacheManager() {
+        this(new PostService(new JdbcPostDAO()), readMaxStaleness(), readMaxCachedPosts(), readMaxBodyBytes());
+    }
 
-    private TagService tagService;
+    /**
+     * Cache over the given service with explicit limits instead of the configured ones. Only the
+     * singleton is used by the application; the JMH benchmarks build their own over a synthetic DAO.
+     *
+     * @param postService    source of posts and watermarks
+     * @param maxStalenessMs how long cached data is served before the watermark is checked again
+     * @param maxCachedPosts largest published corpus held in memory
+     * @param maxBodyBytes   size bound of the post body cache
+     */
+    CacheManager(PostService postService, long maxStalenessMs, long maxCachedPosts, long maxBodyBytes) {
+        this.postService = postService;
+        this.maxStalenessMs = maxStalenessMs;
+        this.maxCachedPosts = maxCachedPosts;
+        this.postBodies = new PostBodyCache(maxBodyBytes);
+    }
 
     /** Returns the singleton cache manager instance. */
     public static CacheManager getInstance() {
         return instance;
     }
 
+    private static long readMaxStaleness() {
+        try {
+            return Config.getLong("CACHE_MAX_STALENESS_MS", 30_000);
+        } catch (ConfigurationException e) {
+            System.err.println(e.getMessage());
+            return 30_000;
+        }
+    }
+
+    private static long readMaxCachedPosts() {
+        try {
+            return Config.getLong("CACHE_MAX_POSTS", 50_000);
+        } catch (ConfigurationException e) {
+            System.err.println(e.getMessage());
+            return 50_000;
+        }
+    }
+
+    private static long readMaxBodyBytes() {
+        try {
+            return Config.getLong("POST_BODY_CACHE_MAX_BYTES", 16L * 1024 * 1024);
+        } catch (ConfigurationException e) {
+            System.err.println(e.getMessage());
+            return 16L * 1024 * 1024;
+        }
+    }
+
+    /**
+     * Returns the bounded cache of full posts read by {@link PostService#getPost(String)}. Invalidations
+     * and refreshes of this cache drop the matching bodies.
+     *
+     * @return the post body cache
+     */
+    public PostBodyCache getPostBodies() {
+        return postBodies;
+    }
+
     /**
      * Injects the tag service so the cache can build the post–tag index for search-by-tag.
      *
@@ -48,29 +201,433 @@ public class CacheManager {
     }
 
     /**
-     * Loads all published posts into cache and builds the tag index for search-by-tag.
+     * Registers a callback run after every invalidation ({@link #invalidatePost}, {@link #invalidateTags},
+     * {@link #evictPost}). It runs on the writer's thread, so it must only schedule work.
+     *
+     * @param listener the callback, or null to remove it
+     */
+    public void setChangeListener(Runnable listener) {
+        this.changeListener = listener;
+    }
+
+    private void notifyChanged() {
+        Runnable listener = changeListener;
+        if (listener != null) listener.run();
+    }
+
+    /** How long a snapshot is served before its watermark is checked again (CACHE_MAX_STALENESS_MS). */
+    public long getMaxStalenessMs() {
+        return maxStalenessMs;
+    }
+
+    /**
+     * Age of the published snapshot's last watermark check.
+     *
+     * @return milliseconds since the last sync, or -1 if nothing has been loaded yet
+     */
+    public long getStalenessMillis() {
+        Snapshot current = snapshot;
+        return current != null ? System.currentTimeMillis() - current.syncedAt() : -1;
+    }
+
+    /**
+     * True if invalidated posts are waiting for a refresh.
+     *
+     * @return whether invalidations are pending
+     */
+    public boolean hasPendingChanges() {
+        return !dirtyPostIds.isEmpty() || !dirtyTagPostIds.isEmpty() || !evictedPostIds.isEmpty();
+    }
+
+    /**
+     * Refreshes in the background without blocking: loads the cache if it is cold and applies pending
+     * invalidations. Joins a refresh that is already running.
+     *
+     * @param checkWatermark also check the posts watermark now, before the snapshot goes stale (refresh-ahead)
+     * @return completes when the refresh has published its snapshot (exceptionally if it failed)
+     */
+    public CompletableFuture<Void> refreshAsync(boolean checkWatermark) {
+        if (checkWatermark) watermarkCheckRequested = true;
+        return requestRefresh().thenAccept(published -> { });
+    }
+
+    /**
+     * Returns refresh metrics: how many refreshes ran, how long they took and how old the data is.
+     *
+     * @return current cache statistics
+     */
+    public CacheStats getStats() {
+        Snapshot current = snapshot;
+        long count = refreshes.get();
+        return new CacheStats(
+                count,
+                failedRefreshes.get(),
+                fullLoads.get(),
+                lastRefreshNanos.get() / 1_000_000.0,
+                count > 0 ? totalRefreshNanos.get() / 1_000_000.0 / count : 0,
+                maxRefreshNanos.get() / 1_000_000.0,
+                getStalenessMillis(),
+                current != null ? current.sortEngine().size() : 0,
+                current != null && current.databaseOnly());
+    }
+
+    /**
+     * Reloads all published posts, the tag index and the posts watermark, and waits for the new snapshot.
+     * Joins a refresh that is already running (and runs one more if that one was only incremental).
+     * If more posts are published than CACHE_MAX_POSTS, nothing is loaded and reads go to the DB instead.
      *
      * @throws DatabaseException if loading posts fails
      */
     public void refreshCache() throws DatabaseException {
-        publishedPostsCache.clear();
-        postByIdCache.clear();
-        postIdToTagNames.clear();
-
-        List<PostRecord> posts = postService.getPosts();
-        for (PostRecord post : posts) {
-            publishedPostsCache.add(post);
-            postByIdCache.put(post.id(), post);
-            if (tagService != null) {
-                try {
-                    List<TagRecord> tags = tagService.getTagsByPostId(post.id());
-                    List<String> names = new ArrayList<>();
-                    if (tags != null) for (TagRecord t : tags) names.add(t.tag());
-                    postIdToTagNames.put(post.id(), names);
-                } catch (DatabaseQueryException e) {
-                    postIdToTagNames.put(post.id(), List.of());
+        fullReloadRequested = true;
+        try {
+            requestRefresh().join();
+            if (fullReloadRequested) requestRefresh().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DatabaseException de) throw de;
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a refresh unless one is already running, and returns the one that will produce the next
+     * snapshot. The refresh runs on its own virtual thread so nobody's read is spent doing someone else's work.
+     */
+    private CompletableFuture<Snapshot> requestRefresh() {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) return running;
+            CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, mine)) {
+                Thread.ofVirtual().name("post-cache-refresh").start(() -> {
+                    Snapshot result = null;
+                    Throwable failure = null;
+                    long start = System.nanoTime();
+                    try {
+                        result = refresh();
+                    } catch (Throwable t) {
+                        failure = t;
+                        failedRefreshes.incrementAndGet();
+                    }
+                    recordRefresh(System.nanoTime() - start);
+                    // Clear before completing, so a woken waiter that needs another refresh gets a new one
+                    inFlight.compareAndSet(mine, null);
+                    if (failure != null) {
+                        mine.completeExceptionally(failure);
+                    } else {
+                        mine.complete(result);
+                    }
+                });
+                return mine;
+            }
+        }
+    }
+
+    private void recordRefresh(long nanos) {
+        refreshes.incrementAndGet();
+        totalRefreshNanos.addAndGet(nanos);
+        lastRefreshNanos.set(nanos);
+        maxRefreshNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /** Waits for a refresh; on failure the current snapshot keeps being served. */
+    private static void await(CompletableFuture<Snapshot> refresh) {
+        try {
+            refresh.join();
+        } catch (CompletionException e) {
+            System.err.println("Post cache refresh failed: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Waits until every invalidation made so far is in the published snapshot. For callers that need the
+     * snapshot current and can afford up to a few refreshes (tests, benchmarks); never call it on the FX
+     * thread. Returns at once while nothing is loaded yet (the first read loads everything anyway).
+     */
+    public void awaitPendingChanges() {
+        if (snapshot == null) return;
+        // A refresh in flight may already have taken them off the pending sets
+        CompletableFuture<Snapshot> running = inFlight.get();
+        if (running != null) await(running);
+        if (hasPendingChanges()) await(requestRefresh());
+        // Changes made after the joined refresh had started are picked up by one more
+        if (hasPendingChanges()) await(requestRefresh());
+    }
+
+    /**
+     * Returns the snapshot to read. Waits only when there is nothing to serve yet; with pending writes or
+     * a stale snapshot the current one is returned at once while a background refresh catches up.
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            await(requestRefresh());
+            current = snapshot;
+            return current != null ? current : EMPTY;
+        }
+        if (hasPendingChanges() || System.currentTimeMillis() - current.syncedAt() >= maxStalenessMs) {
+            requestRefresh();
+        }
+        return current;
+    }
+
+    /** Only ever runs inside {@link #requestRefresh}, so at most one at a time. */
+    private Snapshot refresh() throws DatabaseException {
+        Snapshot current = snapshot;
+        if (current == null || fullReloadRequested) {
+            return publish(load());
+        }
+        List<String> dirty = drain(dirtyPostIds);
+        List<String> dirtyTags = drain(dirtyTagPostIds);
+        List<String> evicted = drain(evictedPostIds);
+        try {
+            return publish(applyChanges(current, dirty, dirtyTags, evicted));
+        } catch (DatabaseException | RuntimeException e) {
+            // Retry these with the next refresh
+            dirtyPostIds.addAll(dirty);
+            dirtyTagPostIds.addAll(dirtyTags);
+            evictedPostIds.addAll(evicted);
+            throw e;
+        }
+    }
+
+    private static List<String> drain(Set<String> ids) {
+        List<String> drained = new ArrayList<>();
+        for (String id : List.copyOf(ids)) {
+            if (ids.remove(id)) drained.add(id);
+        }
+        return drained;
+    }
+
+    private Snapshot publish(Snapshot next) {
+        snapshot = next;
+        if (!next.databaseOnly()) pageTagNames.clear();
+        return next;
+    }
+
+    /** Builds a snapshot of every published post, or an empty DB-only one if there are too many. */
+    private Snapshot load() throws DatabaseException {
+        fullReloadRequested = false;
+        watermarkCheckRequested = false;
+        fullLoads.incrementAndGet();
+        // Anything may have changed since the last load
+        postBodies.clear();
+        // Everything invalidated so far is covered by the load
+        dirtyPostIds.clear();
+        dirtyTagPostIds.clear();
+        evictedPostIds.clear();
+        try {
+            // Read the watermark first: anything committed while we load is re-applied by the next delta
+            PostsWatermark mark = postService.getPostsWatermark();
+            if (mark.publishedCount() > maxCachedPosts) {
+                return new Draft(null).build(mark, System.currentTimeMillis(), true);
+            }
+            List<PostSummary> posts = postService.getPosts();
+            Map<String, List<String>> tagNames = loadAllTagNames();
+
+            Draft draft = new Draft(null);
+            draft.sortEngine.rebuild(posts);
+            for (PostSummary post : posts) {
+                draft.postsById.put(post.id(), post);
+                if (tagService != null) {
+                    draft.tagNames.put(post.id(), tagNames.getOrDefault(post.id(), List.of()));
                 }
+                draft.index(post);
             }
+            return draft.build(mark, System.currentTimeMillis(), false);
+        } catch (DatabaseException | RuntimeException e) {
+            if (snapshot != null) fullReloadRequested = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Next snapshot after invalidations and, once stale, the watermark delta. The draft shares the current
+     * structures and copies only the parts the changed posts touch (no re-sorting or re-tokenising).
+     */
+    private Snapshot applyChanges(Snapshot current, List<String> dirty, List<String> dirtyTags, List<String> evicted)
+            throws DatabaseException {
+        long now = System.currentTimeMillis();
+        boolean stale = watermarkCheckRequested || now - current.syncedAt() >= maxStalenessMs;
+        watermarkCheckRequested = false;
+        PostsWatermark mark = current.watermark();
+        List<PostSummary> delta = List.of();
+        boolean moved = false;
+        if (stale) {
+            PostsWatermark latest = postService.getPostsWatermark();
+            boolean overLimit = latest.publishedCount() > maxCachedPosts;
+            if (current.databaseOnly() ? !overLimit : !latest.equals(mark)) {
+                if (current.databaseOnly() || overLimit || mark == null
+                        || mark.lastUpdatedAt() == null || latest.lastUpdatedAt() == null) {
+                    return load();
+                }
+                delta = postService.getPostsChangedSince(mark.lastUpdatedAt());
+                moved = true;
+            }
+            mark = latest;
+        }
+        long syncedAt = stale ? now : current.syncedAt();
+        if (current.databaseOnly() || (!moved && dirty.isEmpty() && dirtyTags.isEmpty() && evicted.isEmpty())) {
+            return current.withSync(mark, syncedAt);
+        }
+
+        Draft draft = new Draft(current);
+        for (String id : evicted) draft.remove(id);
+        Set<String> changed = new LinkedHashSet<>();
+        for (String id : dirty) {
+            try {
+                draft.apply(postService.getPostSummary(id));
+                changed.add(id);
+            } catch (PostNotFoundException e) {
+                draft.remove(id);
+            }
+        }
+        for (PostSummary post : delta) {
+            // Changed elsewhere (another client, or a comment count repair)
+            postBodies.invalidate(post.id());
+            draft.apply(post);
+            changed.add(post.id());
+        }
+        // Tag links do not touch posts.updated_at, so these are only ever seen through invalidateTags
+        changed.addAll(dirtyTags);
+        draft.loadTags(tagService, changed);
+        Snapshot next = draft.build(mark, syncedAt, false);
+        // Deletes are not visible to the delta query; a count mismatch means rows vanished elsewhere
+        if (moved && next.sortEngine().size() != mark.publishedCount()) {
+            return load();
+        }
+        return next;
+    }
+
+    /** Tag names for all published posts in one streamed query (empty if tags are unavailable). */
+    private Map<String, List<String>> loadAllTagNames() {
+        TagService tags = tagService;
+        if (tags == null) return Map.of();
+        try {
+            return tags.getTagNamesForPublishedPosts();
+        } catch (DatabaseQueryException e) {
+            return Map.of();
+        }
+    }
+
+    /**
+     * Private working copy of a snapshot's structures. Only the refresh thread touches it, and it is
+     * never modified again once {@link #build} has published it. The copies are copy-on-write: they share
+     * the snapshot's data until the draft changes it.
+     */
+    private static final class Draft {
+        final PostSortEngine sortEngine;
+        final PostSearchIndex searchIndex;
+        final TagFacetIndex tagFacets;
+        final LayeredMap<String, PostSummary> postsById;
+        final LayeredMap<String, List<String>> tagNames;
+
+        /** Copy of {@code from}, or empty if null. */
+        Draft(Snapshot from) {
+            sortEngine = from != null ? from.sortEngine().copy() : new PostSortEngine();
+            searchIndex = from != null ? from.searchIndex().copy() : new PostSearchIndex();
+            tagFacets = from != null ? from.tagFacets().copy() : new TagFacetIndex();
+            postsById = from != null ? from.postsById().copy() : new LayeredMap<>();
+            tagNames = from != null ? from.tagNames().copy() : new LayeredMap<>();
+        }
+
+        /**
+         * Upserts a published post (moving it in every sort order) or drops a post that is no longer
+         * published. Callers reload tags for the affected ids in bulk afterwards.
+         */
+        void apply(PostSummary post) {
+            if (!"PUBLISHED".equals(post.status())) {
+                remove(post.id());
+                return;
+            }
+            PostSummary previous = postsById.put(post.id(), post);
+            sortEngine.put(post);
+            // Only title, author and tags are indexed; a new comment count leaves the indexes alone
+            if (previous == null || !Objects.equals(previous.title(), post.title())
+                    || !Objects.equals(previous.author(), post.author())) {
+                index(post);
+            }
+        }
+
+        void remove(String postId) {
+            if (postsById.remove(postId) != null) {
+                // Facets first: the sort engine hands the freed ordinal to the next new post
+                tagFacets.remove(sortEngine.ordinalOf(postId));
+                sortEngine.remove(postId);
+            }
+            tagNames.remove(postId);
+            searchIndex.remove(postId);
+        }
+
+        void index(PostSummary post) {
+            List<String> tags = tagNames.get(post.id());
+            searchIndex.put(post.id(), post.title(), post.author(), tags);
+            tagFacets.put(sortEngine.ordinalOf(post.id()), tags);
+        }
+
+        /** Reloads tag names for the given posts with one bulk query instead of one query per post. */
+        void loadTags(TagService tags, Collection<String> postIds) {
+            if (tags == null || postIds.isEmpty()) return;
+            Map<String, List<String>> loaded;
+            try {
+                loaded = tags.getTagNamesByPostIds(postIds);
+            } catch (DatabaseQueryException e) {
+                loaded = Map.of();
+            }
+            for (String id : postIds) {
+                PostSummary post = postsById.get(id);
+                List<String> names = loaded.getOrDefault(id, List.of());
+                if (post != null && !names.equals(tagNames.get(id))) {
+                    tagNames.put(id, names);
+                    index(post);
+                }
+            }
+        }
+
+        Snapshot build(PostsWatermark mark, long syncedAt, boolean databaseOnly) {
+            return new Snapshot(sortEngine, searchIndex, tagFacets, postsById, tagNames, mark, syncedAt, databaseOnly);
+        }
+    }
+
+    /**
+     * Marks a post as changed so the next refresh reloads just that post. Called by {@link PostService}
+     * after create/edit and by the comment service after its writes (comment counts).
+     *
+     * @param postId id of the post that changed
+     */
+    public void invalidatePost(String postId) {
+        if (postId != null) {
+            dirtyPostIds.add(postId);
+            postBodies.invalidate(postId);
+            notifyChanged();
+        }
+    }
+
+    /**
+     * Marks a post's tag links as changed so the next refresh reloads just its tags (search index and
+     * tag facets included). Called by {@link TagService} after linking or unlinking tags.
+     *
+     * @param postId id of the post whose tags changed
+     */
+    public void invalidateTags(String postId) {
+        if (postId != null) {
+            dirtyTagPostIds.add(postId);
+            notifyChanged();
+        }
+    }
+
+    /**
+     * Drops a deleted post: the next refresh publishes a snapshot without it, with no DB round trip.
+     *
+     * @param postId id of the deleted post
+     */
+    public void evictPost(String postId) {
+        if (postId != null) {
+            dirtyPostIds.remove(postId);
+            dirtyTagPostIds.remove(postId);
+            evictedPostIds.add(postId);
+            postBodies.invalidate(postId);
+            notifyChanged();
         }
     }
 
@@ -78,152 +635,286 @@ public class CacheManager {
      * Returns the post with the given id from the cache (O(1) hash lookup).
      *
      * @param id post id
-     * @return the post record, or null if not in cache
+     * @return the post summary, or null if not in cache
      */
-    public PostRecord getPostById(String id) {
-        return postByIdCache.get(id);
+    public PostSummary getPostById(String id) {
+        Snapshot current = snapshot;
+        return current != null ? current.postsById().get(id) : null;
     }
 
     /**
-     * Returns a copy of the cached published posts list, refreshing from the DB first.
+     * Returns the cached tag names for a post (no DB query).
      *
-     * @return list of published post records
+     * @param postId post id
+     * @return tag names, or an empty list if the post has no tags or is not cached
      */
-    public List<PostRecord> getPublishedPosts() {
-        try {
-            refreshCache();
-        } catch (DatabaseException e) {
-            return new ArrayList<>(publishedPostsCache);
-        }
-        return new ArrayList<>(publishedPostsCache);
+    public List<String> getTagNames(String postId) {
+        Snapshot current = snapshot;
+        List<String> names = current != null ? current.tagNames().get(postId) : null;
+        if (names == null) names = pageTagNames.get(postId);
+        return names != null ? names : List.of();
+    }
+
+    /**
+     * Returns a copy of the cached published posts list.
+     *
+     * @return list of published post summaries (empty while the corpus is too large to cache)
+     */
+    public List<PostSummary> getPublishedPosts() {
+        return new ArrayList<>(current().sortEngine().ordered(PostSortEngine.SortKey.DATE_DESC));
     }
 
     /**
-     * In-memory search: filters cached posts by title, author, or tag (case-insensitive contains).
-     * No DB query; uses the cache and tag index.
+     * In-memory search over title, author and tag names using the inverted index: terms match as
+     * prefixes, are ANDed, and "OR" separates alternatives. No DB query and no scan of the cache.
      *
-     * @param query search string (null or empty returns all cached posts)
-     * @return list of matching post records
+     * @param query search string (null, empty or without searchable terms returns all cached posts)
+     * @return matching post summaries, best match first
      */
-    public List<PostRecord> searchPosts(String query) {
-        if (query == null || query.trim().isEmpty())
-            return new ArrayList<>(publishedPostsCache);
-        String q = query.trim().toLowerCase();
-        List<PostRecord> result = new ArrayList<>();
-        for (PostRecord p : publishedPostsCache) {
-            if (matchesSearch(p, q)) result.add(p);
+    public List<PostSummary> searchPosts(String query) {
+        return searchPosts(current(), query);
+    }
+
+    private static List<PostSummary> searchPosts(Snapshot s, String query) {
+        if (!PostSearchIndex.hasTerms(query))
+            return new ArrayList<>(s.sortEngine().ordered(PostSortEngine.SortKey.DATE_DESC));
+        List<PostSummary> result = new ArrayList<>();
+        for (PostSearchIndex.Hit hit : s.searchIndex().search(query)) {
+            PostSummary p = s.postsById().get(hit.postId());
+            if (p != null) result.add(p);
         }
         return result;
     }
 
-    private boolean matchesSearch(PostRecord p, String q) {
-        if (p.title() != null && p.title().toLowerCase().contains(q)) return true;
-        if (p.author() != null && p.author().toLowerCase().contains(q)) return true;
-        List<String> tags = postIdToTagNames.get(p.id());
-        if (tags != null) for (String t : tags) if (t != null && t.toLowerCase().contains(q)) return true;
-        return false;
+    /**
+     * Sorts the list in place with {@link PostSortEngine} (stable, O(n log n)); cached posts reuse their
+     * precomputed sort keys. Equal titles or authors stay newest first.
+     *
+     * @param list   the list to sort (modified in place)
+     * @param sortBy one of: "relevance", "date_desc", "date_asc", "title_asc", "title_desc", "author_asc", "author_desc"
+     */
+    public void sortPosts(List<PostSummary> list, String sortBy) {
+        Snapshot current = snapshot;
+        (current != null ? current : EMPTY).sortEngine().sort(list, PostSortEngine.SortKey.of(sortBy));
     }
 
     /**
-     * Sorts the list in place using QuickSort (O(n log n) average).
+     * Filters the cached posts by query and sorts them. Use for the home page list.
      *
-     * @param list   the list to sort (modified in place)
-     * @param sortBy one of: "date_desc", "date_asc", "title_asc", "title_desc", "author_asc", "author_desc"
+     * @param query  search string (null or empty = no filter)
+     * @param sortBy one of: "relevance", "date_desc", "date_asc", "title_asc", "title_desc", "author_asc", "author_desc"
+     * @return list of matching post summaries in the requested order
      */
-    public void sortPosts(List<PostRecord> list, String sortBy) {
-        if (list == null || list.isEmpty()) return;
-        Comparator<PostRecord> cmp = comparatorFor(sortBy);
-        if (cmp != null) quickSort(list, 0, list.size() - 1, cmp);
+    public List<PostSummary> getPublishedPostsSearchAndSort(String query, String sortBy) {
+        Snapshot s = current();
+        List<PostSummary> list = searchPosts(s, query);
+        s.sortEngine().sort(list, PostSortEngine.SortKey.of(sortBy));
+        return list;
     }
 
-    private Comparator<PostRecord> comparatorFor(String sortBy) {
-        if (sortBy == null) return (a, b) -> compareDateDesc(a.publishedDate(), b.publishedDate());
-        switch (sortBy) {
-            case "date_asc":
-                return Comparator.comparing(PostRecord::publishedDate, Comparator.nullsLast(Comparator.naturalOrder()));
-            case "date_desc":
-                return Comparator.comparing(PostRecord::publishedDate, Comparator.nullsLast(Comparator.reverseOrder()));
-            case "title_asc":
-                return Comparator.comparing(p -> p.title() != null ? p.title().toLowerCase() : "", String.CASE_INSENSITIVE_ORDER);
-            case "title_desc":
-                return (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(
-                    b.title() != null ? b.title() : "",
-                    a.title() != null ? a.title() : "");
-            case "author_asc":
-                return Comparator.comparing(p -> p.author() != null ? p.author().toLowerCase() : "", String.CASE_INSENSITIVE_ORDER);
-            case "author_desc":
-                return (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(
-                    b.author() != null ? b.author() : "",
-                    a.author() != null ? a.author() : "");
-            default:
-                return Comparator.comparing(PostRecord::publishedDate, Comparator.nullsLast(Comparator.reverseOrder()));
+    /**
+     * Returns one page of the home page listing. Before the cache has loaded, the default listing
+     * (no query, newest first) is read straight from the DB with a keyset query so the first page costs
+     * the same however many posts exist; once loaded, pages are read from the pre-sorted indexes of
+     * {@link PostSortEngine}, filtered by the search hits (relevance pages are sliced from the hit list).
+     * If the corpus is too large to cache, every page comes from the DB: searches are full-text
+     * (best match first, offset cursors) and listings are newest first whatever {@code sortBy} says.
+     *
+     * @param query     search string (null or empty = no filter)
+     * @param sortBy    one of: "relevance", "date_desc", "date_asc", "title_asc", "title_desc", "author_asc", "author_desc"
+     * @param cursor    cursor from the previous page, or null for the first page (last page when reading backward)
+     * @param pageSize  maximum number of posts to return
+     * @param direction direction to read from the cursor
+     * @return the page of post summaries in the requested order
+     */
+    public Page<PostSummary> getPublishedPostsPage(String query, String sortBy, PageCursor cursor, int pageSize, PageDirection direction) {
+        return getPublishedPostsPage(query, sortBy, TagFilter.NONE, cursor, pageSize, direction);
+    }
+
+    /**
+     * Returns one page of the home page listing restricted by a tag filter (see
+     * {@link #getPublishedPostsPage(String, String, PageCursor, int, PageDirection)}). Tag filters are
+     * bitmap operations on {@link TagFacetIndex}; they are ignored while the corpus is too large to cache.
+     *
+     * @param query     search string (null or empty = no filter)
+     * @param sortBy    one of: "relevance", "date_desc", "date_asc", "title_asc", "title_desc", "author_asc", "author_desc"
+     * @param tagFilter tag restriction (null or {@link TagFilter#NONE} = none)
+     * @param cursor    cursor from the previous page, or null for the first page (last page when reading backward)
+     * @param pageSize  maximum number of posts to return
+     * @param direction direction to read from the cursor
+     * @return the page of post summaries in the requested order
+     */
+    public Page<PostSummary> getPublishedPostsPage(String query, String sortBy, TagFilter tagFilter, PageCursor cursor, int pageSize, PageDirection direction) {
+        boolean tagFiltered = tagFilter != null && !tagFilter.isEmpty();
+        if (snapshot == null && !tagFiltered && isDefaultListing(query, sortBy)) {
+            try {
+                Page<PostSummary> page = postService.getPostsPage(cursor, pageSize, direction);
+                loadPageTags(page.items());
+                // Warm the cache in the background for whatever the user does next
+                requestRefresh();
+                return page;
+            } catch (DatabaseQueryException e) {
+                // fall through to the cache path, which loads (or serves whatever it has)
+            }
+        }
+        Snapshot s = current();
+        if (s.databaseOnly()) {
+            return readFromDatabase(query, cursor, pageSize, direction);
+        }
+        PostSortEngine.SortKey key = PostSortEngine.SortKey.of(sortBy);
+        boolean hasQuery = PostSearchIndex.hasTerms(query);
+        if (!hasQuery && !tagFiltered) {
+            return s.sortEngine().page(key != null ? key : PostSortEngine.SortKey.DATE_DESC, null, cursor, pageSize, direction);
         }
+        BitSet matches = matches(s, query, tagFilter);
+        if (hasQuery && key == null) {
+            // Relevance order only exists in the search result itself
+            List<PostSummary> hits = new ArrayList<>();
+            for (PostSummary post : searchPosts(s, query)) {
+                int ordinal = s.sortEngine().ordinalOf(post.id());
+                if (ordinal >= 0 && matches.get(ordinal)) hits.add(post);
+            }
+            return slice(hits, cursor, Math.max(1, pageSize), direction);
+        }
+        // Walk the pre-sorted index, keeping matches, until the page is full: nothing is sorted
+        return s.sortEngine().page(key != null ? key : PostSortEngine.SortKey.DATE_DESC, matches, cursor, pageSize, direction);
     }
 
-    private static int compareDateDesc(java.time.LocalDateTime a, java.time.LocalDateTime b) {
-        if (a == null && b == null) return 0;
-        if (a == null) return 1;
-        if (b == null) return -1;
-        return b.compareTo(a);
+    /**
+     * Posts per tag among the posts matching the query and tag filter, for the home page tag facets.
+     * Counts are bitmap intersections; no DB query once the cache is loaded.
+     *
+     * @param query     search string (null or empty = no filter)
+     * @param tagFilter tag restriction already applied (null = none)
+     * @return tag name -> matching post count, highest first (empty while the corpus is too large to cache)
+     */
+    public Map<String, Integer> getTagFacets(String query, TagFilter tagFilter) {
+        Snapshot s = current();
+        if (s.databaseOnly()) return Map.of();
+        return s.tagFacets().counts(matches(s, query, tagFilter));
     }
 
-    /** QuickSort: partition and recurse – in-memory sort analogous to DB ORDER BY. */
-    private static void quickSort(List<PostRecord> list, int low, int high, Comparator<PostRecord> cmp) {
-        if (low < high) {
-            int pi = partition(list, low, high, cmp);
-            quickSort(list, low, pi - 1, cmp);
-            quickSort(list, pi + 1, high, cmp);
+    /** Ordinals matching the query (every post if none) and the tag filter. */
+    private static BitSet matches(Snapshot s, String query, TagFilter tagFilter) {
+        BitSet matches = null;
+        if (PostSearchIndex.hasTerms(query)) {
+            matches = new BitSet(s.sortEngine().size());
+            for (PostSearchIndex.Hit hit : s.searchIndex().search(query)) {
+                int ordinal = s.sortEngine().ordinalOf(hit.postId());
+                if (ordinal >= 0) matches.set(ordinal);
+            }
         }
+        return s.tagFacets().filter(matches, tagFilter);
+    }
+
+    /**
+     * Published posts with a publish time in the given range, newest first. Served by binary search on
+     * the cached date index; no DB query once the cache is loaded.
+     *
+     * @param from earliest publish time (inclusive), or null for no lower bound
+     * @param to   latest publish time (inclusive), or null for no upper bound
+     * @return matching post summaries, newest first (empty while the corpus is too large to cache)
+     */
+    public List<PostSummary> getPublishedPostsBetween(LocalDateTime from, LocalDateTime to) {
+        return current().sortEngine().publishedBetween(from, to);
     }
 
-    private static int partition(List<PostRecord> list, int low, int high, Comparator<PostRecord> cmp) {
-        PostRecord pivot = list.get(high);
-        int i = low - 1;
-        for (int j = low; j < high; j++) {
-            if (cmp.compare(list.get(j), pivot) <= 0) {
-                i++;
-                swap(list, i, j);
+    /** Page for a corpus too large to cache: FULLTEXT search for queries, keyset listing otherwise. */
+    private Page<PostSummary> readFromDatabase(String query, PageCursor cursor, int pageSize, PageDirection direction) {
+        try {
+            Page<PostSummary> page;
+            if (PostSearchIndex.hasTerms(query)) {
+                // Boolean mode keeps the in-memory syntax: prefix terms, ANDed, OR between alternatives
+                page = postService.searchPosts(query, SearchMode.BOOLEAN,
+                        cursor != null && cursor.isOffset() ? cursor : null, pageSize);
+            } else {
+                page = postService.getPostsPage(cursor != null && cursor.isOffset() ? null : cursor, pageSize, direction);
             }
+            if (cursor == null) {
+                // Tags are only kept for the pages currently being browsed
+                pageTagNames.clear();
+            }
+            loadPageTags(page.items());
+            return page;
+        } catch (DatabaseQueryException e) {
+            System.err.println("Post page query failed: " + e.getMessage());
+            return Page.empty();
         }
-        swap(list, i + 1, high);
-        return i + 1;
     }
 
-    private static void swap(List<PostRecord> list, int i, int j) {
-        PostRecord t = list.get(i);
-        list.set(i, list.get(j));
-        list.set(j, t);
+    private static boolean isDefaultListing(String query, String sortBy) {
+        return (query == null || query.isBlank()) && (sortBy == null || "date_desc".equals(sortBy));
     }
 
     /**
-     * Refreshes cache, then filters by query and sorts. Use for the home page list.
-     *
-     * @param query  search string (null or empty = no filter)
-     * @param sortBy one of: "date_desc", "date_asc", "title_asc", "title_desc", "author_asc", "author_desc"
-     * @return list of matching post records in the requested order
+     * Tag names for a page served straight from the DB (before the cache loaded, or while the corpus is
+     * too large to cache); dropped when a full snapshot is published.
      */
-    public List<PostRecord> getPublishedPostsSearchAndSort(String query, String sortBy) {
+    private void loadPageTags(List<PostSummary> posts) {
+        TagService tags = tagService;
+        if (tags == null || posts.isEmpty()) return;
+        List<String> ids = new ArrayList<>(posts.size());
+        for (PostSummary post : posts) ids.add(post.id());
         try {
-            refreshCache();
-        } catch (DatabaseException e) {
-            // use stale cache
+            Map<String, List<String>> tagNames = tags.getTagNamesByPostIds(ids);
+            for (String id : ids) {
+                pageTagNames.put(id, tagNames.getOrDefault(id, List.of()));
+            }
+        } catch (DatabaseQueryException e) {
+            // cards render without tags
         }
-        List<PostRecord> list = searchPosts(query);
-        sortPosts(list, sortBy);
-        return list;
     }
 
     /**
-     * Clears the cache and reloads from the DB. Call after comment/review create, update, or delete.
+     * Cuts one page (a copy) out of a relevance-ordered search result, anchored on the cursor's post id.
+     * If that post no longer matches there is no position to resume from, so the page is empty.
      */
-    public void invalidateCache() {
-        try {
-            publishedPostsCache.clear();
-            postByIdCache.clear();
-            postIdToTagNames.clear();
-            refreshCache();
-        } catch (DatabaseException e) {
-            System.err.println("Cache invalidation failed: " + e.getMessage());
+    private static Page<PostSummary> slice(List<PostSummary> list, PageCursor cursor, int pageSize, PageDirection direction) {
+        int size = list.size();
+        int before;
+        int after;
+        if (cursor == null) {
+            before = size;
+            after = 0;
+        } else {
+            int index = indexOf(list, cursor.id());
+            if (index < 0) return Page.empty();
+            before = index;
+            after = index + 1;
         }
+        int from;
+        int to;
+        if (direction == PageDirection.BACKWARD) {
+            to = before;
+            from = Math.max(0, to - pageSize);
+        } else {
+            from = after;
+            to = Math.min(size, from + pageSize);
+        }
+        if (from >= to) return Page.empty();
+        List<PostSummary> items = List.copyOf(list.subList(from, to));
+        return new Page<>(items,
+                to < size ? cursorOf(items.get(items.size() - 1)) : null,
+                from > 0 ? cursorOf(items.get(0)) : null);
+    }
+
+    private static int indexOf(List<PostSummary> list, String postId) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).id().equals(postId)) return i;
+        }
+        return -1;
+    }
+
+    private static PageCursor cursorOf(PostSummary post) {
+        return new PageCursor(post.publishedDate(), post.id());
+    }
+
+    /**
+     * Schedules a full reload in the background and returns immediately; reads keep using the current
+     * snapshot until the new one is published. Prefer {@link #invalidatePost(String)} when only one post changed.
+     */
+    public void invalidateCache() {
+        fullReloadRequested = true;
+        requestRefresh();
     }
-} 
+}
@@ -0,0 +1,161 @@
+package com.blogging_platform.classes;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.blogging_platform.config.Config;
+import com.blogging_platform.exceptions.ConfigurationException;
+
+/**
+ * Background job that keeps the {@link CacheManager} snapshot warm so UI reads never load or sync it
+ * themselves. Three triggers, all of which only start (or join) the cache's single refresh:
+ * <ul>
+ *   <li>Warm-up: the cache is loaded right after start-up.</li>
+ *   <li>Refresh-ahead: the watermark is checked CACHE_REFRESH_AHEAD_MS before the snapshot would go stale
+ *       (CACHE_MAX_STALENESS_MS), minus a random jitter of up to CACHE_REFRESH_JITTER_MS so several
+ *       clients do not hit the database in step.</li>
+ *   <li>Events: service writes invalidate posts; the first invalidation schedules a refresh
+ *       CACHE_REFRESH_DEBOUNCE_MS later and the rest of the burst is folded into it.</li>
+ * </ul>
+ * Disabled with CACHE_REFRESH_ENABLED=false, in which case reads refresh the cache as before.
+ */
+public class CacheRefresher {
+    /** Floor for any scheduled delay, so a failing database is not retried in a tight loop. */
+    static final long MIN_DELAY_MS = 1_000;
+
+    private final CacheManager cache;
+    private ScheduledExecutorService scheduler;
+    private long aheadMs;
+    private long jitterMs;
+    private long debounceMs;
+
+    /** True while a debounced refresh is scheduled; later events in the burst are coalesced into it. */
+    private final AtomicBoolean eventRefreshScheduled = new AtomicBoolean();
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong coalescedEvents = new AtomicLong();
+
+    /** Creates a refresher for the given cache. */
+    public CacheRefresher(CacheManager cache) {
+        this.cache = cache;
+    }
+
+    /** Loads the cache and starts the scheduled and event-driven refreshes on a daemon thread. */
+    public void start() {
+        if (!Config.getBoolean("CACHE_REFRESH_ENABLED", true)) {
+            return;
+        }
+        try {
+            start(Config.getLong("CACHE_REFRESH_AHEAD_MS", 5_000),
+                    Config.getLong("CACHE_REFRESH_JITTER_MS", 2_000),
+                    Config.getLong("CACHE_REFRESH_DEBOUNCE_MS", 250));
+        } catch (ConfigurationException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * {@link #start()} with explicit settings instead of the configured ones (used by the tests).
+     *
+     * @param aheadMs    how long before the snapshot goes stale the watermark is checked
+     * @param jitterMs   largest random amount taken off each refresh-ahead delay
+     * @param debounceMs delay between the first write of a burst and its refresh
+     */
+    synchronized void start(long aheadMs, long jitterMs, long debounceMs) {
+        if (scheduler != null) {
+            return;
+        }
+        this.aheadMs = aheadMs;
+        this.jitterMs = jitterMs;
+        this.debounceMs = debounceMs;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "post-cache-refresher");
+            t.setDaemon(true);
+            return t;
+        });
+        cache.setChangeListener(this::onChange);
+        scheduler.execute(this::refreshAhead);
+    }
+
+    /** Stops all refreshes; reads go back to refreshing the cache themselves. */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            cache.setChangeListener(null);
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /** Number of invalidation events received since start-up. */
+    public long getEventCount() {
+        return events.get();
+    }
+
+    /** Number of invalidation events that did not need a refresh of their own. */
+    public long getCoalescedEventCount() {
+        return coalescedEvents.get();
+    }
+
+    /** Checks the watermark now, then schedules the next check ahead of the new snapshot's expiry. */
+    void refreshAhead() {
+        cache.refreshAsync(true).whenComplete((done, failure) -> {
+            if (failure != null) {
+                System.err.println("Scheduled post cache refresh failed: " + causeOf(failure).getMessage());
+            }
+            schedule(this::refreshAhead, nextRefreshDelay());
+        });
+    }
+
+    /**
+     * Delay until the next refresh-ahead: the time left before the snapshot goes stale, less the
+     * refresh-ahead margin and a random jitter, but never below {@link #MIN_DELAY_MS}.
+     */
+    long nextRefreshDelay() {
+        long staleness = cache.getStalenessMillis();
+        long remaining = staleness < 0 ? 0 : cache.getMaxStalenessMs() - staleness - aheadMs;
+        long jitter = jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0;
+        return Math.max(MIN_DELAY_MS, remaining - jitter);
+    }
+
+    /** Runs on the writer's thread: only schedules the debounced refresh. */
+    private void onChange() {
+        events.incrementAndGet();
+        if (!scheduleChangesRefresh()) {
+            coalescedEvents.incrementAndGet();
+        }
+    }
+
+    /** Schedules the debounced refresh unless one is already scheduled; returns whether it did. */
+    private boolean scheduleChangesRefresh() {
+        if (!eventRefreshScheduled.compareAndSet(false, true)) return false;
+        schedule(this::refreshChanges, debounceMs);
+        return true;
+    }
+
+    private void refreshChanges() {
+        // Events from here on belong to the next burst, even if they land while this refresh runs
+        eventRefreshScheduled.set(false);
+        cache.refreshAsync(false).whenComplete((done, failure) -> {
+            if (failure != null) {
+                // The changes stay queued; the next read or write retries them
+                System.err.println("Post cache refresh after write failed: " + causeOf(failure).getMessage());
+            } else if (cache.hasPendingChanges()) {
+                // They arrived after the joined refresh had drained its work
+                scheduleChangesRefresh();
+            }
+        });
+    }
+
+    private static Throwable causeOf(Throwable failure) {
+        return failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private synchronized void schedule(Runnable task, long delayMs) {
+        if (scheduler != null && !scheduler.isShutdown()) {
+            scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.blogging_platform.classes;
+
+/**
+ * Immutable snapshot of {@link CacheManager} refresh metrics, as returned by {@link CacheManager#getStats()}.
+ * Durations cover building and publishing a snapshot (DB queries included); staleness is the age of the
+ * last watermark check, or -1 before the first load.
+ */
+public record CacheStats(
+    long refreshes,
+    long failures,
+    long fullLoads,
+    double lastRefreshMillis,
+    double meanRefreshMillis,
+    double maxRefreshMillis,
+    long stalenessMillis,
+    int cachedPosts,
+    boolean databaseOnly
+) {
+
+    @Override
+    public String toString() {
+        return String.format(
+            "CacheStats[refreshes=%d, failures=%d, fullLoads=%d, lastRefresh=%.2fms, meanRefresh=%.2fms, maxRefresh=%.2fms, staleness=%dms, posts=%d, dbOnly=%b]",
+            refreshes, failures, fullLoads, lastRefreshMillis, meanRefreshMillis, maxRefreshMillis,
+            stalenessMillis, cachedPosts, databaseOnly);
+    }
+}
@@ -0,0 +1,65 @@
+package com.blogging_platform.classes;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.blogging_platform.config.Config;
+import com.blogging_platform.exceptions.ConfigurationException;
+import com.blogging_platform.exceptions.DatabaseQueryException;
+import com.blogging_platform.service.PostService;
+
+/**
+ * Background job that periodically repairs drift in the denormalised {@code posts.comment_count}
+ * (e.g. comments removed by hand in the database). Runs once shortly after start-up and then every
+ * COMMENT_COUNT_RECONCILE_MS (default one hour; 0 disables it).
+ */
+public class CommentCountReconciler {
+    private final PostService postService;
+    private ScheduledExecutorService scheduler;
+
+    /** Creates a reconciler that repairs counts through the given post service. */
+    public CommentCountReconciler(PostService postService) {
+        this.postService = postService;
+    }
+
+    /** Starts the periodic job on a daemon thread. */
+    public synchronized void start() {
+        long intervalMs;
+        try {
+            intervalMs = Config.getLong("COMMENT_COUNT_RECONCILE_MS", 3_600_000);
+        } catch (ConfigurationException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        if (intervalMs <= 0 || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "comment-count-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcile, 60_000, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the periodic job. */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /** Runs one reconciliation pass; repaired posts reach the cache through their updated_at change. */
+    void reconcile() {
+        try {
+            int repaired = postService.reconcileCommentCounts();
+            if (repaired > 0) {
+                System.err.println("Repaired comment counts on " + repaired + " post(s)");
+            }
+        } catch (DatabaseQueryException e) {
+            System.err.println("Comment count reconciliation failed: " + e.getMessage());
+        }
+    }
+}
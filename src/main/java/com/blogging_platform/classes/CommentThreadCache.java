@@ -0,0 +1,308 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory cache of comment threads per post id, owned by {@code CommentService}. A thread is kept in
+ * thread order (newest first, then id descending – the order of {@code CommentDAO.getCommentsPage}) and
+ * may be a prefix: the pages read so far, growing as the reader scrolls, until the last page marks it
+ * complete. Comment writes update cached threads in place (write-through) instead of invalidating them,
+ * so posting, editing or deleting a comment never re-reads the thread.
+ * <p>
+ * At most {@code maxPosts} threads are kept, least recently read evicted first. A thread is reloaded once
+ * it is older than {@code maxAgeMs}, so comments written by other clients still show up.
+ * Threads are immutable lists that are replaced on every write, so callers may keep what they get.
+ * <p>
+ * A comment write is bracketed by {@link #beginWrite} before the database write and {@link #endWrite}
+ * after it. While a post has a write in progress, loaded threads and pages for it are not stored: a load
+ * that overlaps the commit may already hold the comment the write is about to apply.
+ * <p>
+ * Thread-safe: every method holds the instance lock.
+ */
+public class CommentThreadCache {
+    /** Thread order: newest first, ties broken by id descending (as the keyset query orders them). */
+    public static final Comparator<CommentRecord> THREAD_ORDER = Comparator
+            .comparing(CommentRecord::date, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(CommentRecord::id)
+            .reversed();
+
+    /**
+     * @param comments the newest comments of the thread, in thread order
+     * @param complete true if {@code comments} is the whole thread
+     * @param loadedAt when the first page was read (epoch millis)
+     */
+    private record Entry(List<CommentRecord> comments, boolean complete, long loadedAt) {}
+
+    private final int maxPosts;
+    private final long maxAgeMs;
+    /** Access-ordered: the first entry is the least recently read thread. */
+    private final LinkedHashMap<String, Entry> threads;
+    /** Comment id -> post id for every cached comment, so edits and deletes find their thread. */
+    private final Map<String, String> postIdByComment = new HashMap<>();
+    /** Bumped by every write; a load that started before a write must not overwrite it. */
+    private long writes;
+    /** Writes in progress per post id, between {@link #beginWrite} and {@link #endWrite}. */
+    private final Map<String, Integer> writing = new HashMap<>();
+
+    /**
+     * Creates a cache of at most {@code maxPosts} threads, each served for at most {@code maxAgeMs}.
+     *
+     * @param maxPosts maximum number of cached threads (0 or less disables caching)
+     * @param maxAgeMs how long a loaded thread is served before it is read again
+     */
+    public CommentThreadCache(int maxPosts, long maxAgeMs) {
+        this.maxPosts = maxPosts;
+        this.maxAgeMs = maxAgeMs;
+        this.threads = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= Math.max(0, CommentThreadCache.this.maxPosts)) return false;
+                unindex(eldest.getValue().comments());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Keyset cursor for a comment: its timestamp and id.
+     *
+     * @param comment the comment a page ends at
+     * @return the cursor
+     */
+    public static PageCursor cursorOf(CommentRecord comment) {
+        return new PageCursor(comment.date(), comment.id());
+    }
+
+    /**
+     * Returns a post's whole cached thread.
+     *
+     * @param postId post id
+     * @return the comments in thread order, or null if the thread is not cached, only partly read, or too old
+     */
+    public synchronized List<CommentRecord> get(String postId) {
+        Entry entry = fresh(postId);
+        return entry != null && entry.complete() ? entry.comments() : null;
+    }
+
+    /**
+     * Serves the page after {@code cursor} from the cached thread if the cache holds all of it.
+     *
+     * @param postId   post id
+     * @param cursor   cursor from the previous page, or null for the first page
+     * @param pageSize maximum number of comments to return
+     * @return the page, or null if it has to be read from the database
+     */
+    public synchronized Page<CommentRecord> page(String postId, PageCursor cursor, int pageSize) {
+        Entry entry = fresh(postId);
+        if (entry == null) return null;
+        List<CommentRecord> comments = entry.comments();
+        int from = cursor == null ? 0 : positionAfter(comments, cursor);
+        int to = from + Math.max(1, pageSize);
+        if (to >= comments.size() && !entry.complete()) {
+            // Only a read past the end of the prefix can tell whether more comments exist
+            return null;
+        }
+        to = Math.min(to, comments.size());
+        List<CommentRecord> items = comments.subList(Math.min(from, to), to);
+        PageCursor next = to < comments.size() && !items.isEmpty() ? cursorOf(items.get(items.size() - 1)) : null;
+        return new Page<>(items, next, null);
+    }
+
+    /**
+     * Write stamp to take before reading from the database; pass it to {@link #put} or {@link #putPage}.
+     *
+     * @return the current write count
+     */
+    public synchronized long stamp() {
+        return writes;
+    }
+
+    /**
+     * Stores a whole thread loaded from the database, unless a comment was written since {@code stamp}
+     * was taken or a write for the post is in progress (the load may or may not include it; the next
+     * read loads again).
+     *
+     * @param postId   post id
+     * @param comments the post's comments in thread order
+     * @param stamp    value of {@link #stamp()} taken before the load
+     */
+    public synchronized void put(String postId, List<CommentRecord> comments, long stamp) {
+        if (stamp != writes || maxPosts <= 0 || writing.containsKey(postId)) return;
+        replace(postId, new Entry(List.copyOf(comments), true, System.currentTimeMillis()));
+    }
+
+    /**
+     * Stores a page read from the database: a first page starts the cached thread, a later page extends
+     * it if it continues exactly where the cached prefix ends. Ignored if a comment was written since
+     * {@code stamp} was taken or a write for the post is in progress.
+     *
+     * @param postId post id
+     * @param cursor the cursor the page was read from (null for the first page)
+     * @param page   the page
+     * @param stamp  value of {@link #stamp()} taken before the read
+     */
+    public synchronized void putPage(String postId, PageCursor cursor, Page<CommentRecord> page, long stamp) {
+        if (stamp != writes || maxPosts <= 0 || writing.containsKey(postId)) return;
+        if (cursor == null) {
+            replace(postId, new Entry(page.items(), !page.hasNext(), System.currentTimeMillis()));
+            return;
+        }
+        Entry entry = threads.get(postId);
+        if (entry == null || entry.complete() || entry.comments().isEmpty()) return;
+        CommentRecord last = entry.comments().get(entry.comments().size() - 1);
+        if (!last.id().equals(cursor.id())) return;
+        List<CommentRecord> comments = new ArrayList<>(entry.comments());
+        comments.addAll(page.items());
+        for (CommentRecord comment : page.items()) postIdByComment.put(comment.id(), postId);
+        threads.put(postId, new Entry(List.copyOf(comments), !page.hasNext(), entry.loadedAt()));
+    }
+
+    /**
+     * Marks the start of a comment write on a post's thread; call before the database write, and call
+     * {@link #endWrite} once it has committed or failed.
+     *
+     * @param postId post id
+     */
+    public synchronized void beginWrite(String postId) {
+        writes++;
+        writing.merge(postId, 1, Integer::sum);
+    }
+
+    /**
+     * Marks the end of a write started with {@link #beginWrite}. Loads that started before this call
+     * are still dropped, since they may have read the database before the commit.
+     *
+     * @param postId post id
+     */
+    public synchronized void endWrite(String postId) {
+        writes++;
+        writing.computeIfPresent(postId, (id, n) -> n > 1 ? n - 1 : null);
+    }
+
+    /**
+     * Returns a cached comment by id.
+     *
+     * @param commentId comment id
+     * @return the comment, or null if it is not in a cached thread
+     */
+    public synchronized CommentRecord find(String commentId) {
+        String postId = postIdByComment.get(commentId);
+        Entry entry = postId != null ? threads.get(postId) : null;
+        if (entry == null) return null;
+        for (CommentRecord comment : entry.comments()) {
+            if (comment.id().equals(commentId)) return comment;
+        }
+        return null;
+    }
+
+    /**
+     * Applies a newly created comment to its post's thread, if cached.
+     *
+     * @param comment the new comment
+     */
+    public synchronized void recordCreated(CommentRecord comment) {
+        writes++;
+        Entry entry = threads.get(comment.postId());
+        if (entry != null) insert(comment.postId(), entry, entry.comments(), comment);
+    }
+
+    /**
+     * Applies an edit. Editing stamps the comment with the edit time, so it moves to the front of the
+     * thread – even if it was older than the cached prefix.
+     *
+     * @param edited the comment as stored after the edit
+     */
+    public synchronized void recordEdited(CommentRecord edited) {
+        writes++;
+        Entry entry = threads.get(edited.postId());
+        if (entry == null) return;
+        List<CommentRecord> others = new ArrayList<>(entry.comments());
+        others.removeIf(comment -> comment.id().equals(edited.id()));
+        insert(edited.postId(), entry, others, edited);
+    }
+
+    /**
+     * Applies a deleted comment.
+     *
+     * @param commentId comment id
+     * @return the deleted comment's post id, or null if it was not cached
+     */
+    public synchronized String recordDeleted(String commentId) {
+        writes++;
+        String postId = postIdByComment.remove(commentId);
+        Entry entry = postId != null ? threads.get(postId) : null;
+        if (entry == null) return postId;
+        List<CommentRecord> comments = new ArrayList<>(entry.comments());
+        comments.removeIf(comment -> comment.id().equals(commentId));
+        threads.put(postId, new Entry(List.copyOf(comments), entry.complete(), entry.loadedAt()));
+        return postId;
+    }
+
+    /**
+     * Drops a post's thread so it is reloaded on next read.
+     *
+     * @param postId post id
+     */
+    public synchronized void invalidate(String postId) {
+        writes++;
+        Entry entry = postId != null ? threads.remove(postId) : null;
+        if (entry != null) unindex(entry.comments());
+    }
+
+    private Entry fresh(String postId) {
+        Entry entry = threads.get(postId);
+        if (entry == null) return null;
+        if (System.currentTimeMillis() - entry.loadedAt() >= maxAgeMs) {
+            threads.remove(postId);
+            unindex(entry.comments());
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Puts {@code comment} into {@code comments} at its place in thread order, unless that is past a partial
+     * prefix. A comment already there (same time and id) is replaced rather than added twice.
+     */
+    private void insert(String postId, Entry entry, List<CommentRecord> comments, CommentRecord comment) {
+        int found = Collections.binarySearch(comments, comment, THREAD_ORDER);
+        int position = found >= 0 ? found : -found - 1;
+        List<CommentRecord> updated = new ArrayList<>(comments);
+        if (found >= 0) {
+            updated.set(found, comment);
+            postIdByComment.put(comment.id(), postId);
+        } else if (position < comments.size() || entry.complete()) {
+            updated.add(position, comment);
+            postIdByComment.put(comment.id(), postId);
+        } else {
+            // Older than everything read so far: it will arrive with a later page
+            postIdByComment.remove(comment.id());
+        }
+        threads.put(postId, new Entry(List.copyOf(updated), entry.complete(), entry.loadedAt()));
+    }
+
+    private void replace(String postId, Entry entry) {
+        Entry previous = threads.remove(postId);
+        if (previous != null) unindex(previous.comments());
+        for (CommentRecord comment : entry.comments()) postIdByComment.put(comment.id(), postId);
+        threads.put(postId, entry);
+    }
+
+    /** Index of the first comment after the cursor in thread order (the cursor's comment may be gone). */
+    private static int positionAfter(List<CommentRecord> comments, PageCursor cursor) {
+        CommentRecord probe = new CommentRecord(cursor.id(), null, null, null, null, cursor.timestamp());
+        int found = Collections.binarySearch(comments, probe, THREAD_ORDER);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    private void unindex(List<CommentRecord> comments) {
+        for (CommentRecord comment : comments) postIdByComment.remove(comment.id());
+    }
+}
@@ -0,0 +1,158 @@
+package com.blogging_platform.classes;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Hash map for the cache snapshots that copies in O(√n) instead of O(n). After {@link #copy()} both maps
+ * share a frozen base that is never modified again, and each keeps its own changes in a small overlay;
+ * the copy duplicates only the overlay. Once an overlay grows past about √n entries it is folded into a
+ * new base owned by that map, so each write costs amortised O(√n). A map that owns its base (a new map,
+ * or one that has just compacted) writes to it directly, so bulk loads stay O(n).
+ * <p>
+ * Not thread-safe for writes: like the indexes built on it, a map is only read once it is published
+ * and changes go to a {@link #copy()}.
+ *
+ * @param <K> key type
+ * @param <V> value type (not null)
+ */
+final class LayeredMap<K, V> {
+    private static final int MIN_OVERLAY = 64;
+    /** Overlay value of a key removed from the base. */
+    private static final Object REMOVED = new Object();
+
+    private Map<K, V> base;
+    /** Changes on top of a shared base; always empty while the base is owned. */
+    private final Map<K, Object> overlay;
+    private int size;
+    /** True once another map may read {@link #base}; writes then go to the overlay. */
+    private boolean sharedBase;
+
+    LayeredMap() {
+        this(new HashMap<>(), new HashMap<>(), 0, false);
+    }
+
+    private LayeredMap(Map<K, V> base, Map<K, Object> overlay, int size, boolean sharedBase) {
+        this.base = base;
+        this.overlay = overlay;
+        this.size = size;
+        this.sharedBase = sharedBase;
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key the key
+     * @return the value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        Object value = overlay.get(key);
+        if (value == null) return base.get(key);
+        return value == REMOVED ? null : (V) value;
+    }
+
+    /**
+     * Returns the value for a key, or a default.
+     *
+     * @param key          the key
+     * @param defaultValue value returned when the key is absent
+     * @return the value or the default
+     */
+    V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key   the key
+     * @param value the value (not null)
+     * @return the previous value, or null
+     */
+    V put(K key, V value) {
+        if (!sharedBase) {
+            V previous = base.put(key, value);
+            if (previous == null) size++;
+            return previous;
+        }
+        V previous = get(key);
+        if (previous == null) size++;
+        overlay.put(key, value);
+        compactIfLarge();
+        return previous;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the removed value, or null if it was absent
+     */
+    V remove(K key) {
+        if (!sharedBase) {
+            V previous = base.remove(key);
+            if (previous != null) size--;
+            return previous;
+        }
+        V previous = get(key);
+        if (previous == null) return null;
+        size--;
+        if (base.containsKey(key)) {
+            overlay.put(key, REMOVED);
+        } else {
+            overlay.remove(key);
+        }
+        compactIfLarge();
+        return previous;
+    }
+
+    /** Number of keys. */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Calls {@code action} for every entry, in no particular order.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<K, V> action) {
+        for (Map.Entry<K, V> e : base.entrySet()) {
+            if (!overlay.containsKey(e.getKey())) action.accept(e.getKey(), e.getValue());
+        }
+        for (Map.Entry<K, Object> e : overlay.entrySet()) {
+            if (e.getValue() != REMOVED) action.accept(e.getKey(), (V) e.getValue());
+        }
+    }
+
+    /**
+     * Returns an independent copy that shares this map's base.
+     *
+     * @return the copy
+     */
+    LayeredMap<K, V> copy() {
+        sharedBase = true;
+        return new LayeredMap<>(base, new HashMap<>(overlay), size, true);
+    }
+
+    /** Folds the overlay into a new, owned base once it is no longer small next to the shared one. */
+    @SuppressWarnings("unchecked")
+    private void compactIfLarge() {
+        if (overlay.size() <= Math.max(MIN_OVERLAY, (int) Math.sqrt(base.size()))) return;
+        Map<K, V> merged = new HashMap<>(base);
+        for (Map.Entry<K, Object> e : overlay.entrySet()) {
+            if (e.getValue() == REMOVED) {
+                merged.remove(e.getKey());
+            } else {
+                merged.put(e.getKey(), (V) e.getValue());
+            }
+        }
+        base = merged;
+        overlay.clear();
+        sharedBase = false;
+    }
+}
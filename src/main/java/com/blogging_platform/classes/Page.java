@@ -0,0 +1,35 @@
+package com.blogging_platform.classes;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Items are always in list order regardless of the direction
+ * they were read in; a null cursor means there is nothing further in that direction.
+ *
+ * @param <T> item type
+ */
+public record Page<T>(
+    List<T> items,
+    PageCursor nextCursor,
+    PageCursor previousCursor
+) {
+
+    public Page {
+        items = items != null ? List.copyOf(items) : List.of();
+    }
+
+    /** Returns a page with no items and no cursors. */
+    public static <T> Page<T> empty() {
+        return new Page<>(List.of(), null, null);
+    }
+
+    /** True if reading {@link PageDirection#FORWARD} from {@link #nextCursor()} returns more items. */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /** True if reading {@link PageDirection#BACKWARD} from {@link #previousCursor()} returns more items. */
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
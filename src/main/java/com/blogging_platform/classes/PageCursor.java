@@ -0,0 +1,37 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset (seek) cursor: the sort timestamp and id of the row a page starts or ends at.
+ * The next page is read with {@code WHERE (ts, id) < (cursor.ts, cursor.id)} instead of an OFFSET,
+ * so the cost of a page does not grow with how far the reader has scrolled.
+ * <p>
+ * Relevance-ranked full-text results have no stable seek key, so their pages carry the row
+ * {@code offset} instead (see {@link #atOffset(int)}); keyset cursors leave it at -1.
+ */
+public record PageCursor(
+    LocalDateTime timestamp,
+    String id,
+    int offset
+) {
+    /** Keyset cursor on (timestamp, id). */
+    public PageCursor(LocalDateTime timestamp, String id) {
+        this(timestamp, id, -1);
+    }
+
+    /**
+     * Cursor for offset-paged results such as full-text search.
+     *
+     * @param offset number of rows before the page this cursor points at
+     * @return the cursor
+     */
+    public static PageCursor atOffset(int offset) {
+        return new PageCursor(null, null, Math.max(0, offset));
+    }
+
+    /** True if this cursor is a row offset rather than a keyset position. */
+    public boolean isOffset() {
+        return offset >= 0;
+    }
+}
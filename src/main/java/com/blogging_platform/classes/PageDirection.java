@@ -0,0 +1,10 @@
+package com.blogging_platform.classes;
+
+/**
+ * Which way to read from a {@link PageCursor}: {@code FORWARD} continues past the cursor in list
+ * order (older posts on the home page), {@code BACKWARD} returns the rows just before it.
+ */
+public enum PageDirection {
+    FORWARD,
+    BACKWARD
+}
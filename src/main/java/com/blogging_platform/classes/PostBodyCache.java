@@ -0,0 +1,181 @@
+package com.blogging_platform.classes;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded cache of full posts ({@link PostRecord}, content included) for the single post view,
+ * owned by {@link CacheManager}. Summaries are not kept here: they stay pinned in the cache snapshot, so
+ * listing and search never miss; only bodies, which dominate memory, are evicted.
+ * <p>
+ * Entries are weighed by their estimated heap size (mostly content length) against a byte budget, and
+ * evicted with a segmented LRU: a post enters the probation segment and moves to the protected segment
+ * (80% of the budget) on its second hit. A scan over many posts opened once only churns probation, so
+ * the posts people keep coming back to stay cached. Protected overflow falls back to probation; probation
+ * overflow is evicted.
+ * <p>
+ * Loads are stamped like {@link CommentThreadCache}: take {@link #stamp()} before reading from the
+ * database and pass it to {@link #put}, so a body read before an edit is not cached after it.
+ * <p>
+ * Thread-safe: every method holds the instance lock (each is a few map operations).
+ */
+public class PostBodyCache {
+    /** Share of the budget for posts that have been hit at least twice. */
+    private static final double PROTECTED_SHARE = 0.8;
+    /** Rough fixed cost per entry: record, strings, timestamps and map node. */
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private final long maxWeight;
+    private final long maxProtectedWeight;
+
+    /** Access-ordered: the first entry is the least recently used. */
+    private final LinkedHashMap<String, PostRecord> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, PostRecord> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private long probationWeight;
+    private long protectedWeight;
+    /** Bumped by every invalidation; a load that started before one must not be cached. */
+    private long writes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache holding at most {@code maxWeightBytes} of estimated post data.
+     *
+     * @param maxWeightBytes byte budget (0 or less disables caching)
+     */
+    public PostBodyCache(long maxWeightBytes) {
+        this.maxWeight = Math.max(0, maxWeightBytes);
+        this.maxProtectedWeight = (long) (maxWeight * PROTECTED_SHARE);
+    }
+
+    /**
+     * Estimated heap size of a post: two bytes per character of its text fields plus a fixed overhead.
+     *
+     * @param post the post
+     * @return the estimated weight in bytes
+     */
+    public static long weigh(PostRecord post) {
+        return ENTRY_OVERHEAD_BYTES + 2L * (length(post.content()) + length(post.title()) + length(post.author())
+                + length(post.id()) + length(post.status()) + length(post.userId()));
+    }
+
+    private static int length(String s) {
+        return s != null ? s.length() : 0;
+    }
+
+    /**
+     * Returns the cached post and records a hit (promoting it on its second hit), or records a miss.
+     *
+     * @param postId post id
+     * @return the post, or null if not cached
+     */
+    public synchronized PostRecord get(String postId) {
+        PostRecord post = protectedSegment.get(postId);
+        if (post != null) {
+            hits++;
+            return post;
+        }
+        post = probation.remove(postId);
+        if (post == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        long weight = weigh(post);
+        probationWeight -= weight;
+        protectedSegment.put(postId, post);
+        protectedWeight += weight;
+        // Demote the least recently used protected posts back to probation
+        Iterator<Map.Entry<String, PostRecord>> it = protectedSegment.entrySet().iterator();
+        while (protectedWeight > maxProtectedWeight && it.hasNext()) {
+            Map.Entry<String, PostRecord> eldest = it.next();
+            if (eldest.getKey().equals(postId)) break;
+            it.remove();
+            long w = weigh(eldest.getValue());
+            protectedWeight -= w;
+            probation.put(eldest.getKey(), eldest.getValue());
+            probationWeight += w;
+        }
+        evictOverflow();
+        return post;
+    }
+
+    /**
+     * Write stamp to take before reading from the database; pass it to {@link #put}.
+     *
+     * @return the current invalidation count
+     */
+    public synchronized long stamp() {
+        return writes;
+    }
+
+    /**
+     * Stores a post loaded from the database in the probation segment, unless a post was invalidated
+     * since {@code stamp} was taken (the load may predate that write; the next read loads again). Posts
+     * larger than the whole budget are not cached.
+     *
+     * @param post  the post (keyed by its id)
+     * @param stamp value of {@link #stamp()} taken before the load
+     */
+    public synchronized void put(PostRecord post, long stamp) {
+        if (stamp != writes) return;
+        long weight = weigh(post);
+        remove(post.id());
+        if (weight > maxWeight) return;
+        probation.put(post.id(), post);
+        probationWeight += weight;
+        evictOverflow();
+    }
+
+    /**
+     * Drops a post so it is reloaded on next read.
+     *
+     * @param postId post id
+     */
+    public synchronized void invalidate(String postId) {
+        writes++;
+        if (postId != null) remove(postId);
+    }
+
+    /** Drops every post. */
+    public synchronized void clear() {
+        writes++;
+        probation.clear();
+        protectedSegment.clear();
+        probationWeight = 0;
+        protectedWeight = 0;
+    }
+
+    /**
+     * Returns hit, miss and eviction counters and the current weight.
+     *
+     * @return current statistics
+     */
+    public synchronized PostBodyCacheStats getStats() {
+        return new PostBodyCacheStats(hits, misses, evictions, probation.size() + protectedSegment.size(),
+                probationWeight + protectedWeight, maxWeight);
+    }
+
+    private void remove(String postId) {
+        PostRecord removed = probation.remove(postId);
+        if (removed != null) {
+            probationWeight -= weigh(removed);
+            return;
+        }
+        removed = protectedSegment.remove(postId);
+        if (removed != null) protectedWeight -= weigh(removed);
+    }
+
+    /** Evicts least recently used probation posts until the whole cache fits the budget. */
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, PostRecord>> it = probation.entrySet().iterator();
+        while (probationWeight + protectedWeight > maxWeight && it.hasNext()) {
+            probationWeight -= weigh(it.next().getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+}
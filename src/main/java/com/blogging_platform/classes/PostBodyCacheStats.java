@@ -0,0 +1,28 @@
+package com.blogging_platform.classes;
+
+/**
+ * Immutable snapshot of {@link PostBodyCache} counters, as returned by {@link PostBodyCache#getStats()}.
+ * Weights are estimated heap bytes (see {@link PostBodyCache#weigh}).
+ */
+public record PostBodyCacheStats(
+    long hits,
+    long misses,
+    long evictions,
+    int entries,
+    long weightBytes,
+    long maxWeightBytes
+) {
+
+    /** Share of reads served from the cache, or 0 before the first read. */
+    public double hitRate() {
+        long reads = hits + misses;
+        return reads > 0 ? (double) hits / reads : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "PostBodyCacheStats[hits=%d, misses=%d, hitRate=%.2f, evictions=%d, entries=%d, weight=%d/%d bytes]",
+            hits, misses, hitRate(), evictions, entries, weightBytes, maxWeightBytes);
+    }
+}
@@ -53,11 +53,6 @@ public record PostRecord(
         // If null is passed, default it to 0
         if (commentCount == null) {
             commentCount = 0;
-        } else if (userId == null){
-            userId = "";
-        } else {
-            commentCount = 0;
-            userId = null;
         }
     }
 }
@@ -0,0 +1,398 @@
+package com.blogging_platform.classes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over post title, author and tag names – the in-memory counterpart of a
+ * DB full-text index. Each post gets a dense int ordinal; every term maps to a posting list of
+ * ordinals (sorted int[]) with a per-posting bit mask of the fields the term occurred in.
+ * <p>
+ * Queries are tokenised like the indexed text. Every query term matches as a prefix (as-you-type
+ * search), terms are ANDed, and the keyword {@code OR} separates alternatives:
+ * {@code "java spring OR kotlin"} means (java AND spring) OR kotlin. Hits are scored by field boost
+ * (title 3, tag 2, author 1.5), with exact term matches counting double a prefix match.
+ * Query cost depends on the posting lists touched, not on the number of posts.
+ * <p>
+ * Not thread-safe for writes: {@link CacheManager} only reads indexes it has published and changes a
+ * {@link #copy()} instead. A copy shares everything with its source and copies on write: the term
+ * dictionary and the per-ordinal tables once, and only the posting lists of the terms it changes.
+ */
+public class PostSearchIndex {
+
+    public static final int FIELD_TITLE = 1;
+    public static final int FIELD_AUTHOR = 2;
+    public static final int FIELD_TAG = 4;
+
+    private static final double TITLE_BOOST = 3.0;
+    private static final double TAG_BOOST = 2.0;
+    private static final double AUTHOR_BOOST = 1.5;
+    private static final double PREFIX_FACTOR = 0.5;
+
+    /** A matching post and its relevance score. */
+    public record Hit(String postId, double score) {}
+
+    /** Sorted term dictionary: prefix lookups are a range scan. */
+    private NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    private LayeredMap<String, Integer> ordinalById = new LayeredMap<>();
+    /** Ordinal -> post id; null for removed posts (ordinals are not reused). */
+    private List<String> idByOrdinal = new ArrayList<>();
+    /** Ordinal -> terms it was indexed under, so updates and removals touch only those posting lists. */
+    private List<String[]> termsByOrdinal = new ArrayList<>();
+    /** True while {@link #dictionary} may be read by another index (copy on write). */
+    private boolean sharedDictionary;
+    /** True while the ordinal lists may be read by another index (copy on write). */
+    private boolean sharedOrdinals;
+
+    /**
+     * Indexes a post, replacing whatever was indexed for it before.
+     *
+     * @param postId post id
+     * @param title  post title (may be null)
+     * @param author author name (may be null)
+     * @param tags   tag names (may be null)
+     */
+    public void put(String postId, String title, String author, Collection<String> tags) {
+        ownOrdinals();
+        Integer existing = ordinalById.get(postId);
+        int ordinal;
+        if (existing != null) {
+            ordinal = existing;
+            unindex(ordinal);
+        } else {
+            ordinal = idByOrdinal.size();
+            ordinalById.put(postId, ordinal);
+            idByOrdinal.add(postId);
+            termsByOrdinal.add(null);
+        }
+
+        Map<String, Integer> fieldsByTerm = new HashMap<>();
+        addTerms(fieldsByTerm, title, FIELD_TITLE);
+        addTerms(fieldsByTerm, author, FIELD_AUTHOR);
+        if (tags != null) {
+            for (String tag : tags) addTerms(fieldsByTerm, tag, FIELD_TAG);
+        }
+        for (Map.Entry<String, Integer> e : fieldsByTerm.entrySet()) {
+            writablePostings(e.getKey()).add(ordinal, e.getValue());
+        }
+        termsByOrdinal.set(ordinal, fieldsByTerm.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * Removes a post from the index. Unknown ids are ignored.
+     *
+     * @param postId post id
+     */
+    public void remove(String postId) {
+        if (ordinalById.get(postId) == null) return;
+        ownOrdinals();
+        int ordinal = ordinalById.remove(postId);
+        unindex(ordinal);
+        idByOrdinal.set(ordinal, null);
+        termsByOrdinal.set(ordinal, null);
+    }
+
+    /**
+     * Returns an independent copy that shares all structures with this index until either side changes
+     * them (see the class comment).
+     *
+     * @return the copy
+     */
+    public PostSearchIndex copy() {
+        PostSearchIndex copy = new PostSearchIndex();
+        copy.dictionary = dictionary;
+        copy.ordinalById = ordinalById.copy();
+        copy.idByOrdinal = idByOrdinal;
+        copy.termsByOrdinal = termsByOrdinal;
+        copy.sharedDictionary = copy.sharedOrdinals = true;
+        sharedDictionary = sharedOrdinals = true;
+        return copy;
+    }
+
+    /** Drops every post and term. */
+    public void clear() {
+        dictionary = new TreeMap<>();
+        ordinalById = new LayeredMap<>();
+        idByOrdinal = new ArrayList<>();
+        termsByOrdinal = new ArrayList<>();
+        sharedDictionary = sharedOrdinals = false;
+    }
+
+    private void ownOrdinals() {
+        if (!sharedOrdinals) return;
+        idByOrdinal = new ArrayList<>(idByOrdinal);
+        termsByOrdinal = new ArrayList<>(termsByOrdinal);
+        sharedOrdinals = false;
+    }
+
+    /** The dictionary, copied first if it is shared (a pointer copy of the tree; postings stay shared). */
+    private NavigableMap<String, Postings> writableDictionary() {
+        if (sharedDictionary) {
+            dictionary = new TreeMap<>(dictionary);
+            sharedDictionary = false;
+        }
+        return dictionary;
+    }
+
+    /** A term's postings that this index may change: created, or copied if another index owns them. */
+    private Postings writablePostings(String term) {
+        Postings postings = dictionary.get(term);
+        if (postings == null || postings.owner != this) {
+            postings = postings == null ? new Postings(this) : postings.copy(this);
+            writableDictionary().put(term, postings);
+        }
+        return postings;
+    }
+
+    /** Number of posts currently indexed. */
+    public int size() {
+        return ordinalById.size();
+    }
+
+    /**
+     * Returns true if the query contains at least one searchable term.
+     *
+     * @param query raw query text
+     * @return false for null, blank or punctuation-only queries
+     */
+    public static boolean hasTerms(String query) {
+        return !tokenize(query).isEmpty();
+    }
+
+    /**
+     * Runs a query and returns matching posts, best score first (ties in index order).
+     *
+     * @param query raw query text; see the class comment for syntax
+     * @return hits, or an empty list if nothing matches or the query has no terms
+     */
+    public List<Hit> search(String query) {
+        List<List<String>> alternatives = parse(query);
+        Result combined = null;
+        for (List<String> terms : alternatives) {
+            Result clause = null;
+            for (String term : terms) {
+                Result matches = matchPrefix(term);
+                clause = clause == null ? matches : clause.intersect(matches);
+                if (clause.size == 0) break;
+            }
+            if (clause == null) continue;
+            combined = combined == null ? clause : combined.union(clause);
+        }
+        if (combined == null || combined.size == 0) return List.of();
+
+        Integer[] order = new Integer[combined.size];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Result result = combined;
+        Arrays.sort(order, (a, b) -> Double.compare(result.scores[b], result.scores[a]));
+        List<Hit> hits = new ArrayList<>(order.length);
+        for (int i : order) {
+            hits.add(new Hit(idByOrdinal.get(result.ordinals[i]), result.scores[i]));
+        }
+        return hits;
+    }
+
+    /**
+     * Union of the posting lists of every dictionary term starting with the given prefix; a post matching
+     * several of them keeps its best score. Several lists are folded into one score slot per ordinal and
+     * read back in ordinal order once, so a short prefix that matches thousands of terms costs one pass
+     * over their postings instead of a merge per term.
+     */
+    private Result matchPrefix(String prefix) {
+        Map<String, Postings> terms = dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (terms.isEmpty()) return Result.EMPTY;
+        if (terms.size() == 1) {
+            Map.Entry<String, Postings> only = terms.entrySet().iterator().next();
+            return only.getValue().toResult(only.getKey().length() == prefix.length() ? 1.0 : PREFIX_FACTOR);
+        }
+        double[] best = new double[idByOrdinal.size()];
+        BitSet matched = new BitSet(best.length);
+        for (Map.Entry<String, Postings> e : terms.entrySet()) {
+            double factor = e.getKey().length() == prefix.length() ? 1.0 : PREFIX_FACTOR;
+            Postings postings = e.getValue();
+            for (int i = 0; i < postings.size; i++) {
+                int ordinal = postings.ordinals[i];
+                best[ordinal] = Math.max(best[ordinal], boost(postings.fields[i]) * factor);
+                matched.set(ordinal);
+            }
+        }
+        int[] ordinals = new int[matched.cardinality()];
+        double[] scores = new double[ordinals.length];
+        int n = 0;
+        for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+            ordinals[n] = ordinal;
+            scores[n++] = best[ordinal];
+        }
+        return new Result(ordinals, scores, n);
+    }
+
+    private void unindex(int ordinal) {
+        String[] terms = termsByOrdinal.get(ordinal);
+        if (terms == null) return;
+        for (String term : terms) {
+            if (!dictionary.containsKey(term)) continue;
+            Postings postings = writablePostings(term);
+            if (postings.remove(ordinal) && postings.size == 0) {
+                writableDictionary().remove(term);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> fieldsByTerm, String text, int field) {
+        for (String term : tokenize(text)) {
+            fieldsByTerm.merge(term, field, (a, b) -> a | b);
+        }
+    }
+
+    /** Splits on anything that is not a letter or digit and lower-cases the pieces. */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /** Splits the query on the OR keyword (upper case, standalone) into AND-clauses of terms. */
+    private static List<List<String>> parse(String query) {
+        List<List<String>> alternatives = new ArrayList<>();
+        if (query == null) return alternatives;
+        for (String part : query.trim().split("\\s+OR\\s+")) {
+            List<String> terms = tokenize(part);
+            if (!terms.isEmpty()) alternatives.add(terms);
+        }
+        return alternatives;
+    }
+
+    private static double boost(int fields) {
+        double score = 0;
+        if ((fields & FIELD_TITLE) != 0) score += TITLE_BOOST;
+        if ((fields & FIELD_TAG) != 0) score += TAG_BOOST;
+        if ((fields & FIELD_AUTHOR) != 0) score += AUTHOR_BOOST;
+        return score;
+    }
+
+    /** Posting list: ascending ordinals with the field mask of each occurrence. */
+    private static final class Postings {
+        /** The only index allowed to change this list; others copy it first. */
+        final PostSearchIndex owner;
+        private int[] ordinals = new int[4];
+        private byte[] fields = new byte[4];
+        private int size;
+
+        Postings(PostSearchIndex owner) {
+            this.owner = owner;
+        }
+
+        void add(int ordinal, int fieldMask) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                fields[at] |= (byte) fieldMask;
+                return;
+            }
+            at = -at - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            // New posts get the highest ordinal, so this is almost always an append
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            System.arraycopy(fields, at, fields, at + 1, size - at);
+            ordinals[at] = ordinal;
+            fields[at] = (byte) fieldMask;
+            size++;
+        }
+
+        Postings copy(PostSearchIndex newOwner) {
+            Postings copy = new Postings(newOwner);
+            copy.ordinals = Arrays.copyOf(ordinals, ordinals.length);
+            copy.fields = Arrays.copyOf(fields, fields.length);
+            copy.size = size;
+            return copy;
+        }
+
+        boolean remove(int ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at < 0) return false;
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            System.arraycopy(fields, at + 1, fields, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        Result toResult(double factor) {
+            double[] scores = new double[size];
+            for (int i = 0; i < size; i++) scores[i] = boost(fields[i]) * factor;
+            return new Result(Arrays.copyOf(ordinals, size), scores, size);
+        }
+    }
+
+    /** Intermediate query result: ascending ordinals with accumulated scores. */
+    private static final class Result {
+        static final Result EMPTY = new Result(new int[0], new double[0], 0);
+
+        final int[] ordinals;
+        final double[] scores;
+        final int size;
+
+        Result(int[] ordinals, double[] scores, int size) {
+            this.ordinals = ordinals;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        Result intersect(Result other) {
+            int[] outOrdinals = new int[Math.min(size, other.size)];
+            double[] outScores = new double[outOrdinals.length];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.size) {
+                int a = ordinals[i], b = other.ordinals[j];
+                if (a < b) {
+                    i++;
+                } else if (a > b) {
+                    j++;
+                } else {
+                    outOrdinals[n] = a;
+                    outScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new Result(outOrdinals, outScores, n);
+        }
+
+        /** Merge; a post matching both sides keeps the higher score. */
+        Result union(Result other) {
+            if (size == 0) return other;
+            if (other.size == 0) return this;
+            int[] outOrdinals = new int[size + other.size];
+            double[] outScores = new double[outOrdinals.length];
+            int i = 0, j = 0, n = 0;
+            while (i < size || j < other.size) {
+                if (j >= other.size || (i < size && ordinals[i] < other.ordinals[j])) {
+                    outOrdinals[n] = ordinals[i];
+                    outScores[n++] = scores[i++];
+                } else if (i >= size || other.ordinals[j] < ordinals[i]) {
+                    outOrdinals[n] = other.ordinals[j];
+                    outScores[n++] = other.scores[j++];
+                } else {
+                    outOrdinals[n] = ordinals[i];
+                    outScores[n++] = Math.max(scores[i++], other.scores[j++]);
+                }
+            }
+            return new Result(outOrdinals, outScores, n);
+        }
+    }
+}
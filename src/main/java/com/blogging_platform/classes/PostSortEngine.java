@@ -0,0 +1,580 @@
+package com.blogging_platform.classes;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * Sorted secondary indexes over the cached post summaries – the in-memory counterpart of one DB index
+ * per ORDER BY.
+ * <p>
+ * Every post gets a dense int ordinal (reused after removal) and its sort keys are computed once: the
+ * publish date and a case-insensitive {@link CollationKey} for title and author. For every
+ * {@link SortKey} the engine keeps a primitive {@code int[]} of ordinals in that order, updated by
+ * {@link #put}/{@link #remove} with a binary search and one array shift each, so no ordering is ever
+ * re-sorted to answer a read. Full builds use a stable bottom-up merge sort on the int arrays, which
+ * is linear on the already date-ordered lists the DAO returns.
+ * <p>
+ * A filtered page ({@link #page}) walks the chosen ordering from the cursor, keeping ordinals that are
+ * set in the search {@link BitSet}, and stops once the page is full. Date ranges
+ * ({@link #publishedBetween}) are two binary searches on the date index.
+ * <p>
+ * Each ordering is total: equal titles or authors fall back to newest first, then id, so incremental
+ * inserts land exactly where a full sort would put them.
+ * <p>
+ * Not thread-safe for writes: {@link CacheManager} only reads engines it has published and changes a
+ * {@link #copy()} instead. Reads never modify the engine.
+ */
+public class PostSortEngine {
+
+    /** The six orderings offered by the home page and post list (their combo values in {@link #value()}). */
+    public enum SortKey {
+        DATE_DESC("date_desc"),
+        DATE_ASC("date_asc"),
+        TITLE_ASC("title_asc"),
+        TITLE_DESC("title_desc"),
+        AUTHOR_ASC("author_asc"),
+        AUTHOR_DESC("author_desc");
+
+        private final String value;
+
+        SortKey(String value) {
+            this.value = value;
+        }
+
+        /** The sort combo value, e.g. {@code "title_asc"}. */
+        public String value() {
+            return value;
+        }
+
+        /**
+         * Maps a sort combo value to a key.
+         *
+         * @param sortBy combo value; null or unknown values mean newest first
+         * @return the key, or null for {@code "relevance"} (keep the list's own order)
+         */
+        public static SortKey of(String sortBy) {
+            if ("relevance".equals(sortBy)) return null;
+            for (SortKey key : values()) {
+                if (key.value.equals(sortBy)) return key;
+            }
+            return DATE_DESC;
+        }
+    }
+
+    /** A post with its precomputed sort keys. */
+    private static final class Entry {
+        final PostSummary post;
+        final LocalDateTime date;
+        final CollationKey title;
+        final CollationKey author;
+        int ordinal = -1;
+
+        Entry(PostSummary post, Collator collator) {
+            this.post = post;
+            this.date = post.publishedDate();
+            this.title = collator.getCollationKey(post.title() != null ? post.title() : "");
+            this.author = collator.getCollationKey(post.author() != null ? post.author() : "");
+        }
+
+        /** A new version of a post whose sort keys did not change: reuses the keys and the ordinal. */
+        Entry(PostSummary post, Entry previous) {
+            this.post = post;
+            this.date = previous.date;
+            this.title = previous.title;
+            this.author = previous.author;
+            this.ordinal = previous.ordinal;
+        }
+
+        boolean sameKeys(PostSummary other) {
+            return Objects.equals(post.publishedDate(), other.publishedDate())
+                    && Objects.equals(post.title(), other.title())
+                    && Objects.equals(post.author(), other.author());
+        }
+    }
+
+    private static final Comparator<Entry> NEWEST_FIRST = (a, b) -> {
+        int c = compareDates(a.date, b.date, true);
+        return c != 0 ? c : b.post.id().compareTo(a.post.id());
+    };
+
+    private static final Comparator<Entry> OLDEST_FIRST = (a, b) -> {
+        int c = compareDates(a.date, b.date, false);
+        return c != 0 ? c : a.post.id().compareTo(b.post.id());
+    };
+
+    /** Comparators indexed by {@link SortKey#ordinal()}. */
+    private static final List<Comparator<Entry>> COMPARATORS = List.of(
+            NEWEST_FIRST,
+            OLDEST_FIRST,
+            tieBreak((a, b) -> a.title.compareTo(b.title)),
+            tieBreak((a, b) -> b.title.compareTo(a.title)),
+            tieBreak((a, b) -> a.author.compareTo(b.author)),
+            tieBreak((a, b) -> b.author.compareTo(a.author)));
+
+    /** Runs shorter than this are insertion-sorted before merging. */
+    private static final int RUN = 32;
+
+    /** Shared by concurrent readers of a published engine: RuleBasedCollator.getCollationKey is synchronized. */
+    private final Collator collator = newCollator();
+    private LayeredMap<String, Entry> entries = new LayeredMap<>();
+    /** Ordinal -> entry; null for free ordinals. */
+    private Entry[] byOrdinal = new Entry[16];
+    /** Ordinals freed by removals, reused first so bitsets stay as small as the cache. */
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int nextOrdinal;
+    /** One ordinal array per sort key; only the first {@link #size} slots are used. */
+    private final int[][] orders = new int[SortKey.values().length][16];
+    private int size;
+    /** True while {@link #byOrdinal} and {@link #freeOrdinals} may be read by another engine (copy on write). */
+    private boolean sharedSlots;
+    /** True while the arrays in {@link #orders} may be read by another engine (copy on write). */
+    private boolean sharedOrders;
+
+    /**
+     * Replaces everything with the given posts and sorts each ordering once.
+     *
+     * @param posts posts to hold (duplicate ids keep the last one)
+     */
+    public void rebuild(Collection<PostSummary> posts) {
+        entries = new LayeredMap<>();
+        sharedSlots = false;
+        sharedOrders = false;
+        for (PostSummary post : posts) entries.put(post.id(), new Entry(post, collator));
+        size = entries.size();
+        int capacity = Math.max(16, size);
+        byOrdinal = new Entry[capacity];
+        freeOrdinals = new int[16];
+        freeCount = 0;
+        nextOrdinal = 0;
+        int[] base = new int[capacity];
+        for (PostSummary post : posts) {
+            // Ordinals follow the input order (usually newest first already); duplicates keep the last
+            Entry entry = entries.get(post.id());
+            if (entry.post != post || entry.ordinal >= 0) continue;
+            entry.ordinal = nextOrdinal++;
+            byOrdinal[entry.ordinal] = entry;
+            base[entry.ordinal] = entry.ordinal;
+        }
+        mergeSort(base, SortKey.DATE_DESC.ordinal());
+        for (int k = 0; k < orders.length; k++) {
+            // Every ordering starts from newest first; the merge sort skips already ordered runs
+            int[] order = k == SortKey.DATE_DESC.ordinal() ? base : Arrays.copyOf(base, capacity);
+            if (k != SortKey.DATE_DESC.ordinal()) mergeSort(order, k);
+            orders[k] = order;
+        }
+    }
+
+    /**
+     * Returns an independent copy without copying anything up front: the id map is a {@link LayeredMap}
+     * copy, and the ordinal arrays are shared until one side first changes them (each array group is then
+     * duplicated once). Entries are shared, which is safe because an entry never changes once it is in an
+     * ordering. A post whose sort keys did not change (e.g. a new comment count) never copies the orderings.
+     *
+     * @return the copy
+     */
+    public PostSortEngine copy() {
+        PostSortEngine copy = new PostSortEngine();
+        copy.entries = entries.copy();
+        copy.byOrdinal = byOrdinal;
+        copy.freeOrdinals = freeOrdinals;
+        copy.freeCount = freeCount;
+        copy.nextOrdinal = nextOrdinal;
+        System.arraycopy(orders, 0, copy.orders, 0, orders.length);
+        copy.size = size;
+        copy.sharedSlots = copy.sharedOrders = true;
+        sharedSlots = sharedOrders = true;
+        return copy;
+    }
+
+    private void ownSlots() {
+        if (!sharedSlots) return;
+        byOrdinal = Arrays.copyOf(byOrdinal, byOrdinal.length);
+        freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinals.length);
+        sharedSlots = false;
+    }
+
+    private void ownOrders() {
+        if (!sharedOrders) return;
+        for (int k = 0; k < orders.length; k++) orders[k] = Arrays.copyOf(orders[k], orders[k].length);
+        sharedOrders = false;
+    }
+
+    /** Drops every post. */
+    public void clear() {
+        rebuild(List.of());
+    }
+
+    /**
+     * Adds a post or replaces the cached version of it, moving it in every ordering.
+     *
+     * @param post the post
+     */
+    public void put(PostSummary post) {
+        Entry previous = entries.get(post.id());
+        ownSlots();
+        if (previous != null && previous.sameKeys(post)) {
+            // Same place in every ordering: swap the entry, leave the orderings alone
+            Entry entry = new Entry(post, previous);
+            entries.put(post.id(), entry);
+            byOrdinal[entry.ordinal] = entry;
+            return;
+        }
+        ownOrders();
+        Entry entry = new Entry(post, collator);
+        if (previous != null) {
+            unlink(previous);
+            entry.ordinal = previous.ordinal;
+        } else {
+            entry.ordinal = freeCount > 0 ? freeOrdinals[--freeCount] : nextOrdinal++;
+            if (entry.ordinal == byOrdinal.length) byOrdinal = Arrays.copyOf(byOrdinal, byOrdinal.length * 2);
+        }
+        entries.put(post.id(), entry);
+        byOrdinal[entry.ordinal] = entry;
+        if (size == orders[0].length) {
+            for (int k = 0; k < orders.length; k++) orders[k] = Arrays.copyOf(orders[k], size * 2);
+        }
+        for (int k = 0; k < orders.length; k++) {
+            int[] order = orders[k];
+            int at = search(k, entry);
+            at = at < 0 ? -at - 1 : at;
+            System.arraycopy(order, at, order, at + 1, size - at);
+            order[at] = entry.ordinal;
+        }
+        size++;
+    }
+
+    /**
+     * Removes a post from every ordering. Unknown ids are ignored.
+     *
+     * @param postId post id
+     */
+    public void remove(String postId) {
+        Entry entry = entries.remove(postId);
+        if (entry == null) return;
+        ownSlots();
+        ownOrders();
+        unlink(entry);
+        byOrdinal[entry.ordinal] = null;
+        if (freeCount == freeOrdinals.length) freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+        freeOrdinals[freeCount++] = entry.ordinal;
+    }
+
+    /** Takes the entry out of every ordering (its ordinal stays assigned). */
+    private void unlink(Entry entry) {
+        for (int k = 0; k < orders.length; k++) {
+            int[] order = orders[k];
+            int at = positionOf(k, entry);
+            System.arraycopy(order, at + 1, order, at, size - at - 1);
+        }
+        size--;
+    }
+
+    /** Index of an entry that is in ordering {@code k}. */
+    private int positionOf(int k, Entry entry) {
+        int at = search(k, entry);
+        if (at >= 0 && orders[k][at] == entry.ordinal) return at;
+        // Only reachable if a comparator disagreed with the array (it should not)
+        for (int i = 0; i < size; i++) {
+            if (orders[k][i] == entry.ordinal) return i;
+        }
+        throw new IllegalStateException("Post " + entry.post.id() + " missing from sort order");
+    }
+
+    /** Binary search of ordering {@code k}; returns the index, or {@code -(insertion point) - 1}. */
+    private int search(int k, Entry probe) {
+        Comparator<Entry> cmp = COMPARATORS.get(k);
+        int[] order = orders[k];
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = cmp.compare(byOrdinal[order[mid]], probe);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /** Number of posts held. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a held post by id.
+     *
+     * @param postId post id
+     * @return the post, or null if it is not held
+     */
+    public PostSummary get(String postId) {
+        Entry entry = entries.get(postId);
+        return entry != null ? entry.post : null;
+    }
+
+    /**
+     * Ordinal of a held post, for building filters over the orderings.
+     *
+     * @param postId post id
+     * @return the ordinal, or -1 if the post is not held
+     */
+    public int ordinalOf(String postId) {
+        Entry entry = entries.get(postId);
+        return entry != null ? entry.ordinal : -1;
+    }
+
+    /**
+     * Returns the cached posts in the given order without sorting. The list is a read-only view that
+     * reflects later changes; callers copy what they keep.
+     *
+     * @param key the ordering
+     * @return read-only view of the ordering
+     */
+    public List<PostSummary> ordered(SortKey key) {
+        int k = key.ordinal();
+        return new AbstractList<>() {
+            @Override
+            public PostSummary get(int index) {
+                if (index >= size) throw new IndexOutOfBoundsException(index);
+                return byOrdinal[orders[k][index]].post;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Reads one page of an ordering, optionally restricted to the ordinals set in {@code filter}. The walk
+     * starts at the cursor's post (found by binary search) and stops as soon as the page is full.
+     * If the cursor's post is gone, date orderings resume where it would have been; other orderings
+     * return an empty page.
+     *
+     * @param key       the ordering
+     * @param filter    ordinals to include (see {@link #ordinalOf}), or null for every post
+     * @param cursor    cursor from the previous page, or null for the first page (last page when reading backward)
+     * @param pageSize  maximum number of posts to return
+     * @param direction direction to read from the cursor
+     * @return the page, with cursors on its first and last post when more posts lie beyond them
+     */
+    public Page<PostSummary> page(SortKey key, BitSet filter, PageCursor cursor, int pageSize, PageDirection direction) {
+        int k = key.ordinal();
+        int before;
+        int after;
+        if (cursor == null) {
+            before = size;
+            after = 0;
+        } else {
+            Entry anchor = entries.get(cursor.id());
+            if (anchor != null) {
+                before = positionOf(k, anchor);
+                after = before + 1;
+            } else if (cursor.timestamp() != null && (key == SortKey.DATE_DESC || key == SortKey.DATE_ASC)) {
+                // Anchor post was removed since the last page: its (date, id) still has a place in the index
+                PostSummary ghost = new PostSummary(cursor.id(), null, null, null, null, null, cursor.timestamp(), 0, null);
+                before = -search(k, new Entry(ghost, collator)) - 1;
+                after = before;
+            } else {
+                return Page.empty();
+            }
+        }
+
+        int limit = Math.max(1, pageSize);
+        int[] order = orders[k];
+        int[] picked = new int[Math.min(limit, size)];
+        int count = 0;
+        int first;
+        int last;
+        if (direction == PageDirection.BACKWARD) {
+            int i = previousMatch(order, filter, before);
+            first = i;
+            last = i;
+            while (i >= 0) {
+                picked[count++] = order[i];
+                first = i;
+                if (count == limit) break;
+                i = previousMatch(order, filter, i);
+            }
+            // Collected back to front
+            for (int a = 0, b = count - 1; a < b; a++, b--) {
+                int t = picked[a];
+                picked[a] = picked[b];
+                picked[b] = t;
+            }
+        } else {
+            int i = nextMatch(order, filter, after);
+            first = i;
+            last = i;
+            while (i < size) {
+                picked[count++] = order[i];
+                last = i;
+                if (count == limit) break;
+                i = nextMatch(order, filter, i + 1);
+            }
+        }
+        if (count == 0) return Page.empty();
+
+        List<PostSummary> items = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) items.add(byOrdinal[picked[n]].post);
+        boolean hasNext = nextMatch(order, filter, last + 1) < size;
+        boolean hasPrevious = previousMatch(order, filter, first) >= 0;
+        return new Page<>(items,
+                hasNext ? cursorOf(items.get(count - 1)) : null,
+                hasPrevious ? cursorOf(items.get(0)) : null);
+    }
+
+    /** First index at or after {@code from} whose post passes the filter, or {@link #size} if none. */
+    private int nextMatch(int[] order, BitSet filter, int from) {
+        int i = Math.max(0, from);
+        while (i < size && filter != null && !filter.get(order[i])) i++;
+        return i;
+    }
+
+    /** Last index before {@code before} whose post passes the filter, or -1 if none. */
+    private int previousMatch(int[] order, BitSet filter, int before) {
+        int i = Math.min(before, size) - 1;
+        while (i >= 0 && filter != null && !filter.get(order[i])) i--;
+        return i;
+    }
+
+    /**
+     * Posts published within a time range, newest first: two binary searches on the date index and a copy
+     * of the posts between them. Unpublished (null date) posts never match.
+     *
+     * @param from earliest publish time (inclusive), or null for no lower bound
+     * @param to   latest publish time (inclusive), or null for no upper bound
+     * @return the posts in the range, newest first
+     */
+    public List<PostSummary> publishedBetween(LocalDateTime from, LocalDateTime to) {
+        int[] order = orders[SortKey.DATE_DESC.ordinal()];
+        // Newest first with nulls last, so both predicates flip from false to true exactly once
+        int start = firstTrue(i -> {
+            LocalDateTime date = byOrdinal[order[i]].date;
+            return date == null || to == null || !date.isAfter(to);
+        });
+        int end = firstTrue(i -> {
+            LocalDateTime date = byOrdinal[order[i]].date;
+            return date == null || (from != null && date.isBefore(from));
+        });
+        List<PostSummary> posts = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) posts.add(byOrdinal[order[i]].post);
+        return posts;
+    }
+
+    /** Binary search for the first index in [0, size) where a monotone predicate holds, or size. */
+    private int firstTrue(IntPredicate predicate) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(mid)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts a list in place (stable). Posts held by the engine reuse their precomputed keys;
+     * any others get keys computed once for this call.
+     *
+     * @param list the list to sort (modified in place)
+     * @param key  the ordering, or null to leave the list as it is
+     */
+    public void sort(List<PostSummary> list, SortKey key) {
+        if (key == null || list == null || list.size() < 2) return;
+        Entry[] decorated = new Entry[list.size()];
+        for (int i = 0; i < decorated.length; i++) {
+            PostSummary post = list.get(i);
+            Entry entry = entries.get(post.id());
+            decorated[i] = entry != null && entry.post == post ? entry : new Entry(post, collator);
+        }
+        Arrays.sort(decorated, COMPARATORS.get(key.ordinal()));
+        ListIterator<PostSummary> it = list.listIterator();
+        for (Entry entry : decorated) {
+            it.next();
+            it.set(entry.post);
+        }
+    }
+
+    /**
+     * Stable bottom-up merge sort of the first {@link #size} ordinals by ordering {@code k}: insertion-sorted
+     * runs, then merges that are skipped when two runs are already in order.
+     */
+    private void mergeSort(int[] a, int k) {
+        Comparator<Entry> cmp = COMPARATORS.get(k);
+        int n = size;
+        for (int lo = 0; lo < n; lo += RUN) {
+            int hi = Math.min(lo + RUN, n);
+            for (int i = lo + 1; i < hi; i++) {
+                int x = a[i];
+                int j = i - 1;
+                while (j >= lo && cmp.compare(byOrdinal[a[j]], byOrdinal[x]) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = x;
+            }
+        }
+        int[] buffer = null;
+        for (int width = RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                if (cmp.compare(byOrdinal[a[mid - 1]], byOrdinal[a[mid]]) <= 0) continue;
+                if (buffer == null) buffer = new int[n];
+                System.arraycopy(a, lo, buffer, lo, mid - lo);
+                int i = lo, j = mid, out = lo;
+                while (i < mid && j < hi) {
+                    // <= keeps equal elements in their original order
+                    a[out++] = cmp.compare(byOrdinal[buffer[i]], byOrdinal[a[j]]) <= 0 ? buffer[i++] : a[j++];
+                }
+                while (i < mid) a[out++] = buffer[i++];
+            }
+        }
+    }
+
+    private static PageCursor cursorOf(PostSummary post) {
+        return new PageCursor(post.publishedDate(), post.id());
+    }
+
+    private static Comparator<Entry> tieBreak(Comparator<Entry> primary) {
+        return primary.thenComparing(NEWEST_FIRST);
+    }
+
+    /** Nulls (unpublished) sort last in both directions. */
+    private static int compareDates(LocalDateTime a, LocalDateTime b, boolean descending) {
+        if (a == null && b == null) return 0;
+        if (a == null) return 1;
+        if (b == null) return -1;
+        return descending ? b.compareTo(a) : a.compareTo(b);
+    }
+
+    /** Case-insensitive but accent-aware, like the previous {@code toLowerCase()} comparisons. */
+    private static Collator newCollator() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    }
+}
@@ -0,0 +1,38 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a blog post for list views (home cards, post table, cache): everything a
+ * list shows, plus a fixed-length excerpt instead of the full content. Full posts are loaded as
+ * {@link PostRecord} only when a single post is opened.
+ */
+public record PostSummary(
+    String id,
+    String title,
+    String excerpt,
+    String status,
+    String author,
+    LocalDateTime createdAt,
+    LocalDateTime publishedDate,
+    int commentCount,
+    String userId
+) {
+
+    /** Number of content characters kept in {@link #excerpt()}. */
+    public static final int EXCERPT_LENGTH = 150;
+
+    /**
+     * Builds the excerpt from a content prefix. Queries select {@code LEFT(content, EXCERPT_LENGTH + 1)}
+     * so the extra character tells us whether the content was cut without transferring the rest.
+     *
+     * @param contentPrefix the first EXCERPT_LENGTH + 1 characters of the content (may be null)
+     * @return the excerpt, ending in "..." if the content is longer
+     */
+    public static String excerptOf(String contentPrefix) {
+        if (contentPrefix == null) return "";
+        return contentPrefix.length() > EXCERPT_LENGTH
+                ? contentPrefix.substring(0, EXCERPT_LENGTH) + "..."
+                : contentPrefix;
+    }
+}
@@ -0,0 +1,12 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change watermark for the posts table: number of published posts and the latest {@code updated_at}
+ * across all posts. If both match what the cache last saw, nothing relevant has changed.
+ */
+public record PostsWatermark(
+    long publishedCount,
+    LocalDateTime lastUpdatedAt
+) {}
@@ -0,0 +1,79 @@
+package com.blogging_platform.classes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable aggregate of a post's ratings: review count, rating sum, and a 1–5 star histogram
+ * ({@code histogram[0]} is the number of 1-star reviews). Replaces loading every review row to average them.
+ */
+public record RatingSummary(
+    String postId,
+    long count,
+    long sum,
+    long[] histogram
+) {
+
+    public RatingSummary {
+        histogram = histogram != null ? Arrays.copyOf(histogram, 5) : new long[5];
+    }
+
+    /** Returns an empty summary (no reviews) for the post. */
+    public static RatingSummary empty(String postId) {
+        return new RatingSummary(postId, 0, 0, new long[5]);
+    }
+
+    /** Returns the average rating, or 0.0 if there are no reviews. */
+    public double average() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the number of reviews with the given star rating.
+     *
+     * @param rating 1–5
+     * @return count for that rating (0 for out-of-range values)
+     */
+    public long countFor(int rating) {
+        return rating >= 1 && rating <= 5 ? histogram[rating - 1] : 0;
+    }
+
+    @Override
+    public long[] histogram() {
+        return Arrays.copyOf(histogram, 5);
+    }
+
+    /** Returns a copy of this summary with one more review of the given rating. */
+    public RatingSummary withAdded(int rating) {
+        long[] h = Arrays.copyOf(histogram, 5);
+        if (rating >= 1 && rating <= 5) h[rating - 1]++;
+        return new RatingSummary(postId, count + 1, sum + rating, h);
+    }
+
+    /** Returns a copy of this summary with one review of the given rating removed. */
+    public RatingSummary withRemoved(int rating) {
+        long[] h = Arrays.copyOf(histogram, 5);
+        if (rating >= 1 && rating <= 5 && h[rating - 1] > 0) h[rating - 1]--;
+        return new RatingSummary(postId, Math.max(0, count - 1), Math.max(0, sum - rating), h);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RatingSummary other
+                && count == other.count
+                && sum == other.sum
+                && Objects.equals(postId, other.postId)
+                && Arrays.equals(histogram, other.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(postId, count, sum, Arrays.hashCode(histogram));
+    }
+
+    @Override
+    public String toString() {
+        return "RatingSummary[postId=" + postId + ", count=" + count + ", sum=" + sum
+                + ", histogram=" + Arrays.toString(histogram) + "]";
+    }
+}
@@ -0,0 +1,171 @@
+package com.blogging_platform.classes;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory cache of {@link RatingSummary} per post id, owned by {@code ReviewService}.
+ * Review writes adjust the cached summary in place (count, sum, histogram) instead of
+ * invalidating it, so reading a post's rating stays an O(1) map lookup.
+ * Posts that are not cached yet are simply skipped by the update methods; they are loaded on first read.
+ * <p>
+ * A review write is bracketed by {@link #beginWrite} before the database write and {@link #endWrite}
+ * after it. While a post has a write in progress, loaded summaries for it are not stored: a load that
+ * overlaps the commit may or may not include the review, and adjusting it would count the review
+ * twice. A summary cached before {@code beginWrite} cannot include the write, so adjusting it is exact.
+ * <p>
+ * At most {@code maxPosts} summaries are kept, least recently read evicted first. A summary is reloaded
+ * once it is older than {@code maxAgeMs}, so reviews written by other clients still show up.
+ * <p>
+ * Thread-safe: every method holds the instance lock.
+ */
+public class RatingSummaryCache {
+
+    /**
+     * @param summary  the post's summary
+     * @param loadedAt when it was read from the database (epoch millis)
+     */
+    private record Entry(RatingSummary summary, long loadedAt) {}
+
+    private final int maxPosts;
+    private final long maxAgeMs;
+    /** Access-ordered: the first entry is the least recently read summary. */
+    private final LinkedHashMap<String, Entry> summaries;
+    /** Bumped by every write; a load that started before a write must not overwrite it. */
+    private long writes;
+    /** Writes in progress per post id, between {@link #beginWrite} and {@link #endWrite}. */
+    private final Map<String, Integer> writing = new HashMap<>();
+
+    /**
+     * Creates a cache of at most {@code maxPosts} summaries, each served for at most {@code maxAgeMs}.
+     *
+     * @param maxPosts maximum number of cached summaries (0 or less disables caching)
+     * @param maxAgeMs how long a loaded summary is served before it is read again
+     */
+    public RatingSummaryCache(int maxPosts, long maxAgeMs) {
+        this.maxPosts = maxPosts;
+        this.maxAgeMs = maxAgeMs;
+        this.summaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > Math.max(0, RatingSummaryCache.this.maxPosts);
+            }
+        };
+    }
+
+    /**
+     * Returns the cached summary for a post.
+     *
+     * @param postId post id
+     * @return the summary, or null if the post is not cached or its summary is too old
+     */
+    public synchronized RatingSummary get(String postId) {
+        Entry entry = summaries.get(postId);
+        if (entry == null) return null;
+        if (System.currentTimeMillis() - entry.loadedAt() >= maxAgeMs) {
+            summaries.remove(postId);
+            return null;
+        }
+        return entry.summary();
+    }
+
+    /**
+     * Write stamp to take before reading from the database; pass it to {@link #put}.
+     *
+     * @return the current write count
+     */
+    public synchronized long stamp() {
+        return writes;
+    }
+
+    /**
+     * Stores a summary loaded from the database, unless a review was written since {@code stamp} was
+     * taken or a write for the post is in progress (the load may or may not include it; the next read
+     * loads again).
+     *
+     * @param summary the summary (keyed by its post id)
+     * @param stamp   value of {@link #stamp()} taken before the load
+     */
+    public synchronized void put(RatingSummary summary, long stamp) {
+        if (stamp != writes || maxPosts <= 0 || writing.containsKey(summary.postId())) return;
+        summaries.put(summary.postId(), new Entry(summary, System.currentTimeMillis()));
+    }
+
+    /**
+     * Marks the start of a review write for a post; call before the database write, and call
+     * {@link #endWrite} once it has committed or failed.
+     *
+     * @param postId post id
+     */
+    public synchronized void beginWrite(String postId) {
+        writes++;
+        writing.merge(postId, 1, Integer::sum);
+    }
+
+    /**
+     * Marks the end of a write started with {@link #beginWrite}. Loads that started before this call
+     * are still dropped, since they may have read the database before the commit.
+     *
+     * @param postId post id
+     */
+    public synchronized void endWrite(String postId) {
+        writes++;
+        writing.computeIfPresent(postId, (id, n) -> n > 1 ? n - 1 : null);
+    }
+
+    /**
+     * Applies a newly created review. Call between {@link #beginWrite} and {@link #endWrite}, after the database write.
+     *
+     * @param postId post id
+     * @param rating the new review's rating
+     */
+    public synchronized void recordCreated(String postId, int rating) {
+        writes++;
+        Entry entry = summaries.get(postId);
+        if (entry != null) {
+            summaries.put(postId, new Entry(entry.summary().withAdded(rating), entry.loadedAt()));
+        }
+    }
+
+    /**
+     * Applies a rating change on an existing review. Call between {@link #beginWrite} and {@link #endWrite}, after the database write.
+     *
+     * @param postId    post id
+     * @param oldRating rating before the update
+     * @param newRating rating after the update
+     */
+    public synchronized void recordUpdated(String postId, int oldRating, int newRating) {
+        writes++;
+        if (oldRating == newRating) return;
+        Entry entry = summaries.get(postId);
+        if (entry != null) {
+            RatingSummary updated = entry.summary().withRemoved(oldRating).withAdded(newRating);
+            summaries.put(postId, new Entry(updated, entry.loadedAt()));
+        }
+    }
+
+    /**
+     * Applies a deleted review. Call between {@link #beginWrite} and {@link #endWrite}, after the database write.
+     *
+     * @param postId post id
+     * @param rating the deleted review's rating
+     */
+    public synchronized void recordDeleted(String postId, int rating) {
+        writes++;
+        Entry entry = summaries.get(postId);
+        if (entry != null) {
+            summaries.put(postId, new Entry(entry.summary().withRemoved(rating), entry.loadedAt()));
+        }
+    }
+
+    /**
+     * Drops a post's summary so it is reloaded on next read.
+     *
+     * @param postId post id
+     */
+    public synchronized void invalidate(String postId) {
+        writes++;
+        if (postId != null) summaries.remove(postId);
+    }
+}
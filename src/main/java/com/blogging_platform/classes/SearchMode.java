@@ -0,0 +1,58 @@
+package com.blogging_platform.classes;
+
+import java.util.List;
+
+/**
+ * MySQL full-text search modes used by the DB search path
+ * ({@code MATCH ... AGAINST (? IN NATURAL LANGUAGE MODE | IN BOOLEAN MODE)}).
+ */
+public enum SearchMode {
+    /** Query text is passed as-is; MySQL ranks rows by term relevance and ignores operators. */
+    NATURAL_LANGUAGE("NATURAL LANGUAGE MODE"),
+    /**
+     * Query text is rewritten to the in-memory search syntax (see {@link PostSearchIndex}): every
+     * term is a required prefix and {@code OR} separates alternatives, e.g. {@code "java spring OR kotlin"}
+     * becomes {@code (+java* +spring*) (+kotlin*)}.
+     * <p>
+     * One difference remains: MySQL matches each FULLTEXT index on its own, so every term of an
+     * alternative has to occur in the same field group, either title and content or the author name.
+     * {@code "java alice"} finds a post about Java by Alice in memory but not here.
+     */
+    BOOLEAN("BOOLEAN MODE");
+
+    private final String sql;
+
+    SearchMode(String sql) {
+        this.sql = sql;
+    }
+
+    /** The modifier that goes after {@code AGAINST (? IN ...)}. */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * Builds the string bound to {@code AGAINST (?)}. Boolean mode only ever emits operators it
+     * generated itself, so user input cannot produce a malformed expression.
+     *
+     * @param query raw query text
+     * @return the search expression (empty if the query has no terms)
+     */
+    public String expression(String query) {
+        if (query == null) return "";
+        if (this == NATURAL_LANGUAGE) return query.trim();
+        StringBuilder expression = new StringBuilder();
+        for (String part : query.trim().split("\\s+OR\\s+")) {
+            List<String> terms = PostSearchIndex.tokenize(part);
+            if (terms.isEmpty()) continue;
+            if (!expression.isEmpty()) expression.append(' ');
+            expression.append('(');
+            for (int i = 0; i < terms.size(); i++) {
+                if (i > 0) expression.append(' ');
+                expression.append('+').append(terms.get(i)).append('*');
+            }
+            expression.append(')');
+        }
+        return expression.toString();
+    }
+}
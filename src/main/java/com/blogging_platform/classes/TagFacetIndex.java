@@ -0,0 +1,184 @@
+package com.blogging_platform.classes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tag facets over post ordinals (the ordinals of {@link PostSortEngine}): one bitmap per tag name, so
+ * AND/OR/NOT tag filters are a few word-wise bit operations and "posts per tag under the current query"
+ * is an intersection count per tag. {@link BitSet} stores 64 posts per word; tags on few posts stay small
+ * because ordinals are dense and reused.
+ * <p>
+ * Not thread-safe for writes: {@link CacheManager} only reads indexes it has published and changes a
+ * {@link #copy()} instead. A copy shares the bitmaps with its source and clones a bitmap only when it
+ * first changes it, so a refresh that touches a few tags copies only those.
+ */
+public class TagFacetIndex {
+
+    private Map<String, BitSet> postsByTag = new HashMap<>();
+    /** Ordinal -> tag names it is indexed under, so updates touch only those bitmaps. */
+    private LayeredMap<Integer, List<String>> tagsByOrdinal = new LayeredMap<>();
+    /** Every indexed post, tagged or not: the universe NOT filters subtract from. */
+    private BitSet all = new BitSet();
+    /** True while {@link #postsByTag} and {@link #all} may be read by another index (copy on write). */
+    private boolean shared;
+    /** Tags whose bitmap this index created or cloned since it was last shared, so it may change them. */
+    private final Set<String> ownedTags = new HashSet<>();
+
+    /**
+     * Sets a post's tags, replacing whatever was indexed for it before.
+     *
+     * @param ordinal post ordinal (ignored if negative)
+     * @param tags    tag names (may be null or empty)
+     */
+    public void put(int ordinal, Collection<String> tags) {
+        if (ordinal < 0) return;
+        unindex(ordinal);
+        ownMap();
+        all.set(ordinal);
+        List<String> names = tags != null ? List.copyOf(tags) : List.of();
+        for (String tag : names) {
+            writableBitmap(tag).set(ordinal);
+        }
+        tagsByOrdinal.put(ordinal, names);
+    }
+
+    /**
+     * Removes a post. Unknown ordinals are ignored.
+     *
+     * @param ordinal post ordinal
+     */
+    public void remove(int ordinal) {
+        if (ordinal < 0) return;
+        unindex(ordinal);
+        ownMap();
+        all.clear(ordinal);
+        tagsByOrdinal.remove(ordinal);
+    }
+
+    private void unindex(int ordinal) {
+        List<String> previous = tagsByOrdinal.get(ordinal);
+        if (previous == null) return;
+        ownMap();
+        for (String tag : previous) {
+            if (!postsByTag.containsKey(tag)) continue;
+            BitSet posts = writableBitmap(tag);
+            posts.clear(ordinal);
+            if (posts.isEmpty()) postsByTag.remove(tag);
+        }
+    }
+
+    /**
+     * Returns an independent copy that shares the bitmaps until either side changes them.
+     *
+     * @return the copy
+     */
+    public TagFacetIndex copy() {
+        TagFacetIndex copy = new TagFacetIndex();
+        copy.postsByTag = postsByTag;
+        copy.tagsByOrdinal = tagsByOrdinal.copy();
+        copy.all = all;
+        copy.shared = shared = true;
+        ownedTags.clear();
+        return copy;
+    }
+
+    /** Drops every post and tag. */
+    public void clear() {
+        postsByTag = new HashMap<>();
+        tagsByOrdinal = new LayeredMap<>();
+        all = new BitSet();
+        shared = false;
+        ownedTags.clear();
+    }
+
+    /** Takes private copies of the tag map (bitmaps stay shared) and of {@link #all} if they are shared. */
+    private void ownMap() {
+        if (!shared) return;
+        postsByTag = new HashMap<>(postsByTag);
+        all = (BitSet) all.clone();
+        shared = false;
+    }
+
+    /** A tag's bitmap that this index may change: created, or cloned the first time after a copy. */
+    private BitSet writableBitmap(String tag) {
+        BitSet posts = postsByTag.get(tag);
+        if (posts == null) {
+            posts = new BitSet();
+        } else if (!ownedTags.contains(tag)) {
+            posts = (BitSet) posts.clone();
+        } else {
+            return posts;
+        }
+        postsByTag.put(tag, posts);
+        ownedTags.add(tag);
+        return posts;
+    }
+
+    /**
+     * Applies a tag filter.
+     *
+     * @param within posts to start from (e.g. search hits), or null for every indexed post; not modified
+     * @param filter the tag filter
+     * @return the ordinals passing the filter (a new bitset)
+     */
+    public BitSet filter(BitSet within, TagFilter filter) {
+        BitSet result = (BitSet) (within != null ? within : all).clone();
+        if (filter == null) return result;
+        for (String tag : filter.all()) {
+            BitSet posts = postsByTag.get(tag);
+            if (posts == null) {
+                result.clear();
+                return result;
+            }
+            result.and(posts);
+        }
+        if (!filter.any().isEmpty()) {
+            BitSet anyOf = new BitSet();
+            for (String tag : filter.any()) {
+                BitSet posts = postsByTag.get(tag);
+                if (posts != null) anyOf.or(posts);
+            }
+            result.and(anyOf);
+        }
+        for (String tag : filter.none()) {
+            BitSet posts = postsByTag.get(tag);
+            if (posts != null) result.andNot(posts);
+        }
+        return result;
+    }
+
+    /**
+     * Counts posts per tag within a set of posts. Tags with no post in the set are left out.
+     *
+     * @param within posts to count (e.g. the current search result), or null for every indexed post
+     * @return tag name -> post count, highest count first (ties by name)
+     */
+    public Map<String, Integer> counts(BitSet within) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        BitSet scratch = new BitSet();
+        for (Map.Entry<String, BitSet> e : postsByTag.entrySet()) {
+            int count;
+            if (within == null) {
+                count = e.getValue().cardinality();
+            } else {
+                scratch.clear();
+                scratch.or(e.getValue());
+                scratch.and(within);
+                count = scratch.cardinality();
+            }
+            if (count > 0) counts.add(Map.entry(e.getKey(), count));
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> e : counts) result.put(e.getKey(), e.getValue());
+        return result;
+    }
+}
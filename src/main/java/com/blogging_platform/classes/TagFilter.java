@@ -0,0 +1,37 @@
+package com.blogging_platform.classes;
+
+import java.util.Set;
+
+/**
+ * Tag restriction for the home page listing: posts must carry every tag in {@code all}, at least one
+ * tag in {@code any} (when not empty) and none of the tags in {@code none}. Tag names match exactly.
+ */
+public record TagFilter(
+    Set<String> all,
+    Set<String> any,
+    Set<String> none
+) {
+    /** No restriction. */
+    public static final TagFilter NONE = new TagFilter(Set.of(), Set.of(), Set.of());
+
+    public TagFilter {
+        all = all != null ? Set.copyOf(all) : Set.of();
+        any = any != null ? Set.copyOf(any) : Set.of();
+        none = none != null ? Set.copyOf(none) : Set.of();
+    }
+
+    /**
+     * Filter requiring every given tag.
+     *
+     * @param tags tag names
+     * @return the filter
+     */
+    public static TagFilter allOf(Set<String> tags) {
+        return new TagFilter(tags, Set.of(), Set.of());
+    }
+
+    /** True if this filter lets every post through. */
+    public boolean isEmpty() {
+        return all.isEmpty() && any.isEmpty() && none.isEmpty();
+    }
+}
@@ -0,0 +1,129 @@
+package com.blogging_platform.classes;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * Converts ids between the canonical UUID string used in the application and the {@code BINARY(16)}
+ * stored in MySQL, in Java. DAOs bind and read the 16 raw bytes instead of wrapping every key in
+ * {@code UUID_TO_BIN(?)} / {@code BIN_TO_UUID(col)}, so the server compares and returns plain bytes and
+ * no 36-character strings cross the wire.
+ * <p>
+ * The byte layout is the UUID's big-endian bytes, the same as {@code UUID_TO_BIN(x)} without the swap
+ * flag, so rows written either way read back identically.
+ */
+public final class UuidCodec {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private UuidCodec() {}
+
+    /**
+     * Encodes a UUID as 16 big-endian bytes.
+     *
+     * @param uuid the UUID
+     * @return the bytes
+     */
+    public static byte[] toBytes(UUID uuid) {
+        byte[] bytes = new byte[16];
+        putLong(bytes, 0, uuid.getMostSignificantBits());
+        putLong(bytes, 8, uuid.getLeastSignificantBits());
+        return bytes;
+    }
+
+    /**
+     * Encodes a UUID string as 16 bytes.
+     *
+     * @param id canonical UUID string
+     * @return the bytes
+     * @throws IllegalArgumentException if {@code id} is not a UUID
+     */
+    public static byte[] toBytes(String id) {
+        return toBytes(UUID.fromString(id));
+    }
+
+    /**
+     * Decodes 16 bytes into a UUID.
+     *
+     * @param bytes the stored bytes
+     * @return the UUID
+     * @throws IllegalArgumentException if {@code bytes} is not 16 bytes long
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        checkLength(bytes);
+        return new UUID(getLong(bytes, 0), getLong(bytes, 8));
+    }
+
+    /**
+     * Decodes 16 bytes straight into the canonical lowercase UUID string (what {@code BIN_TO_UUID} returns).
+     *
+     * @param bytes the stored bytes
+     * @return the UUID string
+     * @throws IllegalArgumentException if {@code bytes} is not 16 bytes long
+     */
+    public static String toString(byte[] bytes) {
+        checkLength(bytes);
+        char[] chars = new char[36];
+        int c = 0;
+        for (int i = 0; i < 16; i++) {
+            if (i == 4 || i == 6 || i == 8 || i == 10) {
+                chars[c++] = '-';
+            }
+            chars[c++] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[c++] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Binds an id to a {@code BINARY(16)} parameter.
+     *
+     * @param statement the statement
+     * @param index     1-based parameter index
+     * @param id        canonical UUID string, or null
+     * @throws SQLException if binding fails
+     */
+    public static void bind(PreparedStatement statement, int index, String id) throws SQLException {
+        if (id == null) {
+            statement.setNull(index, Types.BINARY);
+        } else {
+            statement.setBytes(index, toBytes(id));
+        }
+    }
+
+    /**
+     * Reads a {@code BINARY(16)} column as an id.
+     *
+     * @param rs     the result set, positioned on a row
+     * @param column column label
+     * @return the UUID string, or null if the column is NULL
+     * @throws SQLException if reading fails
+     */
+    public static String read(ResultSet rs, String column) throws SQLException {
+        byte[] bytes = rs.getBytes(column);
+        return bytes != null ? toString(bytes) : null;
+    }
+
+    private static void checkLength(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            throw new IllegalArgumentException("Expected 16 bytes, got " + (bytes == null ? "null" : bytes.length));
+        }
+    }
+
+    private static void putLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
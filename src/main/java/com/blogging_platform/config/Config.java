@@ -64,16 +64,86 @@ public class Config {
      * @throws ConfigurationException if the key is not found
      */
     public static String get(String key) throws ConfigurationException {
-        // First check .env file, then fall back to system environment variables
+        String value = lookup(key);
+        if (value == null) {
+            throw new ConfigurationException(key, "Configuration key '" + key + "' not found in .env file or environment variables");
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value for the given key, or the default when the key is not set.
+     *
+     * @param key          the configuration key
+     * @param defaultValue value returned when the key is missing
+     * @return the configured value or the default
+     */
+    public static String get(String key, String defaultValue) {
+        String value = lookup(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Returns the integer value for the given key, or the default when the key is not set.
+     *
+     * @param key          the configuration key (e.g. DB_POOL_MAX_SIZE)
+     * @param defaultValue value returned when the key is missing
+     * @return the configured value or the default
+     * @throws ConfigurationException if the key is set but is not a valid integer
+     */
+    public static int getInt(String key, int defaultValue) throws ConfigurationException {
+        String value = lookup(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException(key, "Expected an integer but found '" + value + "'");
+        }
+    }
+
+    /**
+     * Returns the long value for the given key, or the default when the key is not set.
+     *
+     * @param key          the configuration key (e.g. DB_POOL_IDLE_TIMEOUT_MS)
+     * @param defaultValue value returned when the key is missing
+     * @return the configured value or the default
+     * @throws ConfigurationException if the key is set but is not a valid number
+     */
+    public static long getLong(String key, long defaultValue) throws ConfigurationException {
+        String value = lookup(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException(key, "Expected a number but found '" + value + "'");
+        }
+    }
+
+    /**
+     * Returns the boolean value for the given key ("true"/"false"), or the default when the key is not set.
+     *
+     * @param key          the configuration key
+     * @param defaultValue value returned when the key is missing
+     * @return the configured value or the default
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = lookup(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    /** Checks .env first, then system environment variables; returns null if the key is in neither. */
+    private static String lookup(String key) {
         String value = envVars.get(key);
         if (value != null) {
             return value;
         }
-        // Fall back to system environment variables
-        String envValue = System.getenv(key);
-        if (envValue == null) {
-            throw new ConfigurationException(key, "Configuration key '" + key + "' not found in .env file or environment variables");
-        }
-        return envValue;
+        return System.getenv(key);
     }
 }
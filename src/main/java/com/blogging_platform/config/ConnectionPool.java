@@ -0,0 +1,454 @@
+package com.blogging_platform.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.blogging_platform.exceptions.ConfigurationException;
+
+/**
+ * Bounded JDBC connection pool used by {@link DBConnection}.
+ * <p>
+ * Borrowed connections are proxies: calling {@code close()} returns the physical connection to the pool
+ * instead of closing it, so DAOs keep their try-with-resources pattern unchanged. The pool keeps at least
+ * {@code minIdle} connections warm, never opens more than {@code maxSize}, validates idle connections on
+ * borrow, evicts connections that sit idle too long or exceed their lifetime, and reports connections
+ * that are held longer than the leak-detection threshold.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /** Opens a new physical connection (e.g. via DriverManager). */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * Pool sizing and timing settings.
+     *
+     * @param minIdle                  connections kept open even when unused
+     * @param maxSize                  hard upper bound on open connections
+     * @param connectionTimeoutMs      how long a borrower waits before failing
+     * @param idleTimeoutMs            idle connections above minIdle are closed after this long
+     * @param maxLifetimeMs            connections are retired after this age (0 = unlimited)
+     * @param validationTimeoutSeconds timeout passed to {@link Connection#isValid(int)} on borrow
+     * @param leakDetectionThresholdMs report connections held longer than this (0 = disabled)
+     * @param housekeepingIntervalMs   how often eviction, top-up and leak checks run
+     */
+    public record Settings(
+        int minIdle,
+        int maxSize,
+        long connectionTimeoutMs,
+        long idleTimeoutMs,
+        long maxLifetimeMs,
+        int validationTimeoutSeconds,
+        long leakDetectionThresholdMs,
+        long housekeepingIntervalMs
+    ) {
+        public Settings {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("maxSize must be at least 1");
+            }
+            if (minIdle < 0 || minIdle > maxSize) {
+                throw new IllegalArgumentException("minIdle must be between 0 and maxSize");
+            }
+        }
+
+        /**
+         * Reads pool settings from {@link Config}, using defaults for keys that are not set.
+         *
+         * @return the settings
+         * @throws ConfigurationException if a key is set to an invalid number
+         */
+        public static Settings fromConfig() throws ConfigurationException {
+            return new Settings(
+                Config.getInt("DB_POOL_MIN_IDLE", 2),
+                Config.getInt("DB_POOL_MAX_SIZE", 10),
+                Config.getLong("DB_POOL_CONNECTION_TIMEOUT_MS", 30_000),
+                Config.getLong("DB_POOL_IDLE_TIMEOUT_MS", 600_000),
+                Config.getLong("DB_POOL_MAX_LIFETIME_MS", 1_800_000),
+                Config.getInt("DB_POOL_VALIDATION_TIMEOUT_SECONDS", 2),
+                Config.getLong("DB_POOL_LEAK_DETECTION_MS", 0),
+                Config.getLong("DB_POOL_HOUSEKEEPING_MS", 30_000));
+        }
+    }
+
+    /** Connections returned within this window are handed out again without a validation round trip. */
+    private static final long VALIDATION_SKIP_MS = 500;
+
+    /** Upper bounds (exclusive, in ms) of the wait-time histogram buckets; the last bucket is open-ended. */
+    private static final long[] WAIT_BUCKET_BOUNDS_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private final ConnectionFactory factory;
+    private final Settings settings;
+
+    /** Idle connections; most recently returned first so hot connections are reused. */
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> leased = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLongArray waitBuckets = new AtomicLongArray(WAIT_BUCKET_BOUNDS_MS.length + 1);
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool and starts its housekeeping thread (which also warms up minIdle connections).
+     *
+     * @param factory  opens physical connections
+     * @param settings pool sizing and timing
+     */
+    public ConnectionPool(ConnectionFactory factory, Settings settings) {
+        this(factory, settings, true);
+    }
+
+    /**
+     * Creates a pool, optionally without the housekeeping thread (tests call {@link #housekeep()} directly).
+     *
+     * @param factory              opens physical connections
+     * @param settings             pool sizing and timing
+     * @param scheduleHousekeeping whether to start the housekeeping thread
+     */
+    ConnectionPool(ConnectionFactory factory, Settings settings, boolean scheduleHousekeeping) {
+        this.factory = factory;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        if (scheduleHousekeeping) {
+            long interval = Math.max(1, settings.housekeepingIntervalMs());
+            housekeeper.scheduleWithFixedDelay(this::housekeep, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured connection timeout if the pool is exhausted.
+     *
+     * @return a pooled connection (closing it returns it to the pool)
+     * @throws SQLTransientConnectionException if no connection became available in time
+     * @throws SQLException if a new connection cannot be opened or the pool is closed
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        waiters.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(settings.connectionTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+        recordWait(System.nanoTime() - start);
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException("Timed out after " + settings.connectionTimeoutMs()
+                    + "ms waiting for a database connection (active=" + leased.size()
+                    + ", max=" + settings.maxSize() + ")");
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isUsable(pc)) {
+                    break;
+                }
+                discard(pc);
+            }
+            if (pc == null) {
+                pc = open();
+            }
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.leakReported = false;
+            pc.borrowSite = settings.leakDetectionThresholdMs() > 0 ? new Throwable("Connection borrowed here") : null;
+            leased.add(pc);
+            borrows.increment();
+            return proxy(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the current pool state and wait-time distribution.
+     *
+     * @return pool statistics
+     */
+    public PoolStats getStats() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < WAIT_BUCKET_BOUNDS_MS.length; i++) {
+            histogram.put("<" + WAIT_BUCKET_BOUNDS_MS[i] + "ms", waitBuckets.get(i));
+        }
+        histogram.put(">=" + WAIT_BUCKET_BOUNDS_MS[WAIT_BUCKET_BOUNDS_MS.length - 1] + "ms",
+                waitBuckets.get(WAIT_BUCKET_BOUNDS_MS.length));
+        long borrowCount = borrows.sum() + timeouts.sum();
+        int active = leased.size();
+        int idleCount = idle.size();
+        return new PoolStats(
+            active + idleCount,
+            active,
+            idleCount,
+            waiters.get(),
+            settings.maxSize(),
+            borrows.sum(),
+            timeouts.sum(),
+            created.sum(),
+            evicted.sum(),
+            leaks.sum(),
+            borrowCount == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / borrowCount,
+            maxWaitNanos.get() / 1_000_000.0,
+            histogram);
+    }
+
+    /** Stops housekeeping and closes all idle connections; leased connections are closed when returned. */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            discard(pc);
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection raw = factory.create();
+        created.increment();
+        return new PooledConnection(raw);
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        long now = System.currentTimeMillis();
+        if (isExpired(pc, now)) {
+            return false;
+        }
+        if (now - pc.lastReturnedAt < VALIDATION_SKIP_MS) {
+            return true;
+        }
+        try {
+            return pc.raw.isValid(settings.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pc, long now) {
+        return settings.maxLifetimeMs() > 0 && now - pc.createdAt >= settings.maxLifetimeMs();
+    }
+
+    /** Called when a borrower closes its proxy: resets session state and puts the connection back. */
+    private void release(PooledConnection pc) {
+        if (!leased.remove(pc)) {
+            return;
+        }
+        try {
+            boolean reusable = !closed && !pc.broken && !isExpired(pc, System.currentTimeMillis());
+            if (reusable) {
+                try {
+                    if (!pc.raw.getAutoCommit()) {
+                        pc.raw.rollback();
+                        pc.raw.setAutoCommit(true);
+                    }
+                    pc.raw.clearWarnings();
+                    reusable = !pc.raw.isClosed();
+                } catch (SQLException e) {
+                    reusable = false;
+                }
+            }
+            if (reusable) {
+                pc.lastReturnedAt = System.currentTimeMillis();
+                pc.borrowSite = null;
+                idle.offerFirst(pc);
+            } else {
+                discard(pc);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        evicted.increment();
+        try {
+            pc.raw.close();
+        } catch (SQLException e) {
+            // Connection is being thrown away; nothing else to do
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = WAIT_BUCKET_BOUNDS_MS.length;
+        for (int i = 0; i < WAIT_BUCKET_BOUNDS_MS.length; i++) {
+            if (millis < WAIT_BUCKET_BOUNDS_MS[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        waitBuckets.incrementAndGet(bucket);
+    }
+
+    /**
+     * Evicts idle/expired connections, tops up to minIdle, and reports suspected leaks. Synchronized so
+     * the scheduled run and a direct call never both see the pool short and both open a connection.
+     */
+    synchronized void housekeep() {
+        if (closed) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledConnection pc = it.next();
+            boolean idleTooLong = settings.idleTimeoutMs() > 0
+                    && now - pc.lastReturnedAt >= settings.idleTimeoutMs()
+                    && idle.size() + leased.size() > settings.minIdle();
+            if ((idleTooLong || isExpired(pc, now)) && idle.remove(pc)) {
+                discard(pc);
+            }
+        }
+
+        // A warm connection holds a permit while it is opened, like a borrower does, so a borrow that
+        // opens its own connection at the same time cannot take the pool past maxSize
+        while (!closed && idle.size() + leased.size() < settings.minIdle() && permits.tryAcquire()) {
+            try {
+                PooledConnection pc = open();
+                pc.lastReturnedAt = System.currentTimeMillis();
+                idle.offerLast(pc);
+            } catch (SQLException e) {
+                System.err.println("Connection pool could not open a warm connection: " + e.getMessage());
+                break;
+            } finally {
+                permits.release();
+            }
+        }
+
+        if (settings.leakDetectionThresholdMs() > 0) {
+            List<PooledConnection> suspects = new ArrayList<>();
+            for (PooledConnection pc : leased) {
+                if (!pc.leakReported && now - pc.borrowedAt >= settings.leakDetectionThresholdMs()) {
+                    suspects.add(pc);
+                }
+            }
+            for (PooledConnection pc : suspects) {
+                pc.leakReported = true;
+                leaks.increment();
+                System.err.println("Possible connection leak: connection held for " + (now - pc.borrowedAt) + "ms");
+                if (pc.borrowSite != null) {
+                    pc.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private Connection proxy(PooledConnection pc) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new LeaseHandler(pc));
+    }
+
+    /** A physical connection plus the bookkeeping the pool needs for it. */
+    private static final class PooledConnection {
+        final Connection raw;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastReturnedAt = createdAt;
+        volatile long borrowedAt;
+        volatile boolean leakReported;
+        volatile boolean broken;
+        volatile Throwable borrowSite;
+
+        PooledConnection(Connection raw) {
+            this.raw = raw;
+        }
+    }
+
+    /** Proxy handler for one lease: close() returns the connection, and it is unusable afterwards. */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean returned;
+
+        LeaseHandler(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pc.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pc.raw + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(pc.raw, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sqlException && isFatal(sqlException)) {
+                    pc.broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        /** SQLState class 08 means the connection itself is gone; it must not be reused. */
+        private boolean isFatal(SQLException e) {
+            String state = e.getSQLState();
+            return state != null && state.startsWith("08");
+        }
+    }
+}
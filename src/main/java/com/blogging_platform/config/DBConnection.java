@@ -8,19 +8,28 @@ import com.blogging_platform.exceptions.ConfigurationException;
 
 /**
  * Provides JDBC connections to the MySQL database using credentials from {@link Config}.
- * Connection URL, username, and password are loaded at class initialization.
+ * Connections are served from a bounded {@link ConnectionPool}; closing a connection returns it to the pool.
+ * Prepared statements are cached per physical connection by the driver ({@link StatementCacheSettings}).
+ * Connection URL, credentials, and pool settings are loaded at class initialization.
  */
 public class DBConnection {
     private static String db_name;
     private static String username;
     private static String password;
     private static String databaseUrl;
+    private static ConnectionPool pool;
     static {
         try {
             db_name = Config.get("DB_NAME");
             username = Config.get("USERNAME");
             password = Config.get("PASSWORD");
-            databaseUrl = "jdbc:mysql://localhost:3306/" + db_name + "?allowPublicKeyRetrieval=true&useSSL=false";
+            // rewriteBatchedStatements: the driver sends an executeBatch() of INSERTs as one multi-row INSERT
+            databaseUrl = "jdbc:mysql://localhost:3306/" + db_name + "?allowPublicKeyRetrieval=true&useSSL=false"
+                    + "&rewriteBatchedStatements=true"
+                    + StatementCacheSettings.fromConfig().toUrlParameters();
+            pool = new ConnectionPool(
+                () -> DriverManager.getConnection(databaseUrl, username, password),
+                ConnectionPool.Settings.fromConfig());
         } catch(ConfigurationException e){
             throw new RuntimeException("Failed to initialize database configuration", e);
 
@@ -28,13 +37,26 @@ public class DBConnection {
     }
 
     /**
-     * Returns a new connection to the database.
+     * Borrows a connection from the pool.
      *
-     * @return a JDBC connection (caller must close it)
-     * @throws SQLException if the connection cannot be established
+     * @return a JDBC connection (caller must close it, which returns it to the pool)
+     * @throws SQLException if no connection is available within the pool timeout or one cannot be opened
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(databaseUrl, username, password);
+        return pool.getConnection();
+    }
+
+    /**
+     * Returns current pool statistics (active, idle, waiters, wait-time histogram).
+     *
+     * @return a snapshot of the pool state
+     */
+    public static PoolStats getPoolStats() {
+        return pool.getStats();
     }
-}
 
+    /** Closes all pooled connections. Called when the application exits. */
+    public static void shutdown() {
+        pool.close();
+    }
+}
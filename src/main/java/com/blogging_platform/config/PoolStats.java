@@ -0,0 +1,32 @@
+package com.blogging_platform.config;
+
+import java.util.Map;
+
+/**
+ * Immutable snapshot of {@link ConnectionPool} state, as returned by {@link DBConnection#getPoolStats()}.
+ * The wait-time histogram maps a bucket label (e.g. "<5ms") to the number of borrows whose wait fell in it.
+ */
+public record PoolStats(
+    int total,
+    int active,
+    int idle,
+    int waiters,
+    int maxSize,
+    long borrows,
+    long timeouts,
+    long created,
+    long evicted,
+    long leaksDetected,
+    double meanWaitMillis,
+    double maxWaitMillis,
+    Map<String, Long> waitTimeHistogram
+) {
+
+    @Override
+    public String toString() {
+        return String.format(
+            "PoolStats[total=%d, active=%d, idle=%d, waiters=%d, max=%d, borrows=%d, timeouts=%d, created=%d, evicted=%d, leaks=%d, meanWait=%.2fms, maxWait=%.2fms, histogram=%s]",
+            total, active, idle, waiters, maxSize, borrows, timeouts, created, evicted, leaksDetected,
+            meanWaitMillis, maxWaitMillis, waitTimeHistogram);
+    }
+}
@@ -0,0 +1,51 @@
+package com.blogging_platform.config;
+
+import com.blogging_platform.exceptions.ConfigurationException;
+
+/**
+ * MySQL Connector/J prepared-statement cache settings, appended to the JDBC URL by {@link DBConnection}.
+ * <p>
+ * With {@code cachePrepStmts} the driver keeps prepared statements per physical connection, keyed by SQL
+ * text, and {@code close()} returns a statement to that cache instead of discarding it. With
+ * {@code useServerPrepStmts} the server parses and plans each statement once and later executions only
+ * send parameters in the binary protocol. {@link ConnectionPool} keeps physical connections open across
+ * borrows, so a hot query is prepared once per connection lifetime rather than once per call.
+ *
+ * @param cachePrepStmts     cache prepared statements per connection
+ * @param useServerPrepStmts use server-side prepared statements
+ * @param cacheSize          statements cached per connection
+ * @param cacheSqlLimit      longest SQL text (characters) that is cached
+ */
+public record StatementCacheSettings(
+    boolean cachePrepStmts,
+    boolean useServerPrepStmts,
+    int cacheSize,
+    int cacheSqlLimit
+) {
+
+    /**
+     * Reads statement cache settings from {@link Config}, using defaults for keys that are not set.
+     *
+     * @return the settings
+     * @throws ConfigurationException if a key is set to an invalid number
+     */
+    public static StatementCacheSettings fromConfig() throws ConfigurationException {
+        return new StatementCacheSettings(
+            Config.getBoolean("DB_CACHE_PREP_STMTS", true),
+            Config.getBoolean("DB_USE_SERVER_PREP_STMTS", true),
+            Config.getInt("DB_PREP_STMT_CACHE_SIZE", 250),
+            Config.getInt("DB_PREP_STMT_CACHE_SQL_LIMIT", 4096));
+    }
+
+    /**
+     * Connection URL parameters for these settings.
+     *
+     * @return parameters, each prefixed with {@code &}
+     */
+    public String toUrlParameters() {
+        return "&cachePrepStmts=" + cachePrepStmts
+            + "&useServerPrepStmts=" + useServerPrepStmts
+            + "&prepStmtCacheSize=" + cacheSize
+            + "&prepStmtCacheSqlLimit=" + cacheSqlLimit;
+    }
+}
@@ -3,6 +3,8 @@ package com.blogging_platform.dao.interfaces;
 import java.util.List;
 
 import com.blogging_platform.classes.CommentRecord;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
 import com.blogging_platform.exceptions.CommentNotFoundException;
 import com.blogging_platform.exceptions.DatabaseQueryException;
 import com.blogging_platform.model.Comment;
@@ -13,15 +15,17 @@ import com.blogging_platform.model.Comment;
 public interface CommentDAO {
 
     /**
-     * Inserts a new comment on a post.
+     * Inserts a new comment on a post. The id is generated here and the timestamp is the comment's
+     * datetime, so callers know the stored row without reading it back.
      *
-     * @param comment the comment (content, user id, post id)
+     * @param comment the comment (content, user id, post id, datetime)
+     * @return the new comment's id
      * @throws DatabaseQueryException if the insert fails
      */
-    void create(Comment comment) throws DatabaseQueryException;
+    String create(Comment comment) throws DatabaseQueryException;
 
     /**
-     * Returns all comments for a post, ordered by date.
+     * Returns all comments for a post, newest first.
      *
      * @param postId post id
      * @return list of comment records
@@ -29,6 +33,18 @@ public interface CommentDAO {
      */
     List<CommentRecord> getComments(String postId) throws DatabaseQueryException;
 
+    /**
+     * Returns one page of a post's comments, newest first, using a keyset seek on {@code (datetime, id)}
+     * rather than an offset, so deep pages of long threads cost the same as the first.
+     *
+     * @param postId   post id
+     * @param cursor   cursor from the previous page, or null for the first page
+     * @param pageSize maximum number of comments to return
+     * @return the page of comments, with a cursor for the next page if there is one
+     * @throws DatabaseQueryException if the query fails
+     */
+    Page<CommentRecord> getCommentsPage(String postId, PageCursor cursor, int pageSize) throws DatabaseQueryException;
+
     /**
      * Fetches a single comment by id.
      *
@@ -40,9 +56,9 @@ public interface CommentDAO {
     CommentRecord getComment(String commentId) throws DatabaseQueryException, CommentNotFoundException;
 
     /**
-     * Updates an existing comment. Only the author may update.
+     * Updates an existing comment's content and timestamp. Only the author may update.
      *
-     * @param comment the comment with updated content
+     * @param comment the comment with updated content and datetime
      * @throws CommentNotFoundException if the comment does not exist
      * @throws DatabaseQueryException if the update fails
      */
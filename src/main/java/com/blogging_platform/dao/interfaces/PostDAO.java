@@ -1,20 +1,30 @@
 package com.blogging_platform.dao.interfaces;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.PageDirection;
 import com.blogging_platform.classes.PostRecord;
+import com.blogging_platform.classes.PostSummary;
+import com.blogging_platform.classes.PostsWatermark;
+import com.blogging_platform.classes.SearchMode;
 import com.blogging_platform.exceptions.DatabaseQueryException;
 import com.blogging_platform.exceptions.PostNotFoundException;
 import com.blogging_platform.model.Post;
 
 /**
  * Data access interface for blog posts. Handles create, read, update, delete,
- * and listing of posts (all published or by user).
+ * and listing of posts (all published or by user). Listings return {@link PostSummary}
+ * projections without the full content; only single-post reads return a {@link PostRecord}.
  */
 public interface PostDAO {
 
     /**
-     * Inserts a new post and returns its generated id.
+     * Inserts a new post with an id generated by {@link com.blogging_platform.classes.IdGenerator}
+     * and returns that id.
      *
      * @param post the post to create
      * @return the new post's id
@@ -22,6 +32,17 @@ public interface PostDAO {
      */
     String create(Post post) throws DatabaseQueryException;
 
+    /**
+     * Inserts a new post and links it to the named tags in one transaction on one connection; the links
+     * are written as a single batch. Names that match no tag are ignored.
+     *
+     * @param post     the post to create
+     * @param tagNames names of the tags to link (may be null or empty)
+     * @return the new post's id
+     * @throws DatabaseQueryException if the insert fails (nothing is written)
+     */
+    String createWithTags(Post post, Collection<String> tagNames) throws DatabaseQueryException;
+
     /**
      * Fetches a post by id for a specific user (ownership check).
      *
@@ -34,21 +55,75 @@ public interface PostDAO {
     PostRecord getByID(String postId, String userId) throws DatabaseQueryException, PostNotFoundException;
 
     /**
-     * Returns all published posts.
+     * Returns summaries of all published posts, newest first.
      *
-     * @return list of published post records
+     * @return list of published post summaries
      * @throws DatabaseQueryException if the query fails
      */
-    List<PostRecord> getAll() throws DatabaseQueryException;
+    List<PostSummary> getAll() throws DatabaseQueryException;
+
+    /**
+     * Returns one page of published posts, newest first, using a keyset seek on
+     * {@code (published_datetime, id)} rather than an offset.
+     *
+     * @param cursor    position to read from, or null for the first page (last page when reading backward)
+     * @param pageSize  maximum number of posts to return
+     * @param direction {@code FORWARD} for posts after the cursor, {@code BACKWARD} for posts before it
+     * @return the page of summaries, with cursors for the neighbouring pages
+     * @throws DatabaseQueryException if the query fails
+     */
+    Page<PostSummary> getPage(PageCursor cursor, int pageSize, PageDirection direction) throws DatabaseQueryException;
+
+    /**
+     * Full-text search over published posts using the FULLTEXT indexes on title, title + content and
+     * author name. Results are ranked by relevance (title matches weigh most, then content, then author).
+     * Pages are offset based: relevance scores are not a stable seek key. In boolean mode all terms of
+     * an alternative must match within title and content, or within the author name (see
+     * {@link SearchMode#BOOLEAN}).
+     *
+     * @param query    search text
+     * @param mode     natural-language or boolean (prefix, AND/OR) matching
+     * @param cursor   offset cursor from a previous page ({@link PageCursor#atOffset}), or null for the first page
+     * @param pageSize maximum number of posts to return
+     * @return the page of summaries, best match first, with offset cursors for the neighbouring pages
+     * @throws DatabaseQueryException if the query fails
+     */
+    Page<PostSummary> search(String query, SearchMode mode, PageCursor cursor, int pageSize) throws DatabaseQueryException;
+
+    /**
+     * Returns every post (any status) whose {@code updated_at} is at or after the given time.
+     * Used by the cache to apply incremental changes; non-published rows tell it what to drop.
+     *
+     * @param since lower bound (inclusive) on updated_at
+     * @return summaries of the changed posts, oldest change first
+     * @throws DatabaseQueryException if the query fails
+     */
+    List<PostSummary> getChangedSince(LocalDateTime since) throws DatabaseQueryException;
+
+    /**
+     * Returns the current change watermark: published post count and latest updated_at.
+     *
+     * @return the watermark
+     * @throws DatabaseQueryException if the query fails
+     */
+    PostsWatermark getWatermark() throws DatabaseQueryException;
+
+    /**
+     * Repairs drift in the denormalised {@code posts.comment_count} column by recounting comments.
+     *
+     * @return number of posts whose count was corrected
+     * @throws DatabaseQueryException if the update fails
+     */
+    int reconcileCommentCounts() throws DatabaseQueryException;
 
     /**
      * Returns posts for a given user (for admin/list view).
      *
      * @param userId user id
-     * @return list of post records
+     * @return list of post summaries
      * @throws DatabaseQueryException if the query fails
      */
-    List<PostRecord> getAll(String userId) throws DatabaseQueryException;
+    List<PostSummary> getAll(String userId) throws DatabaseQueryException;
 
     /**
      * Fetches a post by id (no ownership check).
@@ -60,6 +135,16 @@ public interface PostDAO {
      */
     PostRecord getByID(String postId) throws DatabaseQueryException, PostNotFoundException;
 
+    /**
+     * Fetches a post's summary by id (no content, no ownership check).
+     *
+     * @param postId post id
+     * @return the post summary
+     * @throws PostNotFoundException if the post does not exist
+     * @throws DatabaseQueryException if the query fails
+     */
+    PostSummary getSummaryByID(String postId) throws DatabaseQueryException, PostNotFoundException;
+
     /**
      * Updates an existing post.
      *
@@ -69,6 +154,19 @@ public interface PostDAO {
      */
     void edit(Post post) throws DatabaseQueryException, PostNotFoundException;
 
+    /**
+     * Updates a post and sets its tags to exactly the named ones, in one transaction on one connection.
+     * Only the difference from the stored links is written: removed links in one DELETE, new links in
+     * one batch. Names that match no tag are ignored.
+     *
+     * @param post     the post with updated fields
+     * @param tagNames names of the tags the post should have (empty removes all)
+     * @return true if the post's tag links changed
+     * @throws PostNotFoundException if the post does not exist (nothing is written)
+     * @throws DatabaseQueryException if the update fails (nothing is written)
+     */
+    boolean editWithTags(Post post, Collection<String> tagNames) throws DatabaseQueryException, PostNotFoundException;
+
     /**
      * Deletes a post. Only the owner can delete.
      *
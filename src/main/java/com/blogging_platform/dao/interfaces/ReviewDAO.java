@@ -1,7 +1,12 @@
 package com.blogging_platform.dao.interfaces;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.RatingSummary;
 import com.blogging_platform.classes.ReviewRecord;
 import com.blogging_platform.exceptions.DatabaseQueryException;
 import com.blogging_platform.exceptions.DuplicateResourceException;
@@ -13,16 +18,17 @@ import com.blogging_platform.model.Review;
 public interface ReviewDAO {
 
     /**
-     * Inserts a new review for a post. One review per user per post.
+     * Inserts a new review for a post. One review per user per post. The id is generated here.
      *
      * @param review the review (post id, user id, rating, message)
+     * @return the new review's id
      * @throws DuplicateResourceException if the user has already reviewed the post
      * @throws DatabaseQueryException if the insert fails
      */
-    void create(Review review) throws DatabaseQueryException, DuplicateResourceException;
+    String create(Review review) throws DatabaseQueryException, DuplicateResourceException;
 
     /**
-     * Returns all reviews for a post.
+     * Returns all reviews for a post, newest first.
      *
      * @param postId post id
      * @return list of review records (with author name when available)
@@ -30,6 +36,36 @@ public interface ReviewDAO {
      */
     List<ReviewRecord> getReviewsByPostId(String postId) throws DatabaseQueryException;
 
+    /**
+     * Returns one page of a post's reviews, newest first (ties by id descending). Pages are read with a
+     * keyset seek on (created_at, id), so later pages cost the same as the first.
+     *
+     * @param postId   post id
+     * @param cursor   cursor from the previous page's {@link Page#nextCursor()}, or null for the first page
+     * @param pageSize maximum number of reviews to return
+     * @return the page; its next cursor is null when there are no further reviews
+     * @throws DatabaseQueryException if the query fails
+     */
+    Page<ReviewRecord> getReviewsPage(String postId, PageCursor cursor, int pageSize) throws DatabaseQueryException;
+
+    /**
+     * Returns the rating aggregate (count, sum, 1–5 histogram) for a post without loading review rows.
+     *
+     * @param postId post id
+     * @return the summary (empty if the post has no reviews)
+     * @throws DatabaseQueryException if the query fails
+     */
+    RatingSummary getRatingSummary(String postId) throws DatabaseQueryException;
+
+    /**
+     * Returns rating aggregates for many posts in one grouped query.
+     *
+     * @param postIds post ids
+     * @return map of post id to summary; every requested id is present (empty summary if no reviews)
+     * @throws DatabaseQueryException if the query fails
+     */
+    Map<String, RatingSummary> getRatingSummaries(Collection<String> postIds) throws DatabaseQueryException;
+
     /**
      * Fetches a single review by id.
      *
@@ -1,6 +1,8 @@
 package com.blogging_platform.dao.interfaces;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.blogging_platform.classes.TagRecord;
 import com.blogging_platform.exceptions.DatabaseQueryException;
@@ -13,13 +15,14 @@ import com.blogging_platform.model.Tag;
 public interface TagDAO {
 
     /**
-     * Creates a new tag. Tag names must be unique.
+     * Creates a new tag. Tag names must be unique. The id is generated here.
      *
      * @param tag the tag (name)
+     * @return the new tag's id
      * @throws DuplicateResourceException if a tag with the same name exists
      * @throws DatabaseQueryException if the insert fails
      */
-    void create(Tag tag) throws DatabaseQueryException, DuplicateResourceException;
+    String create(Tag tag) throws DatabaseQueryException, DuplicateResourceException;
 
     /**
      * Returns all tags, ordered by name.
@@ -72,4 +75,23 @@ public interface TagDAO {
      * @throws DatabaseQueryException if the query fails
      */
     List<TagRecord> getTagsByPostId(String postId) throws DatabaseQueryException;
+
+    /**
+     * Returns tag names for many posts at once (post id -> tag names, ordered by name).
+     * Posts without tags are absent from the map.
+     *
+     * @param postIds post ids
+     * @return map of post id to tag names
+     * @throws DatabaseQueryException if the query fails
+     */
+    Map<String, List<String>> getTagNamesByPostIds(Collection<String> postIds) throws DatabaseQueryException;
+
+    /**
+     * Returns tag names for every published post in a single streamed query.
+     * Posts without tags are absent from the map.
+     *
+     * @return map of post id to tag names
+     * @throws DatabaseQueryException if the query fails
+     */
+    Map<String, List<String>> getTagNamesForPublishedPosts() throws DatabaseQueryException;
 }
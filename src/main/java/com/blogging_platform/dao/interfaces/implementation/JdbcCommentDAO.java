@@ -9,6 +9,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.blogging_platform.classes.CommentRecord;
+import com.blogging_platform.classes.CommentThreadCache;
+import com.blogging_platform.classes.IdGenerator;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.UuidCodec;
 import com.blogging_platform.config.DBConnection;
 import com.blogging_platform.dao.interfaces.CommentDAO;
 import com.blogging_platform.exceptions.CommentNotFoundException;
@@ -17,25 +22,43 @@ import com.blogging_platform.model.Comment;
 
 /**
  * JDBC implementation of {@link CommentDAO}. Persists comments to MySQL and joins with users for author names.
+ * Create and delete also maintain the denormalised {@code posts.comment_count} in the same transaction.
  */
 public class JdbcCommentDAO implements CommentDAO {
 
     @Override
-    public void create(Comment comment) throws DatabaseQueryException {
+    public String create(Comment comment) throws DatabaseQueryException {
         String sql = """
-            INSERT INTO comments (user_id, post_id, comment, datetime)
-            VALUES (UUID_TO_BIN(?), UUID_TO_BIN(?), ?, NOW());                
+            INSERT INTO comments (id, user_id, post_id, comment, datetime)
+            VALUES (?, ?, ?, ?, ?);
             """;
-        try (Connection conn = DBConnection.getConnection();
-                PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, comment.getUserId());
-            statement.setString(2, comment.getPostId());
-            statement.setString(3, comment.getComment());
-            int inserted = statement.executeUpdate();
-            if (inserted != 1) {
-                throw new DatabaseQueryException("Failed to add comment");
+        String counterSql = """
+            UPDATE posts SET comment_count = comment_count + 1 WHERE id = ?;
+            """;
+        try (Connection conn = DBConnection.getConnection()) {
+            // Insert and counter bump commit together so posts.comment_count never misses a comment
+            conn.setAutoCommit(false);
+            try (PreparedStatement statement = conn.prepareStatement(sql);
+                    PreparedStatement counter = conn.prepareStatement(counterSql)) {
+                String id = IdGenerator.newId();
+                UuidCodec.bind(statement, 1, id);
+                UuidCodec.bind(statement, 2, comment.getUserId());
+                UuidCodec.bind(statement, 3, comment.getPostId());
+                statement.setString(4, comment.getComment());
+                statement.setObject(5, comment.getDatetime());
+                int inserted = statement.executeUpdate();
+                if (inserted != 1) {
+                    conn.rollback();
+                    throw new DatabaseQueryException("Failed to add comment");
+                }
+                UuidCodec.bind(counter, 1, comment.getPostId());
+                counter.executeUpdate();
+                conn.commit();
+                return id;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
-
         } catch (SQLException e) {
             throw new DatabaseQueryException("Failed to add comment post", sql, e);
         }
@@ -44,31 +67,13 @@ public class JdbcCommentDAO implements CommentDAO {
     @Override
     public List<CommentRecord> getComments(String postId) throws DatabaseQueryException {
         List<CommentRecord> comments = new ArrayList<>();
-        String sql = """
-            SELECT 
-                BIN_TO_UUID(c.id) AS id,
-                BIN_TO_UUID(c.post_id) AS postId,
-                BIN_TO_UUID(c.user_id) AS userId,
-                COALESCE(u.name, 'Unknown') AS authorName,
-                c.comment,
-                c.datetime AS date
-                FROM comments c
-                LEFT JOIN users u ON c.user_id = u.id
-                WHERE c.post_id = UUID_TO_BIN(?)
-                ORDER BY c.datetime DESC;           
-            """;
+        String sql = SqlStatements.COMMENTS_BY_POST;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-                statement.setString(1, postId);
+                UuidCodec.bind(statement, 1, postId);
             try (ResultSet rs = statement.executeQuery()) {
                 while (rs.next()) {
-                    comments.add(new CommentRecord(
-                            rs.getString("id"),
-                            rs.getString("postId"),
-                            rs.getString("userId"),
-                            rs.getString("authorName"),
-                            rs.getString("comment"),
-                            rs.getObject("date", LocalDateTime.class)));       
+                    comments.add(readComment(rs));
                 }
             }
             return comments;
@@ -78,20 +83,64 @@ public class JdbcCommentDAO implements CommentDAO {
         }
     }
 
+    @Override
+    public Page<CommentRecord> getCommentsPage(String postId, PageCursor cursor, int pageSize) throws DatabaseQueryException {
+        int limit = Math.max(1, pageSize);
+        String sql = cursor != null ? SqlStatements.COMMENTS_PAGE_BY_POST_AFTER : SqlStatements.COMMENTS_PAGE_BY_POST;
+        List<CommentRecord> comments = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql)) {
+            int index = 1;
+            UuidCodec.bind(statement, index++, postId);
+            if (cursor != null) {
+                statement.setObject(index++, cursor.timestamp());
+                statement.setObject(index++, cursor.timestamp());
+                UuidCodec.bind(statement, index++, cursor.id());
+            }
+            statement.setInt(index, limit + 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    comments.add(readComment(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to load comments page", sql, e);
+        }
+
+        boolean more = comments.size() > limit;
+        if (more) {
+            comments.remove(comments.size() - 1);
+        }
+        return new Page<>(comments,
+                more ? CommentThreadCache.cursorOf(comments.get(comments.size() - 1)) : null,
+                null);
+    }
+
+    private static CommentRecord readComment(ResultSet rs) throws SQLException {
+        return new CommentRecord(
+                UuidCodec.read(rs, "id"),
+                UuidCodec.read(rs, "postId"),
+                UuidCodec.read(rs, "userId"),
+                rs.getString("authorName"),
+                rs.getString("comment"),
+                rs.getObject("date", LocalDateTime.class));
+    }
+
     @Override
     public void edit(Comment comment) throws DatabaseQueryException, CommentNotFoundException {
         String sql = """
             UPDATE comments 
                 SET comment = ?,
-                datetime = NOW()
-            WHERE id = UUID_TO_BIN(?) AND user_id = UUID_TO_BIN(?)
+                datetime = ?
+            WHERE id = ? AND user_id = ?
                 """;
         try (Connection conn = DBConnection.getConnection();
         PreparedStatement statement = conn.prepareStatement(sql)) 
         {
             statement.setString(1, comment.getComment());
-            statement.setString(2, comment.getId());
-            statement.setString(3, comment.getUserId());
+            statement.setObject(2, comment.getDatetime());
+            UuidCodec.bind(statement, 3, comment.getId());
+            UuidCodec.bind(statement, 4, comment.getUserId());
 
 
             int updated = statement.executeUpdate();
@@ -106,21 +155,40 @@ public class JdbcCommentDAO implements CommentDAO {
 
     @Override
     public void delete(String commentId, String userId) throws DatabaseQueryException, CommentNotFoundException {
+        String counterSql = """
+                UPDATE posts p
+                INNER JOIN comments c ON c.post_id = p.id
+                SET p.comment_count = GREATEST(p.comment_count - 1, 0)
+                WHERE c.id = ? AND c.user_id = ?;
+                """;
         String sql = """
-                DELETE FROM comments WHERE id = UUID_TO_BIN(?) AND user_id = UUID_TO_BIN(?);
+                DELETE FROM comments WHERE id = ? AND user_id = ?;
                 """;
-        try (Connection conn = DBConnection.getConnection();
-        PreparedStatement statement = conn.prepareStatement(sql))
-        {
-            statement.setString(1, commentId);
-            statement.setString(2, userId);
-            int deleted = statement.executeUpdate();
-            
-            if (deleted == 0) {
-                throw new CommentNotFoundException(commentId);
-            }
-            if (deleted != 1) {
-                throw new DatabaseQueryException("Failed to delete comment");
+        try (Connection conn = DBConnection.getConnection()) {
+            // Decrement first (the join needs the comment row), then delete, in one transaction
+            conn.setAutoCommit(false);
+            try (PreparedStatement counter = conn.prepareStatement(counterSql);
+                    PreparedStatement statement = conn.prepareStatement(sql)) {
+                UuidCodec.bind(counter, 1, commentId);
+                UuidCodec.bind(counter, 2, userId);
+                counter.executeUpdate();
+
+                UuidCodec.bind(statement, 1, commentId);
+                UuidCodec.bind(statement, 2, userId);
+                int deleted = statement.executeUpdate();
+
+                if (deleted == 0) {
+                    conn.rollback();
+                    throw new CommentNotFoundException(commentId);
+                }
+                if (deleted != 1) {
+                    conn.rollback();
+                    throw new DatabaseQueryException("Failed to delete comment");
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
         } catch (SQLException e) {
             throw new DatabaseQueryException("Failed to delete comment", sql, e);
@@ -131,26 +199,26 @@ public class JdbcCommentDAO implements CommentDAO {
     public CommentRecord getComment(String commentId) throws DatabaseQueryException, CommentNotFoundException {
         String sql = """
                 SELECT 
-                BIN_TO_UUID(c.id) AS id,
-                BIN_TO_UUID(c.post_id) post_id,
+                c.id,
+                c.post_id post_id,
                 c.comment,
                 c.datetime,
                 COALESCE(u.name, 'Unknown') AS author_name,
-                BIN_TO_UUID(u.id) AS user_id
+                u.id AS user_id
                 FROM comments c
                 LEFT JOIN users u ON c.user_id = u.id
-                WHERE c.id = UUID_TO_BIN(?);
+                WHERE c.id = ?;
                 """;
         try (Connection conn = DBConnection.getConnection();
         PreparedStatement statement = conn.prepareStatement(sql))
         {
-            statement.setString(1, commentId);
+            UuidCodec.bind(statement, 1, commentId);
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
                     return new CommentRecord(
-                        rs.getString("id"),
-                        rs.getString("post_id"), 
-                        rs.getString("user_id"),
+                        UuidCodec.read(rs, "id"),
+                        UuidCodec.read(rs, "post_id"), 
+                        UuidCodec.read(rs, "user_id"),
                         rs.getString("author_name"),
                         rs.getString("comment"),
                         rs.getObject("datetime", LocalDateTime.class)
@@ -6,9 +6,21 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import com.blogging_platform.classes.IdGenerator;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.PageDirection;
 import com.blogging_platform.classes.PostRecord;
+import com.blogging_platform.classes.PostSummary;
+import com.blogging_platform.classes.PostsWatermark;
+import com.blogging_platform.classes.SearchMode;
+import com.blogging_platform.classes.UuidCodec;
 import com.blogging_platform.config.DBConnection;
 import com.blogging_platform.dao.interfaces.PostDAO;
 import com.blogging_platform.exceptions.DatabaseQueryException;
@@ -17,80 +29,157 @@ import com.blogging_platform.model.Post;
 
 /**
  * JDBC implementation of {@link PostDAO}. Persists posts to MySQL using {@link DBConnection},
- * with UUIDs stored as BINARY(16) and converted via BIN_TO_UUID / UUID_TO_BIN.
+ * with UUIDs stored as BINARY(16) and bound/read as raw bytes through {@link UuidCodec}.
  */
 public class JdbcPostDAO implements PostDAO {
 
+    private static PostSummary readSummary(ResultSet rs) throws SQLException {
+        return new PostSummary(
+                UuidCodec.read(rs, "id"),
+                rs.getString("title"),
+                PostSummary.excerptOf(rs.getString("content_prefix")),
+                rs.getString("status"),
+                rs.getString("author"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("published_datetime", LocalDateTime.class),
+                rs.getInt("comment_count"),
+                UuidCodec.read(rs, "user_id"));
+    }
+
     @Override
     public String create(Post post) throws DatabaseQueryException {
-        String sql = """
-                INSERT INTO posts (user_id, title, content, status, created_at, published_datetime) VALUES (UUID_TO_BIN(?),?,?,?,?,?);
-                """;
-        try (Connection conn = DBConnection.getConnection();
-                PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, post.getUserId());
-            statement.setString(2, post.getTitle());
-            statement.setString(3, post.getContent());
-            statement.setString(4, post.getStatus());
+        try (Connection conn = DBConnection.getConnection()) {
+            // Id assigned before the insert: no second query to find the new row
+            String id = IdGenerator.newId();
+            insertPost(conn, id, post);
+            return id;
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to create post", SqlStatements.INSERT_POST, e);
+        }
+    }
+
+    @Override
+    public String createWithTags(Post post, Collection<String> tagNames) throws DatabaseQueryException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                String id = IdGenerator.newId();
+                insertPost(conn, id, post);
+                linkTags(conn, id, tagIdsByName(conn, tagNames));
+                conn.commit();
+                return id;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to create post with tags", SqlStatements.INSERT_POST, e);
+        }
+    }
+
+    private static void insertPost(Connection conn, String id, Post post) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(SqlStatements.INSERT_POST)) {
+            UuidCodec.bind(statement, 1, id);
+            UuidCodec.bind(statement, 2, post.getUserId());
+            statement.setString(3, post.getTitle());
+            statement.setString(4, post.getContent());
+            statement.setString(5, post.getStatus());
             LocalDateTime now = LocalDateTime.now();
-            statement.setObject(5, now);
+            statement.setObject(6, now);
             if (post.getIsPublish()) {
-                statement.setObject(6, now);
+                statement.setObject(7, now);
             } else {
-                statement.setObject(6, null);
+                statement.setObject(7, null);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    /** Ids of the named tags; names with no tag are skipped. */
+    private static Set<String> tagIdsByName(Connection conn, Collection<String> tagNames) throws SQLException {
+        Set<String> ids = new HashSet<>();
+        if (tagNames == null || tagNames.isEmpty()) {
+            return ids;
+        }
+        List<String> names = List.copyOf(new HashSet<>(tagNames));
+        String sql = SqlStatements.TAG_IDS_BY_NAMES.formatted(SqlStatements.inList(names.size()));
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            SqlStatements.bindStrings(statement, 1, names);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(UuidCodec.read(rs, "id"));
+                }
             }
+        }
+        return ids;
+    }
+
+    /** Inserts all links as one JDBC batch (a single multi-row INSERT with rewriteBatchedStatements). */
+    private static void linkTags(Connection conn, String postId, Collection<String> tagIds) throws SQLException {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = conn.prepareStatement(SqlStatements.INSERT_POST_TAG)) {
+            for (String tagId : tagIds) {
+                UuidCodec.bind(statement, 1, postId);
+                UuidCodec.bind(statement, 2, tagId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
 
+    private static void unlinkTags(Connection conn, String postId, Collection<String> tagIds) throws SQLException {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        String sql = SqlStatements.DELETE_POST_TAGS.formatted(SqlStatements.inList(tagIds.size()));
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            UuidCodec.bind(statement, 1, postId);
+            SqlStatements.bindIds(statement, 2, List.copyOf(tagIds));
             statement.executeUpdate();
-            
-            // Get the created post ID by querying with title and user_id
-            String getIdSql = """
-                SELECT BIN_TO_UUID(id) AS id 
-                FROM posts 
-                WHERE title = ? AND user_id = UUID_TO_BIN(?)
-                ORDER BY created_at DESC 
-                LIMIT 1
-                """;
-            try (PreparedStatement getIdStmt = conn.prepareStatement(getIdSql)) {
-                getIdStmt.setString(1, post.getTitle());
-                getIdStmt.setString(2, post.getUserId());
-                try (ResultSet rs = getIdStmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getString("id");
-                    }
+        }
+    }
+
+    /** Current tag ids of a post, locking its links until the transaction ends. */
+    private static Set<String> linkedTagIds(Connection conn, String postId) throws SQLException {
+        String sql = SqlStatements.TAG_IDS_BY_POST_FOR_UPDATE;
+        Set<String> ids = new HashSet<>();
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            UuidCodec.bind(statement, 1, postId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(UuidCodec.read(rs, "tag_id"));
                 }
             }
-            throw new DatabaseQueryException("Failed to retrieve created post ID", sql, null);
-        } catch (SQLException e) {
-            throw new DatabaseQueryException("Failed to create post", sql, e);
         }
+        return ids;
     }
 
     @Override
     public PostRecord getByID(String postId, String userId) throws DatabaseQueryException, PostNotFoundException {
         String sql = """
                     SELECT
-                    BIN_TO_UUID(p.id) AS id,
+                    p.id,
                     p.title,
                     p.content,
                     p.status,
                     COALESCE(u.name, 'Unknown') AS author,
                     p.created_at,
                     p.published_datetime,
-                    (SELECT COUNT(*) 
-                    FROM comments c 
-                    WHERE c.post_id = p.id) AS comment_count
+                    p.comment_count
                 FROM posts p
                 LEFT JOIN users u ON p.user_id = u.id
-                WHERE p.id = UUID_TO_BIN(?) AND p.user_id = UUID_TO_BIN(?);
+                WHERE p.id = ? AND p.user_id = ?;
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, postId);
-            statement.setString(2, userId);
+            UuidCodec.bind(statement, 1, postId);
+            UuidCodec.bind(statement, 2, userId);
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
                     return new PostRecord(
-                            rs.getString("id"),
+                            UuidCodec.read(rs, "id"),
                             rs.getString("title"),
                             rs.getString("content"),
                             rs.getString("status"),
@@ -112,28 +201,26 @@ public class JdbcPostDAO implements PostDAO {
     public PostRecord getByID(String postId) throws DatabaseQueryException, PostNotFoundException {
         String sql = """
                     SELECT
-                    BIN_TO_UUID(p.id) AS id,
-                    BIN_TO_UUID(p.user_id) as user_id,
+                    p.id,
+                    p.user_id,
                     p.title,
                     p.content,
                     p.status,
                     COALESCE(u.name, 'Unknown') AS author,
                     p.created_at,
                     p.published_datetime,
-                    (SELECT COUNT(*) 
-                    FROM comments c 
-                    WHERE c.post_id = p.id) AS comment_count
+                    p.comment_count
                 FROM posts p
                 LEFT JOIN users u ON p.user_id = u.id
-                WHERE p.id = UUID_TO_BIN(?);
+                WHERE p.id = ?;
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, postId);
+            UuidCodec.bind(statement, 1, postId);
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
                     return new PostRecord(
-                            rs.getString("id"),
+                            UuidCodec.read(rs, "id"),
                             rs.getString("title"),
                             rs.getString("content"),
                             rs.getString("status"),
@@ -141,7 +228,7 @@ public class JdbcPostDAO implements PostDAO {
                             rs.getObject("created_at", LocalDateTime.class),
                             rs.getObject("published_datetime", LocalDateTime.class),
                             rs.getInt("comment_count"),
-                            rs.getString("user_id"));
+                            UuidCodec.read(rs, "user_id"));
                 } else {
                     throw new PostNotFoundException(postId);
                 }
@@ -152,40 +239,33 @@ public class JdbcPostDAO implements PostDAO {
     }
 
     @Override
-    public List<PostRecord> getAll() throws DatabaseQueryException {
-        List<PostRecord> posts = new ArrayList<>();
-        String sql = """
-                SELECT 
-                BIN_TO_UUID(p.id) AS id,
-                p.title,
-                p.content,
-                p.status,
-                p.published_datetime,
-                p.created_at,
-                COALESCE(u.name, 'Unknown') AS author,
-                (SELECT COUNT(*) 
-                FROM comments c 
-                WHERE c.post_id = p.id) AS comment_count
-            FROM posts p
-            LEFT JOIN users u ON p.user_id = u.id
-            WHERE p.status = 'PUBLISHED'
-            ORDER BY p.published_datetime DESC
-        """;
+    public PostSummary getSummaryByID(String postId) throws DatabaseQueryException, PostNotFoundException {
+        String sql = SqlStatements.POST_SUMMARY_BY_ID;
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql)) {
+            UuidCodec.bind(statement, 1, postId);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return readSummary(rs);
+                } else {
+                    throw new PostNotFoundException(postId);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to get post", sql, e);
+        }
+    }
+
+    @Override
+    public List<PostSummary> getAll() throws DatabaseQueryException {
+        List<PostSummary> posts = new ArrayList<>();
+        String sql = SqlStatements.PUBLISHED_POST_SUMMARIES;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
 
             try (ResultSet rs = statement.executeQuery()) {
                 while (rs.next()) {
-                    posts.add(new PostRecord(
-                            rs.getString("id"),
-                            rs.getString("title"),
-                            rs.getString("content"),
-                            rs.getString("status"),
-                            rs.getString("author"),
-                            rs.getObject("created_at", LocalDateTime.class),
-                            rs.getObject("published_datetime", LocalDateTime.class),
-                            rs.getInt("comment_count"),
-                            null));
+                    posts.add(readSummary(rs));
                 }
             }
             return posts;
@@ -196,41 +276,168 @@ public class JdbcPostDAO implements PostDAO {
     }
 
     @Override
-    public List<PostRecord> getAll(String userId) throws DatabaseQueryException {
-        List<PostRecord> posts = new ArrayList<>();
+    public Page<PostSummary> getPage(PageCursor cursor, int pageSize, PageDirection direction) throws DatabaseQueryException {
+        boolean forward = direction != PageDirection.BACKWARD;
+        int limit = Math.max(1, pageSize);
+        String sql;
+        if (forward) {
+            sql = cursor != null ? SqlStatements.PUBLISHED_POST_SUMMARIES_AFTER : SqlStatements.PUBLISHED_POST_SUMMARIES_FIRST_PAGE;
+        } else {
+            sql = cursor != null ? SqlStatements.PUBLISHED_POST_SUMMARIES_BEFORE : SqlStatements.PUBLISHED_POST_SUMMARIES_LAST_PAGE;
+        }
+        List<PostSummary> posts = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (cursor != null) {
+                statement.setObject(index++, cursor.timestamp());
+                statement.setObject(index++, cursor.timestamp());
+                UuidCodec.bind(statement, index++, cursor.id());
+            }
+            statement.setInt(index, limit + 1);
+
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    posts.add(readSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to load posts page", sql, e);
+        }
+
+        boolean more = posts.size() > limit;
+        if (more) {
+            posts.remove(posts.size() - 1);
+        }
+        if (posts.isEmpty()) {
+            return Page.empty();
+        }
+        if (forward) {
+            return new Page<>(posts,
+                    more ? cursorOf(posts.get(posts.size() - 1)) : null,
+                    cursor != null ? cursorOf(posts.get(0)) : null);
+        }
+        Collections.reverse(posts);
+        return new Page<>(posts,
+                cursor != null ? cursorOf(posts.get(posts.size() - 1)) : null,
+                more ? cursorOf(posts.get(0)) : null);
+    }
+
+    private static PageCursor cursorOf(PostSummary post) {
+        return new PageCursor(post.publishedDate(), post.id());
+    }
+
+    @Override
+    public Page<PostSummary> search(String query, SearchMode mode, PageCursor cursor, int pageSize) throws DatabaseQueryException {
+        SearchMode searchMode = mode != null ? mode : SearchMode.NATURAL_LANGUAGE;
+        String expression = searchMode.expression(query);
+        if (expression.isEmpty()) {
+            return Page.empty();
+        }
+        int limit = Math.max(1, pageSize);
+        int offset = cursor != null && cursor.isOffset() ? cursor.offset() : 0;
+        String sql = SqlStatements.postSearch(searchMode);
+        List<PostSummary> posts = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql)) {
+            for (int index = 1; index <= 5; index++) {
+                statement.setString(index, expression);
+            }
+            statement.setInt(6, limit + 1);
+            statement.setInt(7, offset);
+
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    posts.add(readSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to search posts", sql, e);
+        }
+
+        boolean more = posts.size() > limit;
+        if (more) {
+            posts.remove(posts.size() - 1);
+        }
+        if (posts.isEmpty()) {
+            return Page.empty();
+        }
+        return new Page<>(posts,
+                more ? PageCursor.atOffset(offset + posts.size()) : null,
+                offset > 0 ? PageCursor.atOffset(Math.max(0, offset - limit)) : null);
+    }
+
+    @Override
+    public List<PostSummary> getChangedSince(LocalDateTime since) throws DatabaseQueryException {
+        List<PostSummary> posts = new ArrayList<>();
+        String sql = SqlStatements.POST_SUMMARIES_CHANGED_SINCE;
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setObject(1, since);
+
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    posts.add(readSummary(rs));
+                }
+            }
+            return posts;
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to load changed posts", sql, e);
+        }
+    }
+
+    @Override
+    public PostsWatermark getWatermark() throws DatabaseQueryException {
         String sql = """
-                    SELECT
-                    BIN_TO_UUID(p.id) AS id,
-                    p.title,
-                    p.content,
-                    p.status,
-                    p.created_at,
-                    p.published_datetime,
-                    COALESCE(u.name, 'Unknown') AS author,
-                    (SELECT COUNT(*) 
-                    FROM comments c 
-                    WHERE c.post_id = p.id) AS comment_count
-                FROM posts p
-                LEFT JOIN users u ON p.user_id = u.id
-                WHERE p.user_id = UUID_TO_BIN(?)
-                ORDER BY p.published_datetime DESC
-                        """;
+                SELECT
+                    (SELECT COUNT(*) FROM posts WHERE status = 'PUBLISHED') AS published_count,
+                    (SELECT MAX(updated_at) FROM posts) AS last_updated
+                """;
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql);
+                ResultSet rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return new PostsWatermark(
+                        rs.getLong("published_count"),
+                        rs.getObject("last_updated", LocalDateTime.class));
+            }
+            return new PostsWatermark(0, null);
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to read posts watermark", sql, e);
+        }
+    }
+
+    @Override
+    public int reconcileCommentCounts() throws DatabaseQueryException {
+        String sql = """
+                UPDATE posts p
+                LEFT JOIN (
+                    SELECT post_id, COUNT(*) AS actual_count
+                    FROM comments
+                    GROUP BY post_id
+                ) c ON c.post_id = p.id
+                SET p.comment_count = COALESCE(c.actual_count, 0)
+                WHERE p.comment_count <> COALESCE(c.actual_count, 0)
+                """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, userId);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to reconcile comment counts", sql, e);
+        }
+    }
+
+    @Override
+    public List<PostSummary> getAll(String userId) throws DatabaseQueryException {
+        List<PostSummary> posts = new ArrayList<>();
+        String sql = SqlStatements.POST_SUMMARIES_BY_USER;
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql)) {
+            UuidCodec.bind(statement, 1, userId);
 
             try (ResultSet rs = statement.executeQuery()) {
                 while (rs.next()) {
-                    posts.add(new PostRecord(
-                            rs.getString("id"),
-                            rs.getString("title"),
-                            rs.getString("content"),
-                            rs.getString("status"),
-                            rs.getString("author"),
-                            rs.getObject("created_at", LocalDateTime.class),
-                            rs.getObject("published_datetime", LocalDateTime.class),
-                            rs.getInt("comment_count"),
-                            null));
+                    posts.add(readSummary(rs));
                 }
             }
             return posts;
@@ -243,17 +450,41 @@ public class JdbcPostDAO implements PostDAO {
 
     @Override
     public void edit(Post post) throws DatabaseQueryException, PostNotFoundException {
-        String sql = """
-            UPDATE posts
-                SET title = ?,
-                    content = ?,
-                    status = ?,
-                    published_datetime = ?
-                WHERE id = UUID_TO_BIN(?) AND user_id = UUID_TO_BIN(?);
-                """;
-        try (Connection conn = DBConnection.getConnection();
-        PreparedStatement statement = conn.prepareStatement(sql)) 
-        {
+        try (Connection conn = DBConnection.getConnection()) {
+            editPost(conn, post);
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to edit post", SqlStatements.UPDATE_POST, e);
+        }
+    }
+
+    @Override
+    public boolean editWithTags(Post post, Collection<String> tagNames) throws DatabaseQueryException, PostNotFoundException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                editPost(conn, post);
+                // Diff against the stored links so unchanged tags are neither deleted nor re-inserted
+                Set<String> wanted = tagIdsByName(conn, tagNames);
+                Set<String> current = linkedTagIds(conn, post.getId());
+                Set<String> added = new HashSet<>(wanted);
+                added.removeAll(current);
+                Set<String> removed = new HashSet<>(current);
+                removed.removeAll(wanted);
+                unlinkTags(conn, post.getId(), removed);
+                linkTags(conn, post.getId(), added);
+                conn.commit();
+                return !added.isEmpty() || !removed.isEmpty();
+            } catch (SQLException | PostNotFoundException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to edit post with tags", SqlStatements.UPDATE_POST, e);
+        }
+    }
+
+    private static void editPost(Connection conn, Post post) throws SQLException, PostNotFoundException {
+        try (PreparedStatement statement = conn.prepareStatement(SqlStatements.UPDATE_POST)) {
             statement.setString(1, post.getTitle());
             statement.setString(2, post.getContent());
             statement.setString(3, post.getStatus());
@@ -263,30 +494,26 @@ public class JdbcPostDAO implements PostDAO {
             }else {
                 statement.setObject(4, null);
             }
-            statement.setString(5, post.getId());
-            statement.setString(6, post.getUserId());
+            UuidCodec.bind(statement, 5, post.getId());
+            UuidCodec.bind(statement, 6, post.getUserId());
 
             int updated = statement.executeUpdate();
             if (updated == 0) {
                 throw new PostNotFoundException(post.getId());
             }
         }
-        catch (SQLException e) {
-            throw new DatabaseQueryException("Failed to edit post", sql, e);
-        }
-
     }
 
     @Override
     public void delete(String postId, String userId) throws DatabaseQueryException, PostNotFoundException {
         String sql = """
-            DELETE FROM posts WHERE id = UUID_TO_BIN(?) AND user_id = UUID_TO_BIN(?);
+            DELETE FROM posts WHERE id = ? AND user_id = ?;
         """;
         try (Connection conn = DBConnection.getConnection();
         PreparedStatement statement = conn.prepareStatement(sql)) 
         {
-            statement.setString(1, postId);
-            statement.setString(2, userId);
+            UuidCodec.bind(statement, 1, postId);
+            UuidCodec.bind(statement, 2, userId);
             int deleted = statement.executeUpdate();
             
             if (deleted == 0) {
@@ -6,9 +6,17 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.blogging_platform.classes.IdGenerator;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.RatingSummary;
 import com.blogging_platform.classes.ReviewRecord;
+import com.blogging_platform.classes.UuidCodec;
 import com.blogging_platform.config.DBConnection;
 import com.blogging_platform.dao.interfaces.ReviewDAO;
 import com.blogging_platform.exceptions.DatabaseQueryException;
@@ -20,19 +28,25 @@ import com.blogging_platform.model.Review;
  */
 public class JdbcReviewDAO implements ReviewDAO {
 
+    /** Maximum ids bound into one IN (...) list; larger requests are split into several queries. */
+    private static final int MAX_IDS_PER_QUERY = 500;
+
     @Override
-    public void create(Review review) throws DatabaseQueryException, DuplicateResourceException {
+    public String create(Review review) throws DatabaseQueryException, DuplicateResourceException {
         String sql = """
-                INSERT INTO reviews (post_id, user_id, rating, message) 
-                VALUES (UUID_TO_BIN(?), UUID_TO_BIN(?), ?, ?)
+                INSERT INTO reviews (id, post_id, user_id, rating, message) 
+                VALUES (?, ?, ?, ?, ?)
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, review.getPostId());
-            statement.setString(2, review.getUserId());
-            statement.setInt(3, review.getRating());
-            statement.setString(4, review.getMessage());
+            String id = IdGenerator.newId();
+            UuidCodec.bind(statement, 1, id);
+            UuidCodec.bind(statement, 2, review.getPostId());
+            UuidCodec.bind(statement, 3, review.getUserId());
+            statement.setInt(4, review.getRating());
+            statement.setString(5, review.getMessage());
             statement.executeUpdate();
+            return id;
         } catch (SQLException e) {
             if (e.getErrorCode() == 1062) { // Duplicate entry error code
                 throw new DuplicateResourceException("User has already reviewed this post");
@@ -44,33 +58,13 @@ public class JdbcReviewDAO implements ReviewDAO {
     @Override
     public List<ReviewRecord> getReviewsByPostId(String postId) throws DatabaseQueryException {
         List<ReviewRecord> reviews = new ArrayList<>();
-        String sql = """
-                SELECT 
-                    BIN_TO_UUID(r.id) AS id,
-                    BIN_TO_UUID(r.post_id) AS post_id,
-                    BIN_TO_UUID(r.user_id) AS user_id,
-                    COALESCE(u.name, 'Unknown') AS author_name,
-                    r.rating,
-                    r.message,
-                    r.created_at
-                FROM reviews r
-                LEFT JOIN users u ON r.user_id = u.id
-                WHERE r.post_id = UUID_TO_BIN(?)
-                ORDER BY r.created_at DESC
-                """;
+        String sql = SqlStatements.REVIEWS_BY_POST;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, postId);
+            UuidCodec.bind(statement, 1, postId);
             try (ResultSet rs = statement.executeQuery()) {
                 while (rs.next()) {
-                    reviews.add(new ReviewRecord(
-                            rs.getString("id"),
-                            rs.getString("post_id"),
-                            rs.getString("user_id"),
-                            rs.getString("author_name"),
-                            rs.getInt("rating"),
-                            rs.getString("message"),
-                            rs.getObject("created_at", LocalDateTime.class)));
+                    reviews.add(readReview(rs));
                 }
             }
             return reviews;
@@ -79,34 +73,101 @@ public class JdbcReviewDAO implements ReviewDAO {
         }
     }
 
+    @Override
+    public Page<ReviewRecord> getReviewsPage(String postId, PageCursor cursor, int pageSize) throws DatabaseQueryException {
+        int limit = Math.max(1, pageSize);
+        String sql = cursor != null ? SqlStatements.REVIEWS_PAGE_BY_POST_AFTER : SqlStatements.REVIEWS_PAGE_BY_POST;
+        List<ReviewRecord> reviews = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql)) {
+            int index = 1;
+            UuidCodec.bind(statement, index++, postId);
+            if (cursor != null) {
+                statement.setObject(index++, cursor.timestamp());
+                statement.setObject(index++, cursor.timestamp());
+                UuidCodec.bind(statement, index++, cursor.id());
+            }
+            statement.setInt(index, limit + 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    reviews.add(readReview(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to load reviews page", sql, e);
+        }
+
+        boolean more = reviews.size() > limit;
+        if (more) {
+            reviews.remove(reviews.size() - 1);
+        }
+        ReviewRecord last = more ? reviews.get(reviews.size() - 1) : null;
+        return new Page<>(reviews, last != null ? new PageCursor(last.createdAt(), last.id()) : null, null);
+    }
+
+    @Override
+    public RatingSummary getRatingSummary(String postId) throws DatabaseQueryException {
+        return getRatingSummaries(List.of(postId)).get(postId);
+    }
+
+    @Override
+    public Map<String, RatingSummary> getRatingSummaries(Collection<String> postIds) throws DatabaseQueryException {
+        Map<String, RatingSummary> summaries = new HashMap<>();
+        if (postIds == null || postIds.isEmpty()) {
+            return summaries;
+        }
+        List<String> ids = new ArrayList<>(postIds);
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                List<String> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+                String sql = SqlStatements.RATING_SUMMARIES_BY_POSTS.formatted(SqlStatements.inList(chunk.size()));
+                try (PreparedStatement statement = conn.prepareStatement(sql)) {
+                    SqlStatements.bindIds(statement, 1, chunk);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            String postId = UuidCodec.read(rs, "post_id");
+                            summaries.put(postId, new RatingSummary(
+                                    postId,
+                                    rs.getLong("review_count"),
+                                    rs.getLong("rating_sum"),
+                                    new long[] { rs.getLong("r1"), rs.getLong("r2"), rs.getLong("r3"),
+                                            rs.getLong("r4"), rs.getLong("r5") }));
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DatabaseQueryException("Failed to get rating summaries", sql, e);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to get rating summaries", e);
+        }
+        for (String id : ids) {
+            summaries.putIfAbsent(id, RatingSummary.empty(id));
+        }
+        return summaries;
+    }
+
     @Override
     public ReviewRecord getReviewById(String reviewId) throws DatabaseQueryException {
         String sql = """
                 SELECT 
-                    BIN_TO_UUID(r.id) AS id,
-                    BIN_TO_UUID(r.post_id) AS post_id,
-                    BIN_TO_UUID(r.user_id) AS user_id,
+                    r.id,
+                    r.post_id,
+                    r.user_id,
                     COALESCE(u.name, 'Unknown') AS author_name,
                     r.rating,
                     r.message,
                     r.created_at
                 FROM reviews r
                 LEFT JOIN users u ON r.user_id = u.id
-                WHERE r.id = UUID_TO_BIN(?)
+                WHERE r.id = ?
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, reviewId);
+            UuidCodec.bind(statement, 1, reviewId);
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
-                    return new ReviewRecord(
-                            rs.getString("id"),
-                            rs.getString("post_id"),
-                            rs.getString("user_id"),
-                            rs.getString("author_name"),
-                            rs.getInt("rating"),
-                            rs.getString("message"),
-                            rs.getObject("created_at", LocalDateTime.class));
+                    return readReview(rs);
                 } else {
                     return null;
                 }
@@ -121,13 +182,13 @@ public class JdbcReviewDAO implements ReviewDAO {
         String sql = """
                 UPDATE reviews 
                 SET rating = ?, message = ?
-                WHERE id = UUID_TO_BIN(?)
+                WHERE id = ?
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
             statement.setInt(1, review.getRating());
             statement.setString(2, review.getMessage());
-            statement.setString(3, review.getId());
+            UuidCodec.bind(statement, 3, review.getId());
             statement.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseQueryException("Failed to update review", sql, e);
@@ -138,14 +199,25 @@ public class JdbcReviewDAO implements ReviewDAO {
     public void delete(String reviewId) throws DatabaseQueryException {
         String sql = """
                 DELETE FROM reviews 
-                WHERE id = UUID_TO_BIN(?)
+                WHERE id = ?
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, reviewId);
+            UuidCodec.bind(statement, 1, reviewId);
             statement.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseQueryException("Failed to delete review", sql, e);
         }
     }
+
+    private static ReviewRecord readReview(ResultSet rs) throws SQLException {
+        return new ReviewRecord(
+                UuidCodec.read(rs, "id"),
+                UuidCodec.read(rs, "post_id"),
+                UuidCodec.read(rs, "user_id"),
+                rs.getString("author_name"),
+                rs.getInt("rating"),
+                rs.getString("message"),
+                rs.getObject("created_at", LocalDateTime.class));
+    }
 }
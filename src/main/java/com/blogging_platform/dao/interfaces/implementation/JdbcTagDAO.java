@@ -5,9 +5,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.blogging_platform.classes.IdGenerator;
 import com.blogging_platform.classes.TagRecord;
+import com.blogging_platform.classes.UuidCodec;
 import com.blogging_platform.config.DBConnection;
 import com.blogging_platform.dao.interfaces.TagDAO;
 import com.blogging_platform.exceptions.DatabaseQueryException;
@@ -19,15 +24,21 @@ import com.blogging_platform.model.Tag;
  */
 public class JdbcTagDAO implements TagDAO {
 
+    /** Maximum ids bound into one IN (...) list; larger requests are split into several queries. */
+    private static final int MAX_IDS_PER_QUERY = 500;
+
     @Override
-    public void create(Tag tag) throws DatabaseQueryException, DuplicateResourceException {
+    public String create(Tag tag) throws DatabaseQueryException, DuplicateResourceException {
         String sql = """
-                INSERT INTO tags (tag) VALUES (?);
+                INSERT INTO tags (id, tag) VALUES (?, ?);
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, tag.getTag());
+            String id = IdGenerator.newId();
+            UuidCodec.bind(statement, 1, id);
+            statement.setString(2, tag.getTag());
             statement.executeUpdate();
+            return id;
         } catch (SQLException e) {
             if (e.getErrorCode() == 1062) { // Duplicate entry error code
                 throw new DuplicateResourceException("Tag already exists: " + tag.getTag());
@@ -41,7 +52,7 @@ public class JdbcTagDAO implements TagDAO {
         List<TagRecord> tags = new ArrayList<>();
         String sql = """
                 SELECT 
-                    BIN_TO_UUID(id) AS id,
+                    id,
                     tag
                 FROM tags
                 ORDER BY tag ASC
@@ -51,7 +62,7 @@ public class JdbcTagDAO implements TagDAO {
             try (ResultSet rs = statement.executeQuery()) {
                 while (rs.next()) {
                     tags.add(new TagRecord(
-                            rs.getString("id"),
+                            UuidCodec.read(rs, "id"),
                             rs.getString("tag")));
                 }
             }
@@ -65,18 +76,18 @@ public class JdbcTagDAO implements TagDAO {
     public TagRecord getById(String tagId) throws DatabaseQueryException {
         String sql = """
                 SELECT 
-                    BIN_TO_UUID(id) AS id,
+                    id,
                     tag
                 FROM tags
-                WHERE id = UUID_TO_BIN(?)
+                WHERE id = ?
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, tagId);
+            UuidCodec.bind(statement, 1, tagId);
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
                     return new TagRecord(
-                            rs.getString("id"),
+                            UuidCodec.read(rs, "id"),
                             rs.getString("tag"));
                 } else {
                     return null;
@@ -91,7 +102,7 @@ public class JdbcTagDAO implements TagDAO {
     public TagRecord getByTagName(String tagName) throws DatabaseQueryException {
         String sql = """
                 SELECT 
-                    BIN_TO_UUID(id) AS id,
+                    id,
                     tag
                 FROM tags
                 WHERE tag = ?
@@ -102,7 +113,7 @@ public class JdbcTagDAO implements TagDAO {
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
                     return new TagRecord(
-                            rs.getString("id"),
+                            UuidCodec.read(rs, "id"),
                             rs.getString("tag"));
                 } else {
                     return null;
@@ -117,13 +128,13 @@ public class JdbcTagDAO implements TagDAO {
     public void linkTagToPost(String postId, String tagId) throws DatabaseQueryException {
         String sql = """
                 INSERT INTO post_tags (post_id, tag_id) 
-                VALUES (UUID_TO_BIN(?), UUID_TO_BIN(?))
+                VALUES (?, ?)
                 ON DUPLICATE KEY UPDATE post_id = post_id
                 """;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, postId);
-            statement.setString(2, tagId);
+            UuidCodec.bind(statement, 1, postId);
+            UuidCodec.bind(statement, 2, tagId);
             statement.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseQueryException("Failed to link tag to post", sql, e);
@@ -132,10 +143,10 @@ public class JdbcTagDAO implements TagDAO {
 
     @Override
     public void unlinkAllTagsFromPost(String postId) throws DatabaseQueryException {
-        String sql = "DELETE FROM post_tags WHERE post_id = UUID_TO_BIN(?)";
+        String sql = "DELETE FROM post_tags WHERE post_id = ?";
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, postId);
+            UuidCodec.bind(statement, 1, postId);
             statement.executeUpdate();
         } catch (SQLException e) {
             throw new DatabaseQueryException("Failed to unlink tags from post", sql, e);
@@ -145,22 +156,14 @@ public class JdbcTagDAO implements TagDAO {
     @Override
     public List<TagRecord> getTagsByPostId(String postId) throws DatabaseQueryException {
         List<TagRecord> tags = new ArrayList<>();
-        String sql = """
-                SELECT 
-                    BIN_TO_UUID(t.id) AS id,
-                    t.tag
-                FROM tags t
-                INNER JOIN post_tags pt ON t.id = pt.tag_id
-                WHERE pt.post_id = UUID_TO_BIN(?)
-                ORDER BY t.tag ASC
-                """;
+        String sql = SqlStatements.TAGS_BY_POST;
         try (Connection conn = DBConnection.getConnection();
                 PreparedStatement statement = conn.prepareStatement(sql)) {
-            statement.setString(1, postId);
+            UuidCodec.bind(statement, 1, postId);
             try (ResultSet rs = statement.executeQuery()) {
                 while (rs.next()) {
                     tags.add(new TagRecord(
-                            rs.getString("id"),
+                            UuidCodec.read(rs, "id"),
                             rs.getString("tag")));
                 }
             }
@@ -169,4 +172,62 @@ public class JdbcTagDAO implements TagDAO {
             throw new DatabaseQueryException("Failed to get tags by post id", sql, e);
         }
     }
+
+    @Override
+    public Map<String, List<String>> getTagNamesByPostIds(Collection<String> postIds) throws DatabaseQueryException {
+        Map<String, List<String>> tagsByPost = new HashMap<>();
+        if (postIds == null || postIds.isEmpty()) {
+            return tagsByPost;
+        }
+        List<String> ids = new ArrayList<>(postIds);
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                List<String> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+                String sql = SqlStatements.TAG_NAMES_BY_POSTS.formatted(SqlStatements.inList(chunk.size()));
+                try (PreparedStatement statement = conn.prepareStatement(sql)) {
+                    SqlStatements.bindIds(statement, 1, chunk);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        collectTagNames(rs, tagsByPost);
+                    }
+                } catch (SQLException e) {
+                    throw new DatabaseQueryException("Failed to get tags for posts", sql, e);
+                }
+            }
+            return tagsByPost;
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to get tags for posts", e);
+        }
+    }
+
+    @Override
+    public Map<String, List<String>> getTagNamesForPublishedPosts() throws DatabaseQueryException {
+        Map<String, List<String>> tagsByPost = new HashMap<>();
+        String sql = """
+                SELECT 
+                    pt.post_id,
+                    t.tag
+                FROM post_tags pt
+                INNER JOIN tags t ON t.id = pt.tag_id
+                INNER JOIN posts p ON p.id = pt.post_id
+                WHERE p.status = 'PUBLISHED'
+                ORDER BY t.tag ASC
+                """;
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement statement = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL Connector/J streams rows one at a time with this fetch size instead of buffering the whole join
+            statement.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = statement.executeQuery()) {
+                collectTagNames(rs, tagsByPost);
+            }
+            return tagsByPost;
+        } catch (SQLException e) {
+            throw new DatabaseQueryException("Failed to get tags for published posts", sql, e);
+        }
+    }
+
+    private static void collectTagNames(ResultSet rs, Map<String, List<String>> tagsByPost) throws SQLException {
+        while (rs.next()) {
+            tagsByPost.computeIfAbsent(UuidCodec.read(rs, "post_id"), k -> new ArrayList<>()).add(rs.getString("tag"));
+        }
+    }
 }
@@ -9,6 +9,7 @@ import org.mindrot.jbcrypt.BCrypt;
 
 import com.blogging_platform.classes.SessionManager;
 import com.blogging_platform.classes.UserRecord;
+import com.blogging_platform.classes.UuidCodec;
 import com.blogging_platform.config.DBConnection;
 import com.blogging_platform.dao.interfaces.UserDAO;
 import com.blogging_platform.exceptions.DatabaseQueryException;
@@ -45,7 +46,7 @@ public class JdbcUserDAO implements UserDAO {
   @Override
   public UserRecord login(String email, String password) {
     String sql = """
-        SELECT BIN_TO_UUID(id) AS id, name, email, password, role FROM users WHERE email = ?;
+        SELECT id, name, email, password, role FROM users WHERE email = ?;
         """;
     try (Connection conn = DBConnection.getConnection();
         PreparedStatement statement = conn.prepareStatement(sql)) {
@@ -53,7 +54,7 @@ public class JdbcUserDAO implements UserDAO {
       ResultSet rs = statement.executeQuery();
       if (rs.next()) {
         if (BCrypt.checkpw(password, rs.getString("password"))) {
-          return new UserRecord(rs.getString("id"), rs.getString("name"), rs.getString("email"), rs.getString("role"));
+          return new UserRecord(UuidCodec.read(rs, "id"), rs.getString("name"), rs.getString("email"), rs.getString("role"));
         }
         return null;
       }
@@ -0,0 +1,371 @@
+package com.blogging_platform.dao.interfaces.implementation;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.blogging_platform.classes.PostSummary;
+import com.blogging_platform.classes.SearchMode;
+import com.blogging_platform.classes.UuidCodec;
+
+/**
+ * Registry of the SQL run on hot paths (post, tag, review and comment reads, and the post write path),
+ * shared by the JDBC DAOs.
+ * <p>
+ * The driver caches prepared statements per physical connection, keyed by SQL text (see
+ * {@code StatementCacheSettings}). Pooled connections live for many requests, so each statement here is
+ * parsed (and, with server-side prepares, planned) once per connection. The text is built once at class
+ * load rather than formatted per call. Statements with an {@code IN (...)} list use {@link #inList(int)},
+ * which rounds the list up to a power of two so a few shapes cover every list length instead of one
+ * cache entry per length.
+ * <p>
+ * Paged statements come in fixed variants rather than being assembled per call. Keyset pages have a
+ * first-page variant and one that seeks past a cursor {@code (timestamp, id)}; the seek is written as an
+ * expanded row comparison ({@code t < ? OR (t = ? AND id < ?)}) because MySQL range-scans the matching
+ * {@code (..., timestamp, id)} index for that form but not for {@code (t, id) < (?, ?)}. Every paged
+ * statement ends in {@code LIMIT ?}, and callers bind the page size plus one: the extra row tells them
+ * whether another page exists without a COUNT query.
+ */
+final class SqlStatements {
+
+    /**
+     * Select list for {@link PostSummary} queries: only a content prefix one character longer than the
+     * excerpt is transferred, never the full TEXT column.
+     */
+    static final String POST_SUMMARY_COLUMNS = """
+            p.id,
+                p.user_id,
+                p.title,
+                LEFT(p.content, %d) AS content_prefix,
+                p.status,
+                p.published_datetime,
+                p.created_at,
+                COALESCE(u.name, 'Unknown') AS author,
+                p.comment_count""".formatted(PostSummary.EXCERPT_LENGTH + 1);
+
+    /** All published posts, newest first ({@code JdbcPostDAO.getAll()}). */
+    static final String PUBLISHED_POST_SUMMARIES = """
+                SELECT %s
+            FROM posts p
+            LEFT JOIN users u ON p.user_id = u.id
+            WHERE p.status = 'PUBLISHED'
+            ORDER BY p.published_datetime DESC, p.id DESC
+        """.formatted(POST_SUMMARY_COLUMNS);
+
+    /** First page of published posts, newest first ({@code JdbcPostDAO.getPage}). */
+    static final String PUBLISHED_POST_SUMMARIES_FIRST_PAGE = publishedPostsPage("", "DESC");
+
+    /** Published posts older than a cursor, newest first. */
+    static final String PUBLISHED_POST_SUMMARIES_AFTER = publishedPostsPage(
+            "AND (p.published_datetime < ? OR (p.published_datetime = ? AND p.id < ?))", "DESC");
+
+    /** Last page of published posts, read oldest first (callers reverse it). */
+    static final String PUBLISHED_POST_SUMMARIES_LAST_PAGE = publishedPostsPage("", "ASC");
+
+    /** Published posts newer than a cursor, read oldest first (callers reverse it). */
+    static final String PUBLISHED_POST_SUMMARIES_BEFORE = publishedPostsPage(
+            "AND (p.published_datetime > ? OR (p.published_datetime = ? AND p.id > ?))", "ASC");
+
+    /**
+     * FULLTEXT search over published posts, best match first, by {@link SearchMode}
+     * ({@code JdbcPostDAO.search}). Binds: the expression five times, then {@code LIMIT} and {@code OFFSET}.
+     * <p>
+     * Each branch is driven by its own FULLTEXT index (title+content, users.name); an OR across the join
+     * would fall back to a table scan. Scores are summed per post, title matches weighted up. The price is
+     * that a boolean expression is satisfied per branch, never across the two.
+     */
+    private static final Map<SearchMode, String> POST_SEARCH = new EnumMap<>(SearchMode.class);
+
+    static {
+        for (SearchMode mode : SearchMode.values()) {
+            POST_SEARCH.put(mode, """
+                    SELECT %1$s
+                FROM (
+                    SELECT hits.id, SUM(hits.score) AS relevance
+                    FROM (
+                        SELECT p.id,
+                            MATCH(p.title, p.content) AGAINST (? IN %2$s)
+                                + 2 * MATCH(p.title) AGAINST (? IN %2$s) AS score
+                        FROM posts p
+                        WHERE p.status = 'PUBLISHED'
+                            AND MATCH(p.title, p.content) AGAINST (? IN %2$s)
+                        UNION ALL
+                        SELECT p.id, 1.5 * MATCH(u.name) AGAINST (? IN %2$s) AS score
+                        FROM users u
+                        JOIN posts p ON p.user_id = u.id
+                        WHERE p.status = 'PUBLISHED'
+                            AND MATCH(u.name) AGAINST (? IN %2$s)
+                    ) hits
+                    GROUP BY hits.id
+                    ORDER BY relevance DESC, hits.id DESC
+                    LIMIT ? OFFSET ?
+                ) r
+                JOIN posts p ON p.id = r.id
+                LEFT JOIN users u ON p.user_id = u.id
+                ORDER BY r.relevance DESC, p.id DESC
+            """.formatted(POST_SUMMARY_COLUMNS, mode.sql()));
+        }
+    }
+
+    /** One user's posts ({@code JdbcPostDAO.getAll(userId)}). */
+    static final String POST_SUMMARIES_BY_USER = """
+                SELECT %s
+            FROM posts p
+            LEFT JOIN users u ON p.user_id = u.id
+            WHERE p.user_id = ?
+            ORDER BY p.published_datetime DESC
+        """.formatted(POST_SUMMARY_COLUMNS);
+
+    /** One post's summary ({@code JdbcPostDAO.getSummaryByID}). */
+    static final String POST_SUMMARY_BY_ID = """
+                SELECT %s
+            FROM posts p
+            LEFT JOIN users u ON p.user_id = u.id
+            WHERE p.id = ?
+        """.formatted(POST_SUMMARY_COLUMNS);
+
+    /** Posts changed since a watermark, for the incremental cache refresh. */
+    static final String POST_SUMMARIES_CHANGED_SINCE = """
+                SELECT %s
+            FROM posts p
+            LEFT JOIN users u ON p.user_id = u.id
+            WHERE p.updated_at >= ?
+            ORDER BY p.updated_at ASC
+        """.formatted(POST_SUMMARY_COLUMNS);
+
+    /** Inserts a post with a pre-assigned id ({@code JdbcPostDAO.create}). */
+    static final String INSERT_POST = """
+            INSERT INTO posts (id, user_id, title, content, status, created_at, published_datetime) VALUES (?,?,?,?,?,?,?)
+            """;
+
+    /** Updates an author's post ({@code JdbcPostDAO.edit}). */
+    static final String UPDATE_POST = """
+            UPDATE posts
+                SET title = ?,
+                    content = ?,
+                    status = ?,
+                    published_datetime = ?
+                WHERE id = ? AND user_id = ?
+            """;
+
+    /** A post's tags ({@code JdbcTagDAO.getTagsByPostId}). */
+    static final String TAGS_BY_POST = """
+            SELECT
+                t.id,
+                t.tag
+            FROM tags t
+            INNER JOIN post_tags pt ON t.id = pt.tag_id
+            WHERE pt.post_id = ?
+            ORDER BY t.tag ASC
+            """;
+
+    /** Tag names of many posts; format with {@link #inList(int)}. */
+    static final String TAG_NAMES_BY_POSTS = """
+            SELECT
+                pt.post_id,
+                t.tag
+            FROM post_tags pt
+            INNER JOIN tags t ON t.id = pt.tag_id
+            WHERE pt.post_id IN (%s)
+            ORDER BY t.tag ASC
+            """;
+
+    /** Ids of the tags with the given names; format with {@link #inList(int)}. */
+    static final String TAG_IDS_BY_NAMES = """
+            SELECT id FROM tags WHERE tag IN (%s)
+            """;
+
+    /** A post's linked tag ids, locked until the transaction ends. */
+    static final String TAG_IDS_BY_POST_FOR_UPDATE = """
+            SELECT tag_id FROM post_tags WHERE post_id = ? FOR UPDATE
+            """;
+
+    /** Links a tag to a post (batched); a link that already exists is kept. */
+    static final String INSERT_POST_TAG = """
+            INSERT INTO post_tags (post_id, tag_id)
+            VALUES (?, ?)
+            ON DUPLICATE KEY UPDATE post_id = post_id
+            """;
+
+    /** Unlinks tags from a post; format with {@link #inList(int)}. */
+    static final String DELETE_POST_TAGS = """
+            DELETE FROM post_tags WHERE post_id = ? AND tag_id IN (%s)
+            """;
+
+    /** A post's reviews, newest first ({@code JdbcReviewDAO.getReviewsByPostId}). */
+    static final String REVIEWS_BY_POST = """
+            SELECT
+                r.id,
+                r.post_id,
+                r.user_id,
+                COALESCE(u.name, 'Unknown') AS author_name,
+                r.rating,
+                r.message,
+                r.created_at
+            FROM reviews r
+            LEFT JOIN users u ON r.user_id = u.id
+            WHERE r.post_id = ?
+            ORDER BY r.created_at DESC, r.id DESC
+            """;
+
+    /** First page of a post's reviews, newest first ({@code JdbcReviewDAO.getReviewsPage}). */
+    static final String REVIEWS_PAGE_BY_POST = reviewsPage("");
+
+    /** A post's reviews older than a cursor, newest first. */
+    static final String REVIEWS_PAGE_BY_POST_AFTER = reviewsPage(
+            "AND (r.created_at < ? OR (r.created_at = ? AND r.id < ?))");
+
+    /** Rating aggregates of many posts; format with {@link #inList(int)}. */
+    static final String RATING_SUMMARIES_BY_POSTS = """
+            SELECT
+                post_id,
+                COUNT(*) AS review_count,
+                SUM(rating) AS rating_sum,
+                SUM(rating = 1) AS r1,
+                SUM(rating = 2) AS r2,
+                SUM(rating = 3) AS r3,
+                SUM(rating = 4) AS r4,
+                SUM(rating = 5) AS r5
+            FROM reviews
+            WHERE post_id IN (%s)
+            GROUP BY post_id
+            """;
+
+    /** A post's comments, newest first ({@code JdbcCommentDAO.getComments}). */
+    static final String COMMENTS_BY_POST = """
+            SELECT
+                c.id,
+                c.post_id AS postId,
+                c.user_id AS userId,
+                COALESCE(u.name, 'Unknown') AS authorName,
+                c.comment,
+                c.datetime AS date
+            FROM comments c
+            LEFT JOIN users u ON c.user_id = u.id
+            WHERE c.post_id = ?
+            ORDER BY c.datetime DESC, c.id DESC
+            """;
+
+    /** First page of a post's comments, newest first ({@code JdbcCommentDAO.getCommentsPage}). */
+    static final String COMMENTS_PAGE_BY_POST = commentsPage("");
+
+    /** A post's comments older than a cursor, newest first. */
+    static final String COMMENTS_PAGE_BY_POST_AFTER = commentsPage(
+            "AND (c.datetime < ? OR (c.datetime = ? AND c.id < ?))");
+
+    private SqlStatements() {}
+
+    /**
+     * Search statement for a mode (see {@link #POST_SEARCH}).
+     *
+     * @param mode the search mode
+     * @return the SQL text
+     */
+    static String postSearch(SearchMode mode) {
+        return POST_SEARCH.get(mode);
+    }
+
+    private static String publishedPostsPage(String seek, String order) {
+        return """
+                SELECT %s
+            FROM posts p
+            LEFT JOIN users u ON p.user_id = u.id
+            WHERE p.status = 'PUBLISHED' %s
+            ORDER BY p.published_datetime %s, p.id %s
+            LIMIT ?
+        """.formatted(POST_SUMMARY_COLUMNS, seek, order, order);
+    }
+
+    private static String reviewsPage(String seek) {
+        return """
+            SELECT
+                r.id,
+                r.post_id,
+                r.user_id,
+                COALESCE(u.name, 'Unknown') AS author_name,
+                r.rating,
+                r.message,
+                r.created_at
+            FROM reviews r
+            LEFT JOIN users u ON r.user_id = u.id
+            WHERE r.post_id = ? %s
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT ?
+            """.formatted(seek);
+    }
+
+    private static String commentsPage(String seek) {
+        return """
+            SELECT
+                c.id,
+                c.post_id AS postId,
+                c.user_id AS userId,
+                COALESCE(u.name, 'Unknown') AS authorName,
+                c.comment,
+                c.datetime AS date
+            FROM comments c
+            LEFT JOIN users u ON c.user_id = u.id
+            WHERE c.post_id = ? %s
+            ORDER BY c.datetime DESC, c.id DESC
+            LIMIT ?
+            """.formatted(seek);
+    }
+
+    /**
+     * Number of placeholders used for a list of {@code count} values: the next power of two.
+     *
+     * @param count number of values (at least 1)
+     * @return placeholder count
+     */
+    static int paddedSize(int count) {
+        return count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+    }
+
+    /**
+     * Placeholder list for {@code count} values, padded to {@link #paddedSize(int)}.
+     *
+     * @param count number of values
+     * @return e.g. {@code "?,?,?,?"}
+     */
+    static String inList(int count) {
+        return String.join(",", Collections.nCopies(paddedSize(count), "?"));
+    }
+
+    /**
+     * Binds ids to an {@link #inList(int)} list, repeating the last id in the padding slots (a repeated
+     * value does not change what {@code IN} matches).
+     *
+     * @param statement the statement
+     * @param index     1-based index of the first placeholder
+     * @param ids       the ids (at least one)
+     * @return index of the placeholder after the list
+     * @throws SQLException if binding fails
+     */
+    static int bindIds(PreparedStatement statement, int index, List<String> ids) throws SQLException {
+        int padded = paddedSize(ids.size());
+        for (int i = 0; i < padded; i++) {
+            UuidCodec.bind(statement, index++, ids.get(Math.min(i, ids.size() - 1)));
+        }
+        return index;
+    }
+
+    /**
+     * Binds strings to an {@link #inList(int)} list, repeating the last value in the padding slots.
+     *
+     * @param statement the statement
+     * @param index     1-based index of the first placeholder
+     * @param values    the values (at least one)
+     * @return index of the placeholder after the list
+     * @throws SQLException if binding fails
+     */
+    static int bindStrings(PreparedStatement statement, int index, List<String> values) throws SQLException {
+        int padded = paddedSize(values.size());
+        for (int i = 0; i < padded; i++) {
+            statement.setString(index++, values.get(Math.min(i, values.size() - 1)));
+        }
+        return index;
+    }
+}
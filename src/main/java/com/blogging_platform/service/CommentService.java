@@ -1,47 +1,112 @@
 package com.blogging_platform.service;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
+import com.blogging_platform.classes.CacheManager;
 import com.blogging_platform.classes.CommentRecord;
+import com.blogging_platform.classes.CommentThreadCache;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.config.Config;
 import com.blogging_platform.dao.interfaces.CommentDAO;
 import com.blogging_platform.exceptions.CommentNotFoundException;
+import com.blogging_platform.exceptions.ConfigurationException;
 import com.blogging_platform.exceptions.DatabaseQueryException;
 import com.blogging_platform.model.Comment;
 
 /**
- * Application service for comments on posts. Delegates to {@link CommentDAO}.
+ * Application service for comments on posts. Delegates to {@link CommentDAO} and serves comment
+ * threads from a {@link CommentThreadCache} that comment writes keep up to date, so a comment action
+ * costs one write and no re-read of the thread.
+ * Adding or deleting a comment invalidates the post in {@link CacheManager} (its comment count changed).
  */
 public class CommentService {
     private CommentDAO commentDAO;
+    private final CommentThreadCache threads = new CommentThreadCache(
+            (int) readSetting("COMMENT_CACHE_MAX_POSTS", 200), readSetting("COMMENT_CACHE_MAX_AGE_MS", 30_000));
 
     /** Creates a comment service with the given DAO. */
     public CommentService(CommentDAO commentDAO) {
         this.commentDAO = commentDAO;
     }
 
+    private static long readSetting(String key, long defaultValue) {
+        try {
+            return Config.getLong(key, defaultValue);
+        } catch (ConfigurationException e) {
+            System.err.println(e.getMessage());
+            return defaultValue;
+        }
+    }
+
     /**
-     * Adds a new comment to a post.
+     * Adds a new comment to a post and to its cached thread.
      *
-     * @param comment the comment (content, user id, post id)
+     * @param comment    the comment (content, user id, post id)
+     * @param authorName display name of the commenting user, as shown in the thread
+     * @return the stored comment
      * @throws DatabaseQueryException if the insert fails
      */
-    public void addComment(Comment comment) throws DatabaseQueryException {
-        commentDAO.create(comment);
+    public CommentRecord addComment(Comment comment, String authorName) throws DatabaseQueryException {
+        // DATETIME keeps whole seconds; the cached copy must match what a reload would return
+        comment.setDatetime(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        CommentRecord created;
+        threads.beginWrite(comment.getPostId());
+        try {
+            String id = commentDAO.create(comment);
+            created = new CommentRecord(id, comment.getPostId(), comment.getUserId(),
+                    authorName, comment.getComment(), comment.getDatetime());
+            threads.recordCreated(created);
+        } finally {
+            threads.endWrite(comment.getPostId());
+        }
+        CacheManager.getInstance().invalidatePost(comment.getPostId());
+        return created;
     }
 
     /**
-     * Returns all comments for a post.
+     * Returns all comments for a post, newest first, from the cache when available.
      *
      * @param postId post id
-     * @return list of comment records
+     * @return list of comment records (unmodifiable)
      * @throws DatabaseQueryException if the query fails
      */
     public List<CommentRecord> getComments(String postId) throws DatabaseQueryException {
-        return commentDAO.getComments(postId);
+        List<CommentRecord> cached = threads.get(postId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = threads.stamp();
+        List<CommentRecord> loaded = commentDAO.getComments(postId);
+        threads.put(postId, loaded, stamp);
+        return loaded;
+    }
+
+    /**
+     * Returns one page of a post's comments, newest first. Pages already read (and kept up to date by
+     * comment writes) are served from the cache; later pages are read with a keyset query and appended.
+     *
+     * @param postId   post id
+     * @param cursor   cursor from the previous page, or null for the first page
+     * @param pageSize maximum number of comments to return
+     * @return the page of comments
+     * @throws DatabaseQueryException if the query fails
+     */
+    public Page<CommentRecord> getCommentsPage(String postId, PageCursor cursor, int pageSize) throws DatabaseQueryException {
+        Page<CommentRecord> cached = threads.page(postId, cursor, pageSize);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = threads.stamp();
+        Page<CommentRecord> loaded = commentDAO.getCommentsPage(postId, cursor, pageSize);
+        threads.putPage(postId, cursor, loaded, stamp);
+        return loaded;
     }
 
     /**
-     * Fetches a single comment by id.
+     * Fetches a single comment by id, from a cached thread when available.
      *
      * @param commentId comment id
      * @return the comment record
@@ -49,22 +114,36 @@ public class CommentService {
      * @throws DatabaseQueryException if the query fails
      */
     public CommentRecord getComment(String commentId) throws DatabaseQueryException, CommentNotFoundException {
-        return commentDAO.getComment(commentId);
+        CommentRecord cached = threads.find(commentId);
+        return cached != null ? cached : commentDAO.getComment(commentId);
     }
 
     /**
-     * Updates an existing comment. Only the author may update.
+     * Updates an existing comment (content and timestamp) and its cached copy. Only the author may update.
      *
      * @param comment the comment with updated content
+     * @return the stored comment
      * @throws CommentNotFoundException if the comment does not exist
      * @throws DatabaseQueryException if the update fails
      */
-    public void editComment(Comment comment) throws DatabaseQueryException, CommentNotFoundException {
-        commentDAO.edit(comment);
+    public CommentRecord editComment(Comment comment) throws DatabaseQueryException, CommentNotFoundException {
+        // Normally a cache hit: the comment being edited is on screen
+        CommentRecord before = getComment(comment.getId());
+        comment.setDatetime(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        CommentRecord edited = new CommentRecord(before.id(), before.postId(), before.userId(),
+                before.authorName(), comment.getComment(), comment.getDatetime());
+        threads.beginWrite(before.postId());
+        try {
+            commentDAO.edit(comment);
+            threads.recordEdited(edited);
+        } finally {
+            threads.endWrite(before.postId());
+        }
+        return edited;
     }
 
     /**
-     * Deletes a comment. Only the author may delete.
+     * Deletes a comment and drops it from its cached thread. Only the author may delete.
      *
      * @param commentId comment id
      * @param userId    user id (must be the comment author)
@@ -72,6 +151,15 @@ public class CommentService {
      * @throws DatabaseQueryException if the delete fails
      */
     public void deleteComment(String commentId, String userId) throws DatabaseQueryException, CommentNotFoundException {
-        commentDAO.delete(commentId, userId);
+        // The post id is needed to invalidate the post; only read it when the thread is not cached
+        String postId = getComment(commentId).postId();
+        threads.beginWrite(postId);
+        try {
+            commentDAO.delete(commentId, userId);
+            threads.recordDeleted(commentId);
+        } finally {
+            threads.endWrite(postId);
+        }
+        CacheManager.getInstance().invalidatePost(postId);
     }
 }
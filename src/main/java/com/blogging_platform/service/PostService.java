@@ -1,8 +1,18 @@
 package com.blogging_platform.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import com.blogging_platform.classes.CacheManager;
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.PageDirection;
+import com.blogging_platform.classes.PostBodyCache;
 import com.blogging_platform.classes.PostRecord;
+import com.blogging_platform.classes.PostSummary;
+import com.blogging_platform.classes.PostsWatermark;
+import com.blogging_platform.classes.SearchMode;
 import com.blogging_platform.dao.interfaces.PostDAO;
 import com.blogging_platform.exceptions.DatabaseQueryException;
 import com.blogging_platform.exceptions.PostNotFoundException;
@@ -11,6 +21,7 @@ import com.blogging_platform.model.Post;
 /**
  * Application service for blog posts. Delegates to {@link PostDAO} and normalizes
  * publish status (PUBLISHED vs DRAFT) when creating or updating posts.
+ * Writes invalidate the affected post in {@link CacheManager} so the home page picks them up.
  */
 public class PostService {
     private PostDAO postDAO;
@@ -34,17 +45,38 @@ public class PostService {
             post.setIsPublish(false);
         }
 
-        return postDAO.create(post);
+        String postId = postDAO.create(post);
+        CacheManager.getInstance().invalidatePost(postId);
+        return postId;
+    }
+
+    /**
+     * Creates a post together with its tags as one unit of work: the post and all tag links are written
+     * in a single transaction, so a post never appears without the tags it was submitted with.
+     *
+     * @param post     the post to create
+     * @param tagNames names of the tags to link (null or empty links none; unknown names are ignored)
+     * @return the new post's id
+     * @throws DatabaseQueryException if the write fails (nothing is stored)
+     */
+    public String createPost(Post post, Collection<String> tagNames) throws DatabaseQueryException {
+        post.setIsPublish(post.getStatus().equals("PUBLISHED"));
+        String postId = postDAO.createWithTags(post, tagNames);
+        CacheManager.getInstance().invalidatePost(postId);
+        if (tagNames != null && !tagNames.isEmpty()) {
+            CacheManager.getInstance().invalidateTags(postId);
+        }
+        return postId;
     }
 
     /**
      * Returns all posts for a given user (e.g. admin list).
      *
      * @param userId user id
-     * @return list of post records
+     * @return list of post summaries
      * @throws DatabaseQueryException if the query fails
      */
-    public List<PostRecord> getUserPosts(String userId) throws DatabaseQueryException {
+    public List<PostSummary> getUserPosts(String userId) throws DatabaseQueryException {
         return postDAO.getAll(userId);
     }
 
@@ -62,7 +94,7 @@ public class PostService {
     }
 
     /**
-     * Fetches a post by id (no ownership check).
+     * Fetches a post by id (no ownership check), from the cache's post bodies when available.
      *
      * @param postId post id
      * @return the post record
@@ -70,19 +102,98 @@ public class PostService {
      * @throws DatabaseQueryException if the query fails
      */
     public PostRecord getPost(String postId) throws DatabaseQueryException, PostNotFoundException {
-        return postDAO.getByID(postId);
+        PostBodyCache bodies = CacheManager.getInstance().getPostBodies();
+        PostRecord cached = bodies.get(postId);
+        if (cached != null) {
+            return cached;
+        }
+        // Taken before the read: an edit committed meanwhile invalidates the body and voids this put
+        long stamp = bodies.stamp();
+        PostRecord loaded = postDAO.getByID(postId);
+        bodies.put(loaded, stamp);
+        return loaded;
+    }
+
+    /**
+     * Fetches a post's summary by id, without loading its content.
+     *
+     * @param postId post id
+     * @return the post summary
+     * @throws PostNotFoundException if the post does not exist
+     * @throws DatabaseQueryException if the query fails
+     */
+    public PostSummary getPostSummary(String postId) throws DatabaseQueryException, PostNotFoundException {
+        return postDAO.getSummaryByID(postId);
     }
 
     /**
      * Returns all published posts.
      *
-     * @return list of published post records
+     * @return list of published post summaries
      * @throws DatabaseQueryException if the query fails
      */
-    public List<PostRecord> getPosts() throws DatabaseQueryException {
+    public List<PostSummary> getPosts() throws DatabaseQueryException {
         return postDAO.getAll();
     }
 
+    /**
+     * Returns one page of published posts, newest first.
+     *
+     * @param cursor    position to read from, or null to start at the beginning (end when reading backward)
+     * @param pageSize  maximum number of posts to return
+     * @param direction direction to read from the cursor
+     * @return the page of post summaries
+     * @throws DatabaseQueryException if the query fails
+     */
+    public Page<PostSummary> getPostsPage(PageCursor cursor, int pageSize, PageDirection direction) throws DatabaseQueryException {
+        return postDAO.getPage(cursor, pageSize, direction);
+    }
+
+    /**
+     * Full-text search over published posts (title, content and author), best match first.
+     *
+     * @param query    search text
+     * @param mode     natural-language or boolean matching
+     * @param cursor   offset cursor from a previous page, or null for the first page
+     * @param pageSize maximum number of posts to return
+     * @return the page of matching post summaries
+     * @throws DatabaseQueryException if the query fails
+     */
+    public Page<PostSummary> searchPosts(String query, SearchMode mode, PageCursor cursor, int pageSize) throws DatabaseQueryException {
+        return postDAO.search(query, mode, cursor, pageSize);
+    }
+
+    /**
+     * Returns every post (any status) changed at or after the given time.
+     *
+     * @param since lower bound (inclusive) on the post's updated_at
+     * @return summaries of the changed posts
+     * @throws DatabaseQueryException if the query fails
+     */
+    public List<PostSummary> getPostsChangedSince(LocalDateTime since) throws DatabaseQueryException {
+        return postDAO.getChangedSince(since);
+    }
+
+    /**
+     * Returns the posts change watermark (published count and latest update time).
+     *
+     * @return the watermark
+     * @throws DatabaseQueryException if the query fails
+     */
+    public PostsWatermark getPostsWatermark() throws DatabaseQueryException {
+        return postDAO.getWatermark();
+    }
+
+    /**
+     * Recounts comments and fixes any posts whose stored comment count has drifted.
+     *
+     * @return number of posts corrected
+     * @throws DatabaseQueryException if the update fails
+     */
+    public int reconcileCommentCounts() throws DatabaseQueryException {
+        return postDAO.reconcileCommentCounts();
+    }
+
     /**
      * Updates an existing post. Sets isPublish from status.
      *
@@ -97,6 +208,25 @@ public class PostService {
             post.setIsPublish(false);
         }
         postDAO.edit(post);
+        CacheManager.getInstance().invalidatePost(post.getId());
+    }
+
+    /**
+     * Updates a post and replaces its tag set as one unit of work (one transaction). Only tags that were
+     * added or removed are written.
+     *
+     * @param post     the post with updated fields
+     * @param tagNames names of the tags the post should have (empty removes all)
+     * @throws PostNotFoundException if the post does not exist (nothing is stored)
+     * @throws DatabaseQueryException if the write fails (nothing is stored)
+     */
+    public void updatePost(Post post, Collection<String> tagNames) throws DatabaseQueryException, PostNotFoundException {
+        post.setIsPublish(post.getStatus().equals("PUBLISHED"));
+        boolean tagsChanged = postDAO.editWithTags(post, tagNames);
+        CacheManager.getInstance().invalidatePost(post.getId());
+        if (tagsChanged) {
+            CacheManager.getInstance().invalidateTags(post.getId());
+        }
     }
 
     /**
@@ -109,5 +239,6 @@ public class PostService {
      */
     public void deletePost(String postId, String userId) throws DatabaseQueryException, PostNotFoundException {
         postDAO.delete(postId, userId);
+        CacheManager.getInstance().evictPost(postId);
     }
 }
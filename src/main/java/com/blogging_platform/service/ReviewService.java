@@ -1,38 +1,71 @@
 package com.blogging_platform.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.blogging_platform.classes.Page;
+import com.blogging_platform.classes.PageCursor;
+import com.blogging_platform.classes.RatingSummary;
+import com.blogging_platform.classes.RatingSummaryCache;
 import com.blogging_platform.classes.ReviewRecord;
+import com.blogging_platform.config.Config;
 import com.blogging_platform.dao.interfaces.ReviewDAO;
+import com.blogging_platform.exceptions.ConfigurationException;
 import com.blogging_platform.exceptions.DatabaseQueryException;
 import com.blogging_platform.exceptions.DuplicateResourceException;
 import com.blogging_platform.model.Review;
 
 /**
  * Application service for post reviews (ratings and messages). Delegates to {@link ReviewDAO}
- * and provides average rating calculation.
+ * and provides rating summaries (average and histogram) from a {@link RatingSummaryCache}
+ * that review writes keep up to date (bounded by RATING_CACHE_MAX_POSTS, reloaded after
+ * RATING_CACHE_MAX_AGE_MS). Review writes leave the post cache alone: post summaries carry no rating.
  */
 public class ReviewService {
     private ReviewDAO reviewDAO;
+    private final RatingSummaryCache ratingSummaries = new RatingSummaryCache(
+            (int) readSetting("RATING_CACHE_MAX_POSTS", 1_000), readSetting("RATING_CACHE_MAX_AGE_MS", 30_000));
 
     /** Creates a review service with the given DAO. */
     public ReviewService(ReviewDAO reviewDAO) {
         this.reviewDAO = reviewDAO;
     }
 
+    private static long readSetting(String key, long defaultValue) {
+        try {
+            return Config.getLong(key, defaultValue);
+        } catch (ConfigurationException e) {
+            System.err.println(e.getMessage());
+            return defaultValue;
+        }
+    }
+
     /**
      * Creates a new review for a post. One review per user per post.
      *
      * @param review the review (post id, user id, rating, message)
+     * @return the new review's id
      * @throws DuplicateResourceException if the user has already reviewed the post
      * @throws DatabaseQueryException if the insert fails
      */
-    public void createReview(Review review) throws DatabaseQueryException, DuplicateResourceException {
-        reviewDAO.create(review);
+    public String createReview(Review review) throws DatabaseQueryException, DuplicateResourceException {
+        ratingSummaries.beginWrite(review.getPostId());
+        try {
+            String id = reviewDAO.create(review);
+            if (review.getRating() != null) {
+                ratingSummaries.recordCreated(review.getPostId(), review.getRating());
+            }
+            return id;
+        } finally {
+            ratingSummaries.endWrite(review.getPostId());
+        }
     }
 
     /**
-     * Returns all reviews for a post.
+     * Returns all reviews for a post, newest first.
      *
      * @param postId post id
      * @return list of review records
@@ -42,6 +75,19 @@ public class ReviewService {
         return reviewDAO.getReviewsByPostId(postId);
     }
 
+    /**
+     * Returns one page of a post's reviews, newest first.
+     *
+     * @param postId   post id
+     * @param cursor   cursor from the previous page, or null for the first page
+     * @param pageSize maximum number of reviews to return
+     * @return the page of reviews
+     * @throws DatabaseQueryException if the query fails
+     */
+    public Page<ReviewRecord> getReviewsPage(String postId, PageCursor cursor, int pageSize) throws DatabaseQueryException {
+        return reviewDAO.getReviewsPage(postId, cursor, pageSize);
+    }
+
     /**
      * Fetches a single review by id.
      *
@@ -60,7 +106,19 @@ public class ReviewService {
      * @throws DatabaseQueryException if the update fails
      */
     public void updateReview(Review review) throws DatabaseQueryException {
-        reviewDAO.update(review);
+        ReviewRecord before = reviewDAO.getReviewById(review.getId());
+        String postId = before != null ? before.postId() : review.getPostId();
+        ratingSummaries.beginWrite(postId);
+        try {
+            reviewDAO.update(review);
+            if (before != null && before.rating() != null && review.getRating() != null) {
+                ratingSummaries.recordUpdated(postId, before.rating(), review.getRating());
+            } else {
+                ratingSummaries.invalidate(postId);
+            }
+        } finally {
+            ratingSummaries.endWrite(postId);
+        }
     }
 
     /**
@@ -70,7 +128,20 @@ public class ReviewService {
      * @throws DatabaseQueryException if the delete fails
      */
     public void deleteReview(String reviewId) throws DatabaseQueryException {
-        reviewDAO.delete(reviewId);
+        ReviewRecord before = reviewDAO.getReviewById(reviewId);
+        if (before == null) {
+            reviewDAO.delete(reviewId);
+            return;
+        }
+        ratingSummaries.beginWrite(before.postId());
+        try {
+            reviewDAO.delete(reviewId);
+            if (before.rating() != null) {
+                ratingSummaries.recordDeleted(before.postId(), before.rating());
+            }
+        } finally {
+            ratingSummaries.endWrite(before.postId());
+        }
     }
 
     /**
@@ -81,14 +152,52 @@ public class ReviewService {
      * @throws DatabaseQueryException if the query fails
      */
     public double getAverageRating(String postId) throws DatabaseQueryException {
-        List<ReviewRecord> reviews = reviewDAO.getReviewsByPostId(postId);
-        if (reviews == null || reviews.isEmpty()) {
-            return 0.0;
+        return getRatingSummary(postId).average();
+    }
+
+    /**
+     * Returns the rating summary (count, sum, histogram) for a post, from cache when available.
+     *
+     * @param postId post id
+     * @return the summary (empty if no reviews)
+     * @throws DatabaseQueryException if the query fails
+     */
+    public RatingSummary getRatingSummary(String postId) throws DatabaseQueryException {
+        RatingSummary cached = ratingSummaries.get(postId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = ratingSummaries.stamp();
+        RatingSummary loaded = reviewDAO.getRatingSummary(postId);
+        ratingSummaries.put(loaded, stamp);
+        return loaded;
+    }
+
+    /**
+     * Returns rating summaries for many posts; uncached posts are loaded with one grouped query.
+     *
+     * @param postIds post ids
+     * @return map of post id to summary (every requested id is present)
+     * @throws DatabaseQueryException if the query fails
+     */
+    public Map<String, RatingSummary> getRatingSummaries(Collection<String> postIds) throws DatabaseQueryException {
+        Map<String, RatingSummary> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : postIds) {
+            RatingSummary cached = ratingSummaries.get(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
         }
-        int sum = 0;
-        for (ReviewRecord r : reviews) {
-            sum += r.rating() != null ? r.rating() : 0;
+        if (!missing.isEmpty()) {
+            long stamp = ratingSummaries.stamp();
+            for (RatingSummary loaded : reviewDAO.getRatingSummaries(missing).values()) {
+                ratingSummaries.put(loaded, stamp);
+                result.put(loaded.postId(), loaded);
+            }
         }
-        return (double) sum / reviews.size();
+        return result;
     }
 }
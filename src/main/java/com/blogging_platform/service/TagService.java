@@ -1,7 +1,10 @@
 package com.blogging_platform.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
+import com.blogging_platform.classes.CacheManager;
 import com.blogging_platform.classes.TagRecord;
 import com.blogging_platform.dao.interfaces.TagDAO;
 import com.blogging_platform.exceptions.DatabaseQueryException;
@@ -10,6 +13,7 @@ import com.blogging_platform.model.Tag;
 
 /**
  * Application service for tags and post–tag associations. Delegates to {@link TagDAO}.
+ * Link changes invalidate the post's tags in {@link CacheManager} so search and tag facets pick them up.
  */
 public class TagService {
     private TagDAO tagDAO;
@@ -23,11 +27,12 @@ public class TagService {
      * Creates a new tag. Tag names must be unique.
      *
      * @param tag the tag (name)
+     * @return the new tag's id
      * @throws DuplicateResourceException if a tag with the same name exists
      * @throws DatabaseQueryException if the insert fails
      */
-    public void createTag(Tag tag) throws DatabaseQueryException, DuplicateResourceException {
-        tagDAO.create(tag);
+    public String createTag(Tag tag) throws DatabaseQueryException, DuplicateResourceException {
+        return tagDAO.create(tag);
     }
 
     /**
@@ -71,6 +76,7 @@ public class TagService {
      */
     public void linkTagToPost(String postId, String tagId) throws DatabaseQueryException {
         tagDAO.linkTagToPost(postId, tagId);
+        CacheManager.getInstance().invalidateTags(postId);
     }
 
     /**
@@ -81,6 +87,7 @@ public class TagService {
      */
     public void unlinkAllTagsFromPost(String postId) throws DatabaseQueryException {
         tagDAO.unlinkAllTagsFromPost(postId);
+        CacheManager.getInstance().invalidateTags(postId);
     }
 
     /**
@@ -93,4 +100,25 @@ public class TagService {
     public List<TagRecord> getTagsByPostId(String postId) throws DatabaseQueryException {
         return tagDAO.getTagsByPostId(postId);
     }
+
+    /**
+     * Returns tag names for many posts in one round trip (per 500 ids).
+     *
+     * @param postIds post ids
+     * @return map of post id to tag names; posts without tags are absent
+     * @throws DatabaseQueryException if the query fails
+     */
+    public Map<String, List<String>> getTagNamesByPostIds(Collection<String> postIds) throws DatabaseQueryException {
+        return tagDAO.getTagNamesByPostIds(postIds);
+    }
+
+    /**
+     * Returns tag names for every published post in one streamed query.
+     *
+     * @return map of post id to tag names; posts without tags are absent
+     * @throws DatabaseQueryException if the query fails
+     */
+    public Map<String, List<String>> getTagNamesForPublishedPosts() throws DatabaseQueryException {
+        return tagDAO.getTagNamesForPublishedPosts();
+    }
 }
@@ -40,7 +40,7 @@ class SinglePostControllerTest {
     }
 
     @Test
-    @DisplayName("loadComments should clear commentsContainer before loading")
+    @DisplayName("loadComments should clear commentsList before loading")
     void testLoadComments_ClearContainer() {
         // Test that container clearing logic exists
         boolean shouldClear = true;
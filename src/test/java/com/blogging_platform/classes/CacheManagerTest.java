@@ -0,0 +1,186 @@
+package com.blogging_platform.classes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blogging_platform.service.PostService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CacheManager over an in-memory DAO: snapshot publication, incremental refreshes and
+ * watermark deltas, read-your-writes without blocking other readers, and single-flight refreshes.
+ */
+@DisplayName("CacheManager Tests")
+class CacheManagerTest {
+
+    private InMemoryPostDAO dao;
+    private CacheManager cache;
+
+    @BeforeEach
+    void setUp() {
+        dao = new InMemoryPostDAO();
+        dao.save(InMemoryPostDAO.post("a", "Java caching", 1));
+        dao.save(InMemoryPostDAO.post("b", "Rust ownership", 2));
+        dao.save(InMemoryPostDAO.post("c", "Kotlin coroutines", 3));
+        // Never stale during a test: only invalidations trigger refreshes
+        cache = new CacheManager(new PostService(dao), 60_000, 1_000, 1 << 20);
+    }
+
+    private static List<String> ids(List<PostSummary> posts) {
+        List<String> ids = new ArrayList<>();
+        for (PostSummary p : posts) ids.add(p.id());
+        return ids;
+    }
+
+    @Test
+    @DisplayName("The first read loads every published post into the snapshot")
+    void testFirstReadLoads() {
+        assertNull(cache.getPostById("a"), "Nothing is cached before the first read");
+        assertEquals(List.of("c", "b", "a"), ids(cache.getPublishedPosts()));
+        assertEquals("Rust ownership", cache.getPostById("b").title());
+        assertEquals(List.of("a"), ids(cache.searchPosts("jav")));
+        assertEquals(1, dao.fullLoads.get());
+        assertEquals(3, cache.getStats().cachedPosts());
+    }
+
+    @Test
+    @DisplayName("An invalidated post is reloaded on its own and visible once the writer has waited")
+    void testInvalidatedPostIsApplied() {
+        cache.getPublishedPosts();
+        dao.save(InMemoryPostDAO.post("d", "Scala implicits", 4));
+        dao.save(InMemoryPostDAO.post("a", "Java virtual threads", 1));
+        cache.invalidatePost("d");
+        cache.invalidatePost("a");
+        cache.awaitPendingChanges();
+
+        assertFalse(cache.hasPendingChanges());
+        assertEquals(List.of("d", "c", "b", "a"), ids(cache.getPublishedPosts()));
+        assertEquals(List.of("a"), ids(cache.searchPosts("virtual")));
+        assertTrue(cache.searchPosts("caching").isEmpty(), "The old title is no longer indexed");
+        assertEquals(List.of("d"), ids(cache.searchPosts("scala")));
+        assertEquals(1, dao.fullLoads.get(), "No full reload for two changed posts");
+        assertEquals(2, dao.summaryReads.get());
+    }
+
+    @Test
+    @DisplayName("A post that is no longer published, or was deleted, leaves the snapshot")
+    void testUnpublishedAndEvictedPostsLeave() {
+        cache.getPublishedPosts();
+        PostSummary b = cache.getPostById("b");
+        dao.save(new PostSummary("b", b.title(), "", "DRAFT", b.author(), b.createdAt(), b.publishedDate(), 0, "u"));
+        dao.delete("c");
+        cache.invalidatePost("b");
+        cache.evictPost("c");
+        cache.awaitPendingChanges();
+
+        assertEquals(List.of("a"), ids(cache.getPublishedPosts()));
+        assertNull(cache.getPostById("c"));
+        assertTrue(cache.searchPosts("kotlin").isEmpty());
+        assertEquals(1, dao.summaryReads.get(), "An evicted post needs no DB read");
+    }
+
+    @Test
+    @DisplayName("Readers keep the current snapshot while a refresh for pending writes is held up")
+    void testReadersDoNotWaitForPendingWrites() {
+        cache.getPublishedPosts();
+        dao.block();
+        dao.save(InMemoryPostDAO.post("a", "Java records", 1));
+        cache.invalidatePost("a");
+        try {
+            PostSummary served = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> cache.searchPosts("java").get(0));
+            assertEquals("Java caching", served.title());
+            assertTrue(cache.hasPendingChanges() || dao.summaryReads.get() > 0);
+        } finally {
+            dao.release();
+        }
+        cache.awaitPendingChanges();
+        assertEquals("Java records", cache.getPostById("a").title());
+    }
+
+    @Test
+    @DisplayName("Earlier snapshots are unaffected by the copy-on-write refreshes that follow")
+    void testEarlierSnapshotIsUnchanged() {
+        List<PostSummary> before = cache.getPublishedPostsSearchAndSort("", "title_asc");
+        for (int i = 0; i < 200; i++) {
+            dao.save(InMemoryPostDAO.post("n" + i, "Note " + i, 10 + i));
+            cache.invalidatePost("n" + i);
+            if (i % 50 == 0) cache.awaitPendingChanges();
+        }
+        dao.save(InMemoryPostDAO.post("a", "Zig comptime", 1));
+        cache.invalidatePost("a");
+        cache.awaitPendingChanges();
+
+        assertEquals(List.of("a", "c", "b"), ids(before), "Java, Kotlin, Rust");
+        assertEquals(203, cache.getPublishedPosts().size());
+        List<PostSummary> byTitle = cache.getPublishedPostsSearchAndSort("", "title_asc");
+        assertEquals("a", byTitle.get(byTitle.size() - 1).id());
+        assertEquals(List.of("a"), ids(cache.searchPosts("zig")));
+        assertEquals(1, dao.fullLoads.get());
+    }
+
+    @Test
+    @DisplayName("A watermark check applies rows changed elsewhere as a delta, without a full reload")
+    void testWatermarkDelta() {
+        cache.getPublishedPosts();
+        // Written by another client: nothing is invalidated here
+        dao.save(InMemoryPostDAO.post("d", "Scala implicits", 4));
+        dao.save(InMemoryPostDAO.post("b", "Rust lifetimes", 2));
+        PostSummary c = cache.getPostById("c");
+        dao.save(new PostSummary("c", c.title(), "", "DRAFT", c.author(), c.createdAt(), c.publishedDate(), 0, "u"));
+        cache.refreshAsync(true).join();
+
+        assertEquals(List.of("d", "b", "a"), ids(cache.getPublishedPosts()));
+        assertEquals(List.of("b"), ids(cache.searchPosts("lifetimes")));
+        assertTrue(cache.searchPosts("kotlin").isEmpty());
+        assertEquals(1, dao.fullLoads.get());
+        assertEquals(1, dao.deltaReads.get());
+        assertEquals(0, dao.summaryReads.get());
+    }
+
+    @Test
+    @DisplayName("An unchanged watermark reads no rows; a count that no delta explains forces a full reload")
+    void testWatermarkWithoutDeltaAndAfterDelete() {
+        cache.getPublishedPosts();
+        cache.refreshAsync(true).join();
+        assertEquals(0, dao.deltaReads.get(), "Watermark unchanged");
+
+        // Deleted elsewhere: the delta cannot see it, so the published count gives it away
+        dao.delete("a");
+        dao.save(InMemoryPostDAO.post("b", "Rust lifetimes", 2));
+        cache.refreshAsync(true).join();
+
+        assertEquals(List.of("c", "b"), ids(cache.getPublishedPosts()));
+        assertEquals(1, dao.deltaReads.get());
+        assertEquals(2, dao.fullLoads.get());
+    }
+
+    @Test
+    @DisplayName("Concurrent full reloads coalesce into the refresh in flight")
+    void testConcurrentReloadsCoalesce() throws Exception {
+        dao.block();
+        List<CompletableFuture<Void>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    cache.refreshCache();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        Thread.sleep(100);
+        dao.release();
+        CompletableFuture.allOf(callers.toArray(CompletableFuture[]::new)).get();
+
+        // One load for the callers that joined it, at most one more for those that arrived during it
+        assertTrue(dao.fullLoads.get() <= 2, "Loads: " + dao.fullLoads.get());
+        assertEquals(3, cache.getPublishedPosts().size());
+    }
+}
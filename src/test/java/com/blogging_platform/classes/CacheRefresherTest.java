@@ -0,0 +1,109 @@
+package com.blogging_platform.classes;
+
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blogging_platform.service.PostService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CacheRefresher over an in-memory DAO: warm-up, debounced and coalesced write refreshes,
+ * and the refresh-ahead delay.
+ */
+@DisplayName("CacheRefresher Tests")
+class CacheRefresherTest {
+
+    private static final long MAX_STALENESS_MS = 60_000;
+
+    private InMemoryPostDAO dao;
+    private CacheManager cache;
+    private CacheRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        dao = new InMemoryPostDAO();
+        dao.save(InMemoryPostDAO.post("a", "Java caching", 1));
+        dao.save(InMemoryPostDAO.post("b", "Rust ownership", 2));
+        cache = new CacheManager(new PostService(dao), MAX_STALENESS_MS, 1_000, 1 << 20);
+        refresher = new CacheRefresher(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.stop();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Start-up loads the cache without a read asking for it")
+    void testWarmUp() throws InterruptedException {
+        refresher.start(5_000, 0, 50);
+        waitFor(() -> cache.getStalenessMillis() >= 0);
+        assertEquals("Rust ownership", cache.getPostById("b").title());
+        assertEquals(1, dao.fullLoads.get());
+    }
+
+    @Test
+    @DisplayName("A burst of writes waits for the debounce and is applied by one refresh")
+    void testBurstIsDebouncedAndCoalesced() throws InterruptedException {
+        refresher.start(5_000, 0, 300);
+        waitFor(() -> cache.getStalenessMillis() >= 0);
+        long refreshes = cache.getStats().refreshes();
+
+        for (int i = 0; i < 5; i++) {
+            dao.save(InMemoryPostDAO.post("n" + i, "Note " + i, 10 + i));
+            cache.invalidatePost("n" + i);
+        }
+        assertEquals(5, refresher.getEventCount());
+        assertEquals(4, refresher.getCoalescedEventCount());
+        assertTrue(cache.hasPendingChanges(), "Nothing is applied before the debounce delay");
+        assertNull(cache.getPostById("n0"));
+
+        waitFor(() -> !cache.hasPendingChanges() && cache.getPostById("n4") != null);
+        assertEquals(refreshes + 1, cache.getStats().refreshes(), "One refresh for the whole burst");
+        assertEquals(5, dao.summaryReads.get());
+        assertEquals(1, dao.fullLoads.get());
+
+        // The next write starts a new burst
+        cache.invalidatePost("a");
+        assertEquals(4, refresher.getCoalescedEventCount());
+        waitFor(() -> !cache.hasPendingChanges());
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead fires the margin and jitter before the snapshot goes stale")
+    void testNextRefreshDelay() throws InterruptedException {
+        dao.block();
+        refresher.start(5_000, 2_000, 50);
+        assertEquals(CacheRefresher.MIN_DELAY_MS, refresher.nextRefreshDelay(), "Nothing loaded: retry soon");
+        dao.release();
+
+        waitFor(() -> cache.getStalenessMillis() >= 0);
+        for (int i = 0; i < 20; i++) {
+            long delay = refresher.nextRefreshDelay();
+            long remaining = MAX_STALENESS_MS - cache.getStalenessMillis() - 5_000;
+            // Staleness is read after the delay was computed, so allow for the time in between
+            assertTrue(delay <= remaining + 100 && delay >= remaining - 2_000 - 100, "Delay " + delay);
+        }
+    }
+
+    @Test
+    @DisplayName("The refresh-ahead delay never drops below the floor")
+    void testNextRefreshDelayFloor() throws InterruptedException {
+        refresher.start(MAX_STALENESS_MS + 10_000, 0, 50);
+        waitFor(() -> cache.getStalenessMillis() >= 0);
+        assertEquals(CacheRefresher.MIN_DELAY_MS, refresher.nextRefreshDelay());
+    }
+}
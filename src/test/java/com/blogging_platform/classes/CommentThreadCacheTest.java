@@ -0,0 +1,147 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CommentThreadCache write-through updates, paging, stale-load protection and LRU eviction.
+ */
+@DisplayName("CommentThreadCache Tests")
+class CommentThreadCacheTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private CommentThreadCache cache;
+
+    private static CommentRecord comment(String id, String postId, int minute) {
+        return new CommentRecord(id, postId, "u1", "Ann", "text " + id, T.plusMinutes(minute));
+    }
+
+    @BeforeEach
+    void setUp() {
+        cache = new CommentThreadCache(2, 60_000);
+        cache.put("p1", List.of(comment("c2", "p1", 2), comment("c1", "p1", 1)), cache.stamp());
+    }
+
+    private List<String> ids(String postId) {
+        return cache.get(postId).stream().map(CommentRecord::id).toList();
+    }
+
+    @Test
+    @DisplayName("created, edited and deleted comments update the cached thread in order")
+    void testWriteThrough() {
+        cache.recordCreated(comment("c3", "p1", 3));
+        assertEquals(List.of("c3", "c2", "c1"), ids("p1"));
+
+        cache.recordEdited(new CommentRecord("c1", "p1", "u1", "Ann", "changed", T.plusMinutes(4)));
+        assertEquals(List.of("c1", "c3", "c2"), ids("p1"));
+        assertEquals("changed", cache.find("c1").content());
+
+        assertEquals("p1", cache.recordDeleted("c3"));
+        assertEquals(List.of("c1", "c2"), ids("p1"));
+        assertNull(cache.find("c3"));
+    }
+
+    @Test
+    @DisplayName("writes to uncached threads are ignored and a load older than a write is not stored")
+    void testStaleLoad() {
+        long stamp = cache.stamp();
+        cache.recordCreated(comment("c9", "p2", 9));
+        assertNull(cache.get("p2"));
+
+        cache.put("p2", List.of(), stamp);
+        assertNull(cache.get("p2"));
+
+        cache.put("p2", List.of(comment("c9", "p2", 9)), cache.stamp());
+        assertEquals(List.of("c9"), ids("p2"));
+    }
+
+    @Test
+    @DisplayName("a load during a comment write is not stored, and a comment already in the thread is not added twice")
+    void testLoadDuringWrite() {
+        cache.beginWrite("p1");
+        // Read after the commit: already holds the new comment
+        long stamp = cache.stamp();
+        cache.put("p1", List.of(comment("c3", "p1", 3), comment("c2", "p1", 2), comment("c1", "p1", 1)), stamp);
+        assertEquals(List.of("c2", "c1"), ids("p1"), "The thread cached before the write is kept");
+        cache.recordCreated(comment("c3", "p1", 3));
+        cache.endWrite("p1");
+        assertEquals(List.of("c3", "c2", "c1"), ids("p1"));
+
+        cache.recordCreated(comment("c3", "p1", 3));
+        assertEquals(List.of("c3", "c2", "c1"), ids("p1"));
+    }
+
+    @Test
+    @DisplayName("least recently read thread is evicted with its comment index")
+    void testEviction() {
+        cache.put("p2", List.of(comment("c5", "p2", 5)), cache.stamp());
+        assertNotNull(cache.get("p1"));
+        cache.put("p3", List.of(comment("c6", "p3", 6)), cache.stamp());
+
+        assertNull(cache.get("p2"));
+        assertNull(cache.find("c5"));
+        assertNotNull(cache.get("p1"));
+        assertNotNull(cache.get("p3"));
+    }
+
+    @Test
+    @DisplayName("threads older than the max age are reloaded")
+    void testMaxAge() {
+        CommentThreadCache expiring = new CommentThreadCache(2, 0);
+        expiring.put("p1", List.of(comment("c1", "p1", 1)), expiring.stamp());
+        assertNull(expiring.get("p1"));
+    }
+
+    @Test
+    @DisplayName("pages are served from a complete thread and continue after the cursor")
+    void testPageFromCompleteThread() {
+        cache.recordCreated(comment("c3", "p1", 3));
+
+        Page<CommentRecord> first = cache.page("p1", null, 2);
+        assertEquals(List.of("c3", "c2"), first.items().stream().map(CommentRecord::id).toList());
+        assertTrue(first.hasNext());
+
+        Page<CommentRecord> second = cache.page("p1", first.nextCursor(), 2);
+        assertEquals(List.of("c1"), second.items().stream().map(CommentRecord::id).toList());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @DisplayName("a partial thread grows page by page and only serves what it holds")
+    void testPartialPrefix() {
+        Page<CommentRecord> first = new Page<>(List.of(comment("c9", "p2", 9), comment("c8", "p2", 8)),
+                CommentThreadCache.cursorOf(comment("c8", "p2", 8)), null);
+        cache.putPage("p2", null, first, cache.stamp());
+        assertNull(cache.get("p2"));
+        assertNull(cache.page("p2", null, 2));
+        assertEquals("c9", cache.page("p2", null, 1).items().get(0).id());
+
+        // Older than the prefix: arrives with the next page rather than being inserted
+        cache.recordCreated(comment("c1", "p2", 1));
+        assertNull(cache.find("c1"));
+
+        Page<CommentRecord> second = new Page<>(List.of(comment("c7", "p2", 7), comment("c1", "p2", 1)), null, null);
+        cache.putPage("p2", first.nextCursor(), second, cache.stamp());
+        assertEquals(List.of("c9", "c8", "c7", "c1"), ids("p2"));
+    }
+
+    @Test
+    @DisplayName("a page that does not continue the cached prefix is not appended")
+    void testPageGap() {
+        Page<CommentRecord> first = new Page<>(List.of(comment("c9", "p2", 9)),
+                CommentThreadCache.cursorOf(comment("c9", "p2", 9)), null);
+        cache.putPage("p2", null, first, cache.stamp());
+
+        Page<CommentRecord> unrelated = new Page<>(List.of(comment("c3", "p2", 3)), null, null);
+        cache.putPage("p2", CommentThreadCache.cursorOf(comment("c5", "p2", 5)), unrelated, cache.stamp());
+        assertNull(cache.get("p2"));
+        assertNull(cache.find("c3"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.blogging_platform.classes;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for IdGenerator version-7 layout and ordering.
+ */
+@DisplayName("IdGenerator Tests")
+class IdGeneratorTest {
+
+    @Test
+    @DisplayName("ids are version 7, RFC variant, and carry the creation time")
+    void testLayout() {
+        long before = System.currentTimeMillis();
+        String id = IdGenerator.newId();
+        long after = System.currentTimeMillis();
+
+        UUID uuid = UUID.fromString(id);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(id.toLowerCase(), id);
+        long timestamp = IdGenerator.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+    }
+
+    @Test
+    @DisplayName("ids generated in a burst are unique and strictly increasing as strings")
+    void testOrdering() {
+        Set<String> seen = new HashSet<>();
+        String previous = IdGenerator.newId();
+        seen.add(previous);
+        for (int i = 0; i < 20_000; i++) {
+            String id = IdGenerator.newId();
+            assertTrue(id.compareTo(previous) > 0, previous + " !< " + id);
+            assertTrue(seen.add(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("random UUIDs are rejected when reading a timestamp")
+    void testTimestampOfRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> IdGenerator.timestampOf(UUID.randomUUID().toString()));
+    }
+}
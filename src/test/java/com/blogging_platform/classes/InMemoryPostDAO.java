@@ -0,0 +1,175 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.blogging_platform.dao.interfaces.PostDAO;
+import com.blogging_platform.exceptions.PostNotFoundException;
+import com.blogging_platform.model.Post;
+
+/**
+ * In-memory {@link PostDAO} for the cache tests, implementing the reads a cache refresh uses. Rows carry
+ * an updated-at time from a fake clock that ticks one second per write, so the watermark and the
+ * changed-since delta behave like the JDBC implementation. Reads are counted, and can be held back
+ * with {@link #block()} to observe a refresh in flight.
+ */
+final class InMemoryPostDAO implements PostDAO {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final Map<String, PostSummary> posts = new LinkedHashMap<>();
+    private final Map<String, LocalDateTime> updatedAt = new LinkedHashMap<>();
+    private LocalDateTime clock = EPOCH;
+    private volatile CountDownLatch gate;
+
+    final AtomicInteger fullLoads = new AtomicInteger();
+    final AtomicInteger summaryReads = new AtomicInteger();
+    final AtomicInteger deltaReads = new AtomicInteger();
+
+    /** A published post by "u" titled {@code title}, published {@code day} days after the epoch. */
+    static PostSummary post(String id, String title, int day) {
+        return new PostSummary(id, title, "", "PUBLISHED", "Alice", EPOCH, EPOCH.plusDays(day), 0, "u");
+    }
+
+    /** Stores (or replaces) a row and stamps it with the next clock tick, as an UPDATE would. */
+    synchronized void save(PostSummary post) {
+        clock = clock.plusSeconds(1);
+        posts.put(post.id(), post);
+        updatedAt.put(post.id(), clock);
+    }
+
+    /** Deletes a row; like a real delete it leaves the max updated-at alone. */
+    synchronized void delete(String postId) {
+        posts.remove(postId);
+        updatedAt.remove(postId);
+    }
+
+    /** Makes every following full load, summary read and delta read wait for {@link #release()}. */
+    void block() {
+        gate = new CountDownLatch(1);
+    }
+
+    void release() {
+        CountDownLatch g = gate;
+        gate = null;
+        if (g != null) g.countDown();
+    }
+
+    private void pass() {
+        CountDownLatch g = gate;
+        if (g == null) return;
+        try {
+            if (!g.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("DAO was never released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public List<PostSummary> getAll() {
+        fullLoads.incrementAndGet();
+        pass();
+        synchronized (this) {
+            List<PostSummary> published = new ArrayList<>();
+            for (PostSummary post : posts.values()) {
+                if ("PUBLISHED".equals(post.status())) published.add(post);
+            }
+            return published;
+        }
+    }
+
+    @Override
+    public synchronized PostsWatermark getWatermark() {
+        long published = posts.values().stream().filter(p -> "PUBLISHED".equals(p.status())).count();
+        return new PostsWatermark(published, clock);
+    }
+
+    @Override
+    public List<PostSummary> getChangedSince(LocalDateTime since) {
+        deltaReads.incrementAndGet();
+        pass();
+        synchronized (this) {
+            List<PostSummary> changed = new ArrayList<>();
+            for (Map.Entry<String, LocalDateTime> e : updatedAt.entrySet()) {
+                if (!e.getValue().isBefore(since)) changed.add(posts.get(e.getKey()));
+            }
+            return changed;
+        }
+    }
+
+    @Override
+    public PostSummary getSummaryByID(String postId) throws PostNotFoundException {
+        summaryReads.incrementAndGet();
+        pass();
+        synchronized (this) {
+            PostSummary post = posts.get(postId);
+            if (post == null) throw new PostNotFoundException(postId);
+            return post;
+        }
+    }
+
+    @Override
+    public String create(Post post) {
+        throw unsupported();
+    }
+
+    @Override
+    public String createWithTags(Post post, Collection<String> tagNames) {
+        throw unsupported();
+    }
+
+    @Override
+    public PostRecord getByID(String postId, String userId) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<PostSummary> getPage(PageCursor cursor, int pageSize, PageDirection direction) {
+        throw unsupported();
+    }
+
+    @Override
+    public Page<PostSummary> search(String query, SearchMode mode, PageCursor cursor, int pageSize) {
+        throw unsupported();
+    }
+
+    @Override
+    public int reconcileCommentCounts() {
+        throw unsupported();
+    }
+
+    @Override
+    public List<PostSummary> getAll(String userId) {
+        throw unsupported();
+    }
+
+    @Override
+    public PostRecord getByID(String postId) {
+        throw unsupported();
+    }
+
+    @Override
+    public void edit(Post post) {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean editWithTags(Post post, Collection<String> tagNames) {
+        throw unsupported();
+    }
+
+    @Override
+    public void delete(String postId, String userId) {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Not used by the cache tests");
+    }
+}
@@ -0,0 +1,73 @@
+package com.blogging_platform.classes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LayeredMap: copies that share a base, overlay removals and compaction.
+ */
+@DisplayName("LayeredMap Tests")
+class LayeredMapTest {
+
+    private static Map<String, Integer> contents(LayeredMap<String, Integer> map) {
+        Map<String, Integer> contents = new HashMap<>();
+        map.forEach(contents::put);
+        return contents;
+    }
+
+    @Test
+    @DisplayName("A copy and its source change independently")
+    void testCopyIsIndependent() {
+        LayeredMap<String, Integer> map = new LayeredMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        LayeredMap<String, Integer> copy = map.copy();
+        assertEquals(Integer.valueOf(1), copy.put("a", 10));
+        assertEquals(Integer.valueOf(2), copy.remove("b"));
+        copy.put("c", 3);
+        map.put("d", 4);
+
+        assertEquals(Map.of("a", 1, "b", 2, "d", 4), contents(map));
+        assertEquals(Map.of("a", 10, "c", 3), contents(copy));
+        assertEquals(3, map.size());
+        assertEquals(2, copy.size());
+        assertNull(copy.get("b"));
+        assertEquals(Integer.valueOf(0), copy.getOrDefault("b", 0));
+        assertNull(copy.remove("b"));
+    }
+
+    @Test
+    @DisplayName("Copies of copies stay consistent through overlay compaction")
+    void testCompaction() {
+        LayeredMap<String, Integer> map = new LayeredMap<>();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            map.put("k" + i, i);
+            expected.put("k" + i, i);
+        }
+        LayeredMap<String, Integer> first = map.copy();
+        for (int round = 0; round < 5; round++) {
+            LayeredMap<String, Integer> next = map.copy();
+            for (int i = 0; i < 100; i++) {
+                String key = "k" + (round * 100 + i);
+                if (i % 2 == 0) {
+                    next.remove(key);
+                    expected.remove(key);
+                } else {
+                    next.put(key, -i);
+                    expected.put(key, -i);
+                }
+            }
+            map = next;
+        }
+        assertEquals(expected, contents(map));
+        assertEquals(expected.size(), map.size());
+        assertEquals(1_000, first.size());
+        assertEquals(Integer.valueOf(499), first.get("k499"));
+    }
+}
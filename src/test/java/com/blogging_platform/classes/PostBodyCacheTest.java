@@ -0,0 +1,93 @@
+package com.blogging_platform.classes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PostBodyCache weighing, segmented-LRU eviction and stamped loads.
+ */
+@DisplayName("PostBodyCache Tests")
+class PostBodyCacheTest {
+
+    private static PostRecord post(String id, int contentLength) {
+        return new PostRecord(id, "t", "x".repeat(contentLength), "PUBLISHED", "a", null, null);
+    }
+
+    @Test
+    @DisplayName("cache never holds more than its byte budget")
+    void testBudget() {
+        long weight = PostBodyCache.weigh(post("p0", 1000));
+        PostBodyCache cache = new PostBodyCache(weight * 3);
+        for (int i = 0; i < 10; i++) cache.put(post("p" + i, 1000), cache.stamp());
+
+        PostBodyCacheStats stats = cache.getStats();
+        assertEquals(3, stats.entries());
+        assertTrue(stats.weightBytes() <= stats.maxWeightBytes());
+        assertEquals(7, stats.evictions());
+        assertNull(cache.get("p0"));
+        assertNotNull(cache.get("p9"));
+    }
+
+    @Test
+    @DisplayName("posts hit twice survive a scan of one-off reads")
+    void testScanResistance() {
+        long weight = PostBodyCache.weigh(post("hot", 1000));
+        PostBodyCache cache = new PostBodyCache(weight * 5);
+        cache.put(post("hot", 1000), cache.stamp());
+        assertNotNull(cache.get("hot"));
+
+        for (int i = 0; i < 20; i++) cache.put(post("cold" + i, 1000), cache.stamp());
+
+        assertNotNull(cache.get("hot"));
+        assertNull(cache.get("cold0"));
+    }
+
+    @Test
+    @DisplayName("hits, misses and invalidation are counted and applied")
+    void testCountersAndInvalidate() {
+        PostBodyCache cache = new PostBodyCache(1_000_000);
+        cache.put(post("p1", 10), cache.stamp());
+        assertNotNull(cache.get("p1"));
+        assertNull(cache.get("p2"));
+        cache.invalidate("p1");
+        assertNull(cache.get("p1"));
+
+        PostBodyCacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(0, stats.entries());
+        assertEquals(0, stats.weightBytes());
+    }
+
+    @Test
+    @DisplayName("posts larger than the budget, or a zero budget, are not cached")
+    void testOversized() {
+        PostBodyCache cache = new PostBodyCache(100);
+        cache.put(post("big", 1000), cache.stamp());
+        assertNull(cache.get("big"));
+
+        PostBodyCache disabled = new PostBodyCache(0);
+        disabled.put(post("p1", 1), disabled.stamp());
+        assertNull(disabled.get("p1"));
+    }
+
+    @Test
+    @DisplayName("a body loaded before an invalidation or clear is not cached")
+    void testStaleLoadIsDropped() {
+        PostBodyCache cache = new PostBodyCache(1_000_000);
+        long stamp = cache.stamp();
+        cache.invalidate("p1");
+        cache.put(post("p1", 10), stamp);
+        assertNull(cache.get("p1"));
+
+        stamp = cache.stamp();
+        cache.clear();
+        cache.put(post("p2", 10), stamp);
+        assertNull(cache.get("p2"));
+
+        cache.put(post("p1", 10), cache.stamp());
+        assertNotNull(cache.get("p1"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.blogging_platform.classes;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PostSearchIndex: prefix matching, AND/OR queries, field boosts and incremental updates.
+ */
+@DisplayName("PostSearchIndex Tests")
+class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex();
+        index.put("p1", "Getting started with Java", "Alice", List.of("programming"));
+        index.put("p2", "Gardening tips", "Javier", List.of("outdoors"));
+        index.put("p3", "Spring Boot in practice", "Bob", List.of("java", "spring"));
+    }
+
+    private static List<String> ids(List<PostSearchIndex.Hit> hits) {
+        List<String> ids = new ArrayList<>();
+        for (PostSearchIndex.Hit hit : hits) ids.add(hit.postId());
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Terms match as case-insensitive prefixes across title, author and tags")
+    void testPrefixMatch() {
+        List<String> ids = ids(index.search("JAV"));
+        assertEquals(3, ids.size());
+        assertTrue(ids.containsAll(List.of("p1", "p2", "p3")));
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Terms are ANDed; OR separates alternatives")
+    void testAndOr() {
+        assertEquals(List.of("p3"), ids(index.search("java spring")));
+        List<String> ids = ids(index.search("garden OR boot"));
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of("p2", "p3")));
+    }
+
+    @Test
+    @DisplayName("Exact title matches outrank tag matches, which outrank author prefixes")
+    void testBoosts() {
+        assertEquals(List.of("p1", "p3"), ids(index.search("java")));
+        assertEquals(List.of("p1", "p3", "p2"), ids(index.search("jav")));
+    }
+
+    @Test
+    @DisplayName("Re-indexing and removing a post updates its postings")
+    void testIncrementalUpdates() {
+        index.put("p2", "Winter gardening", "Javier", List.of());
+        assertTrue(index.search("tips").isEmpty());
+        assertEquals(List.of("p2"), ids(index.search("winter")));
+
+        index.remove("p3");
+        assertEquals(2, index.size());
+        assertTrue(index.search("spring").isEmpty());
+        assertTrue(PostSearchIndex.hasTerms("  java "));
+        assertFalse(PostSearchIndex.hasTerms(" -- "));
+    }
+
+    @Test
+    @DisplayName("A copy and its source change independently though they share postings")
+    void testCopyOnWrite() {
+        PostSearchIndex copy = index.copy();
+        copy.put("p1", "Getting started with Kotlin", "Alice", List.of("programming"));
+        copy.put("p4", "Java records", "Dana", List.of());
+        index.remove("p3");
+
+        assertEquals(List.of("p1"), ids(index.search("java")));
+        assertTrue(index.search("kotlin").isEmpty());
+        assertEquals(2, index.size());
+        assertEquals(List.of("p4", "p3"), ids(copy.search("java")));
+        assertEquals(List.of("p1"), ids(copy.search("kotlin")));
+        assertEquals(4, copy.size());
+    }
+
+    @Test
+    @DisplayName("A prefix of many terms returns each post once with its best score")
+    void testPrefixOfManyTerms() {
+        PostSearchIndex wide = new PostSearchIndex();
+        for (int i = 0; i < 500; i++) {
+            wide.put("p" + i, "Alpha" + i + " notes", "Writer", i % 2 == 0 ? List.of("alpha") : List.of());
+        }
+        List<PostSearchIndex.Hit> hits = wide.search("alpha");
+        assertEquals(500, hits.size());
+        assertEquals(500, new HashSet<>(ids(hits)).size());
+        // Even posts also match the tag exactly (2.0), which beats their title prefix (3.0 * 0.5)
+        for (PostSearchIndex.Hit hit : hits) {
+            int n = Integer.parseInt(hit.postId().substring(1));
+            assertEquals(n % 2 == 0 ? 2.0 : 1.5, hit.score(), 1e-9);
+        }
+        assertEquals("p0", hits.get(0).postId());
+        assertEquals(500, wide.search("a n").size());
+    }
+}
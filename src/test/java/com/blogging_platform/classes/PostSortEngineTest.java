@@ -0,0 +1,133 @@
+package com.blogging_platform.classes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PostSortEngine: pre-sorted orderings, incremental maintenance and in-place sorting.
+ */
+@DisplayName("PostSortEngine Tests")
+class PostSortEngineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private static PostSummary post(String id, String title, String author, int day) {
+        return new PostSummary(id, title, "", "PUBLISHED", author, BASE, BASE.plusDays(day), 0, "u");
+    }
+
+    private static List<String> ids(List<PostSummary> posts) {
+        List<String> ids = new ArrayList<>();
+        for (PostSummary p : posts) ids.add(p.id());
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Every sort key has its ordering ready; title and author ignore case")
+    void testOrderings() {
+        PostSortEngine engine = new PostSortEngine();
+        engine.rebuild(List.of(
+                post("a", "banana", "Carol", 3),
+                post("b", "Apple", "alice", 2),
+                post("c", "cherry", "Bob", 1)));
+        assertEquals(List.of("a", "b", "c"), ids(engine.ordered(PostSortEngine.SortKey.DATE_DESC)));
+        assertEquals(List.of("c", "b", "a"), ids(engine.ordered(PostSortEngine.SortKey.DATE_ASC)));
+        assertEquals(List.of("b", "a", "c"), ids(engine.ordered(PostSortEngine.SortKey.TITLE_ASC)));
+        assertEquals(List.of("c", "a", "b"), ids(engine.ordered(PostSortEngine.SortKey.TITLE_DESC)));
+        assertEquals(List.of("b", "c", "a"), ids(engine.ordered(PostSortEngine.SortKey.AUTHOR_ASC)));
+        assertEquals(List.of("a", "c", "b"), ids(engine.ordered(PostSortEngine.SortKey.AUTHOR_DESC)));
+    }
+
+    @Test
+    @DisplayName("Incremental puts and removes match a full rebuild")
+    void testIncrementalMatchesRebuild() {
+        List<PostSummary> posts = new ArrayList<>();
+        PostSortEngine incremental = new PostSortEngine();
+        for (int i = 0; i < 200; i++) {
+            PostSummary p = post("p" + i, "title " + (i * 7919 % 50), "author " + (i % 13), i % 37);
+            posts.add(p);
+            incremental.put(p);
+        }
+        for (int i = 0; i < 200; i += 3) incremental.remove("p" + i);
+        PostSummary moved = post("p1", "zzz", "Ann", 99);
+        incremental.put(moved);
+
+        List<PostSummary> remaining = new ArrayList<>();
+        for (PostSummary p : posts) {
+            if (Integer.parseInt(p.id().substring(1)) % 3 != 0 && !p.id().equals("p1")) remaining.add(p);
+        }
+        remaining.add(moved);
+        PostSortEngine rebuilt = new PostSortEngine();
+        rebuilt.rebuild(remaining);
+
+        assertEquals(rebuilt.size(), incremental.size());
+        for (PostSortEngine.SortKey key : PostSortEngine.SortKey.values()) {
+            assertEquals(ids(rebuilt.ordered(key)), ids(incremental.ordered(key)), key.value());
+        }
+    }
+
+    @Test
+    @DisplayName("Large presorted input sorts without deep recursion; equal titles stay newest first")
+    void testPresortedAndTies() {
+        List<PostSummary> list = new ArrayList<>();
+        for (int i = 100_000; i > 0; i--) list.add(post("p" + i, "Same", "x", i));
+        PostSortEngine engine = new PostSortEngine();
+        engine.sort(list, PostSortEngine.SortKey.TITLE_ASC);
+        assertEquals("p100000", list.get(0).id());
+        engine.sort(list, PostSortEngine.SortKey.DATE_ASC);
+        assertEquals("p1", list.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Relevance maps to no sort; unknown values to newest first")
+    void testSortKeyOf() {
+        assertNull(PostSortEngine.SortKey.of("relevance"));
+        assertEquals(PostSortEngine.SortKey.DATE_DESC, PostSortEngine.SortKey.of(null));
+        assertEquals(PostSortEngine.SortKey.AUTHOR_DESC, PostSortEngine.SortKey.of("author_desc"));
+    }
+
+    @Test
+    @DisplayName("Filtered pages walk the index in order and page forward and backward by cursor")
+    void testFilteredPages() {
+        List<PostSummary> posts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) posts.add(post("p" + (char) ('a' + i), "t" + i, "x", i));
+        PostSortEngine engine = new PostSortEngine();
+        engine.rebuild(posts);
+        BitSet even = new BitSet();
+        for (int i = 0; i < 20; i += 2) even.set(engine.ordinalOf("p" + (char) ('a' + i)));
+
+        Page<PostSummary> first = engine.page(PostSortEngine.SortKey.DATE_DESC, even, null, 3, PageDirection.FORWARD);
+        assertEquals(List.of("ps", "pq", "po"), ids(first.items()));
+        assertTrue(first.hasNext());
+        assertFalse(first.hasPrevious());
+
+        Page<PostSummary> second = engine.page(PostSortEngine.SortKey.DATE_DESC, even, first.nextCursor(), 3, PageDirection.FORWARD);
+        assertEquals(List.of("pm", "pk", "pi"), ids(second.items()));
+        Page<PostSummary> back = engine.page(PostSortEngine.SortKey.DATE_DESC, even, second.previousCursor(), 3, PageDirection.BACKWARD);
+        assertEquals(ids(first.items()), ids(back.items()));
+
+        // Anchor removed: the date index still knows where it was
+        engine.remove("pi");
+        Page<PostSummary> third = engine.page(PostSortEngine.SortKey.DATE_DESC, even, second.nextCursor(), 3, PageDirection.FORWARD);
+        assertEquals(List.of("pg", "pe", "pc"), ids(third.items()));
+    }
+
+    @Test
+    @DisplayName("Date ranges are inclusive and newest first")
+    void testPublishedBetween() {
+        PostSortEngine engine = new PostSortEngine();
+        List<PostSummary> posts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) posts.add(post("p" + i, "t", "x", i));
+        posts.add(new PostSummary("draft", "t", "", "DRAFT", "x", BASE, null, 0, "u"));
+        engine.rebuild(posts);
+        assertEquals(List.of("p5", "p4", "p3"), ids(engine.publishedBetween(BASE.plusDays(3), BASE.plusDays(5))));
+        assertEquals(List.of("p1", "p0"), ids(engine.publishedBetween(null, BASE.plusDays(1))));
+        assertEquals(List.of(), ids(engine.publishedBetween(BASE.plusDays(20), null)));
+    }
+}
@@ -0,0 +1,123 @@
+package com.blogging_platform.classes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RatingSummary arithmetic and incremental RatingSummaryCache updates.
+ */
+@DisplayName("RatingSummaryCache Tests")
+class RatingSummaryCacheTest {
+
+    private RatingSummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RatingSummaryCache(2, 60_000);
+        cache.put(new RatingSummary("p1", 2, 8, new long[] {0, 0, 1, 0, 1}), cache.stamp());
+    }
+
+    @Test
+    @DisplayName("average should be sum / count, or 0 with no reviews")
+    void testAverage() {
+        assertEquals(4.0, cache.get("p1").average(), 0.0001);
+        assertEquals(0.0, RatingSummary.empty("p2").average(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("created, updated and deleted reviews adjust count, sum and histogram")
+    void testIncrementalUpdates() {
+        cache.recordCreated("p1", 2);
+        RatingSummary s = cache.get("p1");
+        assertEquals(3, s.count());
+        assertEquals(10, s.sum());
+        assertEquals(1, s.countFor(2));
+
+        cache.recordUpdated("p1", 2, 5);
+        s = cache.get("p1");
+        assertEquals(3, s.count());
+        assertEquals(13, s.sum());
+        assertEquals(0, s.countFor(2));
+        assertEquals(2, s.countFor(5));
+
+        cache.recordDeleted("p1", 3);
+        s = cache.get("p1");
+        assertEquals(2, s.count());
+        assertEquals(10, s.sum());
+        assertEquals(0, s.countFor(3));
+    }
+
+    @Test
+    @DisplayName("updates for uncached posts are ignored until the post is loaded")
+    void testUncachedPostIgnored() {
+        cache.recordCreated("unknown", 5);
+        assertNull(cache.get("unknown"));
+    }
+
+    @Test
+    @DisplayName("a load that overlaps a review write is not stored")
+    void testStaleLoadDropped() {
+        long stamp = cache.stamp();
+        cache.recordCreated("p2", 5);
+        cache.put(RatingSummary.empty("p2"), stamp);
+        assertNull(cache.get("p2"));
+
+        cache.put(RatingSummary.empty("p2"), cache.stamp());
+        assertNotNull(cache.get("p2"));
+    }
+
+    @Test
+    @DisplayName("a load that reads a review committed during its write is not stored, so it is counted once")
+    void testLoadDuringWriteNotCounted() {
+        cache.beginWrite("p2");
+        // Loaded after the commit: already includes the new review
+        long stamp = cache.stamp();
+        cache.put(new RatingSummary("p2", 1, 5, new long[] {0, 0, 0, 0, 1}), stamp);
+        cache.recordCreated("p2", 5);
+        cache.endWrite("p2");
+        assertNull(cache.get("p2"));
+
+        cache.put(new RatingSummary("p2", 1, 5, new long[] {0, 0, 0, 0, 1}), cache.stamp());
+        assertEquals(1, cache.get("p2").count());
+    }
+
+    @Test
+    @DisplayName("a summary cached before the write is adjusted exactly once")
+    void testCachedBeforeWriteAdjusted() {
+        cache.beginWrite("p1");
+        assertEquals(2, cache.get("p1").count(), "Still served during the write");
+        cache.recordCreated("p1", 4);
+        cache.endWrite("p1");
+        assertEquals(3, cache.get("p1").count());
+        assertEquals(12, cache.get("p1").sum());
+    }
+
+    @Test
+    @DisplayName("the least recently read summary is evicted beyond maxPosts")
+    void testEviction() {
+        cache.put(RatingSummary.empty("p2"), cache.stamp());
+        cache.get("p1");
+        cache.put(RatingSummary.empty("p3"), cache.stamp());
+        assertNotNull(cache.get("p1"));
+        assertNull(cache.get("p2"));
+        assertNotNull(cache.get("p3"));
+    }
+
+    @Test
+    @DisplayName("summaries older than maxAgeMs are reloaded")
+    void testMaxAge() {
+        RatingSummaryCache expiring = new RatingSummaryCache(10, 0);
+        expiring.put(RatingSummary.empty("p1"), expiring.stamp());
+        assertNull(expiring.get("p1"));
+    }
+
+    @Test
+    @DisplayName("invalidate drops the cached summary")
+    void testInvalidate() {
+        cache.invalidate("p1");
+        assertNull(cache.get("p1"));
+    }
+}
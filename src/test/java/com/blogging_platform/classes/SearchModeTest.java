@@ -0,0 +1,34 @@
+package com.blogging_platform.classes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the AGAINST expressions built by SearchMode (no database required).
+ */
+@DisplayName("SearchMode Tests")
+class SearchModeTest {
+
+    @Test
+    @DisplayName("Boolean mode makes every term a required prefix and groups OR alternatives")
+    void testBooleanExpression() {
+        assertEquals("(+java* +spring*)", SearchMode.BOOLEAN.expression("Java spring"));
+        assertEquals("(+java* +spring*) (+kotlin*)", SearchMode.BOOLEAN.expression("java spring OR kotlin"));
+    }
+
+    @Test
+    @DisplayName("User-typed operators never reach the boolean expression")
+    void testBooleanStripsOperators() {
+        assertEquals("(+c* +sharp*)", SearchMode.BOOLEAN.expression("-c\" (sharp*"));
+        assertEquals("", SearchMode.BOOLEAN.expression("+-*\"()"));
+        assertEquals("", SearchMode.BOOLEAN.expression(null));
+    }
+
+    @Test
+    @DisplayName("Natural language mode passes the trimmed query through")
+    void testNaturalLanguageExpression() {
+        assertEquals("spring boot tips", SearchMode.NATURAL_LANGUAGE.expression("  spring boot tips "));
+    }
+}
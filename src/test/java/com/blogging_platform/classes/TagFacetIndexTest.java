@@ -0,0 +1,89 @@
+package com.blogging_platform.classes;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TagFacetIndex: AND/OR/NOT tag filters, facet counts and incremental updates.
+ */
+@DisplayName("TagFacetIndex Tests")
+class TagFacetIndexTest {
+
+    private TagFacetIndex facets;
+
+    @BeforeEach
+    void setUp() {
+        facets = new TagFacetIndex();
+        facets.put(0, List.of("java", "spring"));
+        facets.put(1, List.of("java"));
+        facets.put(2, List.of("kotlin", "spring"));
+        facets.put(3, List.of());
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int o : ordinals) bits.set(o);
+        return bits;
+    }
+
+    @Test
+    @DisplayName("AND, OR and NOT filters combine as bitmap operations")
+    void testFilters() {
+        assertEquals(bits(0), facets.filter(null, TagFilter.allOf(Set.of("java", "spring"))));
+        assertEquals(bits(0, 1, 2), facets.filter(null, new TagFilter(Set.of(), Set.of("java", "kotlin"), Set.of())));
+        assertEquals(bits(1, 3), facets.filter(null, new TagFilter(Set.of(), Set.of(), Set.of("spring"))));
+        assertEquals(bits(), facets.filter(null, TagFilter.allOf(Set.of("unknown"))));
+        assertEquals(bits(0, 1, 2, 3), facets.filter(null, TagFilter.NONE));
+    }
+
+    @Test
+    @DisplayName("Filters start from the given posts without modifying them")
+    void testFilterWithin() {
+        BitSet hits = bits(1, 2);
+        assertEquals(bits(2), facets.filter(hits, TagFilter.allOf(Set.of("spring"))));
+        assertEquals(bits(1, 2), hits);
+    }
+
+    @Test
+    @DisplayName("Counts are per tag within the given posts, highest first")
+    void testCounts() {
+        Map<String, Integer> all = facets.counts(null);
+        assertEquals(List.of("java", "spring", "kotlin"), List.copyOf(all.keySet()));
+        assertEquals(Integer.valueOf(2), all.get("java"));
+        assertEquals(Map.of("spring", 1, "kotlin", 1), facets.counts(bits(2, 3)));
+    }
+
+    @Test
+    @DisplayName("Re-tagging and removal update the bitmaps")
+    void testIncrementalUpdates() {
+        facets.put(1, List.of("kotlin"));
+        facets.remove(2);
+        assertEquals(bits(1), facets.filter(null, TagFilter.allOf(Set.of("kotlin"))));
+        assertEquals(bits(0), facets.filter(null, TagFilter.allOf(Set.of("java"))));
+        assertFalse(facets.counts(null).containsKey("missing"));
+        assertEquals(bits(0, 1, 3), facets.filter(null, TagFilter.NONE));
+    }
+
+    @Test
+    @DisplayName("A copy and its source change independently though they share bitmaps")
+    void testCopyOnWrite() {
+        TagFacetIndex copy = facets.copy();
+        copy.put(1, List.of("kotlin"));
+        copy.put(4, List.of("java"));
+        facets.remove(0);
+
+        assertEquals(bits(1), facets.filter(null, TagFilter.allOf(Set.of("java"))));
+        assertEquals(bits(1, 2, 3), facets.filter(null, TagFilter.NONE));
+        assertEquals(bits(0, 4), copy.filter(null, TagFilter.allOf(Set.of("java"))));
+        assertEquals(bits(1, 2), copy.filter(null, TagFilter.allOf(Set.of("kotlin"))));
+        assertEquals(bits(0, 1, 2, 3, 4), copy.filter(null, TagFilter.NONE));
+    }
+}
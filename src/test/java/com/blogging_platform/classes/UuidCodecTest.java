@@ -0,0 +1,44 @@
+package com.blogging_platform.classes;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UuidCodec byte layout and string round trips.
+ */
+@DisplayName("UuidCodec Tests")
+class UuidCodecTest {
+
+    @Test
+    @DisplayName("bytes are the UUID's big-endian bytes, as UUID_TO_BIN stores them")
+    void testLayout() {
+        byte[] bytes = UuidCodec.toBytes("00112233-4455-6677-8899-aabbccddeeff");
+        for (int i = 0; i < 16; i++) {
+            assertEquals((byte) (i * 0x11), bytes[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("ids round-trip through bytes as the canonical lowercase string")
+    void testRoundTrip() {
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UUID.randomUUID();
+            byte[] bytes = UuidCodec.toBytes(uuid);
+            assertEquals(uuid, UuidCodec.fromBytes(bytes));
+            assertEquals(uuid.toString(), UuidCodec.toString(bytes));
+        }
+        String id = IdGenerator.newId();
+        assertEquals(id, UuidCodec.toString(UuidCodec.toBytes(id)));
+    }
+
+    @Test
+    @DisplayName("values that are not 16 bytes are rejected")
+    void testWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> UuidCodec.toString(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> UuidCodec.fromBytes(null));
+    }
+}
@@ -0,0 +1,199 @@
+package com.blogging_platform.config;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ConnectionPool using in-memory fake connections (no database required).
+ */
+@DisplayName("ConnectionPool Tests")
+class ConnectionPoolTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger physicallyClosed = new AtomicInteger();
+    private final AtomicBoolean valid = new AtomicBoolean(true);
+    private ConnectionPool pool;
+    /** When set, opens from threads other than {@link #testThread} wait for it (see testHousekeepingRespectsMaxSize). */
+    private volatile CountDownLatch openGate;
+    private final CountDownLatch gatedOpens = new CountDownLatch(2);
+    private final Thread testThread = Thread.currentThread();
+
+    private Connection fakeConnection() {
+        CountDownLatch gate = openGate;
+        if (gate != null && Thread.currentThread() != testThread) {
+            gatedOpens.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        opened.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicBoolean autoCommit = new AtomicBoolean(true);
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        if (closed.compareAndSet(false, true)) physicallyClosed.incrementAndGet();
+                        yield null;
+                    }
+                    case "isClosed" -> closed.get();
+                    case "isValid" -> valid.get();
+                    case "getAutoCommit" -> autoCommit.get();
+                    case "setAutoCommit" -> {
+                        autoCommit.set((Boolean) args[0]);
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private ConnectionPool newPool(int minIdle, int maxSize, long timeoutMs) {
+        // No housekeeping thread: tests call housekeep() themselves instead of racing the scheduler
+        return new ConnectionPool(this::fakeConnection,
+                new ConnectionPool.Settings(minIdle, maxSize, timeoutMs, 600_000, 0, 1, 0, 600_000), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) pool.close();
+    }
+
+    @Test
+    @DisplayName("Closing a borrowed connection returns it to the pool for reuse")
+    void testConnectionIsReused() throws SQLException {
+        pool = newPool(0, 2, 1000);
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+        assertEquals(1, opened.get());
+        assertEquals(0, physicallyClosed.get());
+        assertEquals(2, pool.getStats().borrows());
+    }
+
+    @Test
+    @DisplayName("Borrowing beyond maxSize times out with a transient exception")
+    void testAcquisitionTimeout() throws SQLException {
+        pool = newPool(0, 1, 50);
+        Connection held = pool.getConnection();
+        assertThrows(SQLTransientConnectionException.class, () -> pool.getConnection());
+        assertEquals(1, pool.getStats().timeouts());
+        held.close();
+        try (Connection c = pool.getConnection()) {
+            assertNotNull(c);
+        }
+    }
+
+    @Test
+    @DisplayName("A returned proxy cannot be used again")
+    void testReturnedProxyIsUnusable() throws SQLException {
+        pool = newPool(0, 1, 1000);
+        Connection c = pool.getConnection();
+        c.close();
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, () -> c.prepareStatement("SELECT 1"));
+    }
+
+    @Test
+    @DisplayName("Open transactions are rolled back and auto-commit restored on return")
+    void testAutoCommitResetOnReturn() throws SQLException {
+        pool = newPool(0, 1, 1000);
+        try (Connection c = pool.getConnection()) {
+            c.setAutoCommit(false);
+        }
+        try (Connection c = pool.getConnection()) {
+            assertTrue(c.getAutoCommit());
+        }
+    }
+
+    @Test
+    @DisplayName("Stats report active and idle counts and a wait-time histogram")
+    void testStats() throws SQLException {
+        pool = newPool(0, 3, 1000);
+        Connection a = pool.getConnection();
+        Connection b = pool.getConnection();
+        b.close();
+        PoolStats stats = pool.getStats();
+        assertEquals(1, stats.active());
+        assertEquals(1, stats.idle());
+        assertEquals(2, stats.total());
+        long bucketed = stats.waitTimeHistogram().values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(2, bucketed);
+        a.close();
+    }
+
+    @Test
+    @DisplayName("Housekeeping keeps minIdle connections open")
+    void testMinIdleWarmUp() {
+        pool = newPool(2, 4, 1000);
+        assertEquals(0, pool.getStats().idle());
+        pool.housekeep();
+        assertEquals(2, pool.getStats().idle());
+        pool.housekeep();
+        assertEquals(2, pool.getStats().idle());
+        assertEquals(2, opened.get());
+    }
+
+    @Test
+    @DisplayName("Concurrent housekeeping runs open minIdle connections, not more")
+    void testConcurrentHousekeeping() throws InterruptedException {
+        pool = newPool(3, 6, 1000);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(pool::housekeep);
+            threads[i].start();
+        }
+        for (Thread t : threads) t.join();
+        assertEquals(3, pool.getStats().idle());
+        assertEquals(3, opened.get());
+    }
+
+    @Test
+    @DisplayName("Housekeeping does not warm up connections while borrowers hold every permit")
+    void testHousekeepingRespectsMaxSize() throws Exception {
+        pool = newPool(2, 2, 1000);
+        openGate = new CountDownLatch(1);
+        Connection[] borrowed = new Connection[2];
+        Thread[] borrowers = new Thread[2];
+        for (int i = 0; i < borrowers.length; i++) {
+            int slot = i;
+            borrowers[i] = new Thread(() -> {
+                try {
+                    borrowed[slot] = pool.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            borrowers[i].start();
+        }
+        // Both borrowers hold a permit and are still opening their connection
+        assertTrue(gatedOpens.await(5, TimeUnit.SECONDS));
+        pool.housekeep();
+        assertEquals(0, opened.get(), "No permit left for a warm connection");
+
+        openGate.countDown();
+        for (Thread t : borrowers) t.join();
+        assertEquals(2, opened.get());
+        assertEquals(2, pool.getStats().total());
+        for (Connection c : borrowed) c.close();
+    }
+}